@@ -0,0 +1,115 @@
+package com.dss.project.benchmarks;
+
+import com.dss.project.archive.SeasonArchive;
+import com.dss.project.controller.SkierController;
+import com.dss.project.dto.BatchVerticalRequestDTO;
+import com.dss.project.dto.SkierVerticalDTO;
+import com.dss.project.model.SkierDay;
+import com.dss.project.repository.SeasonVertical;
+import com.dss.project.repository.SkierDayRepository;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Per-season verticals of many skiers: one POST /skiers/vertical against the same number of
+// getSkierVertical calls, made one after another as a client would. Every repository call pays
+// roundTripMicros to stand in for the Mongo round trip that batching saves.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchVerticalBenchmark {
+
+    private static final int DAYS_PER_SKIER = 20;
+
+    @Param({"100", "1000"})
+    public int skiers;
+
+    @Param({"0", "250"})
+    public int roundTripMicros;
+
+    private SkierController controller;
+    private BatchVerticalRequestDTO batchRequest;
+    private Map<String, Object> singleRequest;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Integer, List<SkierDay>> bySkier = new HashMap<>();
+        for (int skierId = 1; skierId <= skiers; skierId++) {
+            List<SkierDay> days = new ArrayList<>(DAYS_PER_SKIER);
+            for (int i = 0; i < DAYS_PER_SKIER; i++) {
+                days.add(new SkierDay(new ObjectId(), random.nextInt(10) + 1, 2019 + random.nextInt(4),
+                        random.nextInt(360) + 1, skierId, random.nextInt(40) + 1, random.nextInt(360) + 1,
+                        random.nextInt(5000) + 100));
+            }
+            bySkier.put(skierId, days);
+        }
+
+        controller = new SkierController();
+        Stubs.inject(controller, "skierDayRepository", Stubs.repository(SkierDayRepository.class, Map.of(
+                "findBySkierId", args -> {
+                    roundTrip();
+                    return bySkier.get((Integer) args[0]);
+                },
+                "sumVertical", args -> {
+                    roundTrip();
+                    return sum(bySkier, (Collection<?>) args[0]);
+                })));
+        Stubs.inject(controller, "bulkheads", Stubs.bulkheads());
+        Stubs.inject(controller, "readRouter", Stubs.readRouter());
+        Stubs.inject(controller, "seasonArchive", new SeasonArchive());
+        Stubs.inject(controller, "hotKeyCache", Stubs.hotKeyCache());
+
+        List<Integer> skierIds = new ArrayList<>(bySkier.keySet());
+        batchRequest = new BatchVerticalRequestDTO(skierIds, null, null, null);
+        singleRequest = new HashMap<>();
+    }
+
+    @Benchmark
+    public Object batch() {
+        return controller.getBatchVertical(batchRequest).join().getBody();
+    }
+
+    @Benchmark
+    public void singleCalls(Blackhole blackhole) {
+        for (int skierId = 1; skierId <= skiers; skierId++) {
+            List<SkierVerticalDTO> seasons = controller.getSkierVertical(skierId, singleRequest).join().getBody();
+            blackhole.consume(seasons);
+        }
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        }
+    }
+
+    // What the $group stage returns for the skierIds
+    private static List<SeasonVertical> sum(Map<Integer, List<SkierDay>> bySkier, Collection<?> skierIds) {
+        Map<List<Integer>, Long> groups = new HashMap<>();
+        for (Object skierId : skierIds) {
+            for (SkierDay day : bySkier.getOrDefault((Integer) skierId, List.of())) {
+                groups.merge(List.of(day.getSkierId(), day.getSeasonId(), day.getResortID()),
+                        (long) day.getTotalVert(), Long::sum);
+            }
+        }
+        List<SeasonVertical> verticals = new ArrayList<>(groups.size());
+        for (Map.Entry<List<Integer>, Long> group : groups.entrySet()) {
+            List<Integer> key = group.getKey();
+            verticals.add(new SeasonVertical(key.get(0), key.get(1), key.get(2), group.getValue()));
+        }
+        return verticals;
+    }
+}
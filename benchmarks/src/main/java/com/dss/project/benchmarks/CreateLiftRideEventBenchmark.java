@@ -0,0 +1,63 @@
+package com.dss.project.benchmarks;
+
+import com.dss.project.codec.LiftRideEvent;
+import com.dss.project.controller.SkierController;
+import com.dss.project.repository.SkiersTestRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Validation check plus BSON encoding of the insert document in createLiftRideEvent, including
+// the ingest bulkhead hand-off and live feed counting for valid events.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateLiftRideEventBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private SkierController controller;
+    private LiftRideEvent[] validEvents;
+    private LiftRideEvent[] invalidEvents;
+    private int index;
+
+    @Setup
+    public void setup() {
+        controller = new SkierController();
+        Stubs.inject(controller, "skiersTestRepository", Stubs.repository(SkiersTestRepository.class, Map.of()));
+        Stubs.inject(controller, "bulkheads", Stubs.bulkheads());
+        Stubs.inject(controller, "readRouter", Stubs.readRouter());
+        Stubs.inject(controller, "resortActivityFeed", Stubs.resortActivityFeed());
+
+        SplittableRandom random = new SplittableRandom(42);
+        validEvents = new LiftRideEvent[SAMPLES];
+        invalidEvents = new LiftRideEvent[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            validEvents[i] = new LiftRideEvent(random.nextInt(100000) + 1, random.nextInt(10) + 1,
+                    random.nextInt(40) + 1, 2022, 1, random.nextInt(360) + 1);
+            invalidEvents[i] = new LiftRideEvent(random.nextInt(100000) + 1, random.nextInt(10) + 1,
+                    random.nextInt(40) + 41, 2022, 1, random.nextInt(360) + 1);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> createValid() {
+        return controller.createLiftRideEvent(validEvents[next()], null).join();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> rejectInvalid() {
+        return controller.createLiftRideEvent(invalidEvents[next()], null).join();
+    }
+
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+}
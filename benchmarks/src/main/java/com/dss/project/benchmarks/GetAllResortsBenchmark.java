@@ -0,0 +1,57 @@
+package com.dss.project.benchmarks;
+
+import com.dss.project.controller.ResortController;
+import com.dss.project.dto.ResortsListDTO;
+import com.dss.project.model.Resort;
+import com.dss.project.repository.APIStatsRepository;
+import com.dss.project.repository.ResortCatalogRepository;
+import com.dss.project.service.ResortReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// DTO building and stats bookkeeping in getAllResorts, including the point-read bulkhead hand-off.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetAllResortsBenchmark {
+
+    @Param({"10", "500"})
+    public int resorts;
+
+    private ResortController controller;
+
+    @Setup
+    public void setup() {
+        List<Resort> rows = new ArrayList<>(resorts);
+        for (int i = 1; i <= resorts; i++) {
+            rows.add(new Resort(new ObjectId(), i, "Resort " + i, new ArrayList<>(List.of("2021", "2022"))));
+        }
+
+        ResortReads resortReads = new ResortReads();
+        Stubs.inject(resortReads, "resortCatalogRepository", Stubs.repository(ResortCatalogRepository.class, Map.of(
+                "findAll", args -> rows)));
+        Stubs.inject(resortReads, "meterRegistry", new SimpleMeterRegistry());
+        Stubs.inject(resortReads, "readRouter", Stubs.readRouter());
+        resortReads.init();
+
+        controller = new ResortController();
+        Stubs.inject(controller, "resortReads", resortReads);
+        Stubs.inject(controller, "bulkheads", Stubs.bulkheads());
+        Stubs.inject(controller, "apiStatsRepository", Stubs.repository(APIStatsRepository.class, Map.of()));
+    }
+
+    @Benchmark
+    public ResponseEntity<List<ResortsListDTO>> getAllResorts() {
+        return controller.getAllResorts().join();
+    }
+}
@@ -0,0 +1,102 @@
+package com.dss.project.benchmarks;
+
+import com.dss.project.codec.LiftRideBucketBson;
+import com.dss.project.codec.LiftRideEvent;
+import com.dss.project.codec.LiftRideEventBson;
+import com.dss.project.codec.LiftRideEventParser;
+import com.dss.project.dto.LiftRideEventDTO;
+import com.dss.project.model.SkiersTestData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.RawBsonDocument;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiftRideEventJsonBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private ObjectMapper objectMapper;
+    private LiftRideEventDTO[] events;
+    private byte[][] payloads;
+    private final LiftRideEventParser parser = new LiftRideEventParser();
+    private final LiftRideEvent holder = new LiftRideEvent();
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        // Same mapper configuration Spring Boot hands to the JSON message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        SplittableRandom random = new SplittableRandom(42);
+        events = new LiftRideEventDTO[SAMPLES];
+        payloads = new byte[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            events[i] = new LiftRideEventDTO(random.nextInt(100000) + 1, random.nextInt(10) + 1,
+                    random.nextInt(40) + 1, 2022, 1, random.nextInt(360) + 1);
+            payloads[i] = objectMapper.writeValueAsString(events[i]).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public LiftRideEventDTO deserialize() throws IOException {
+        return objectMapper.readValue(payloads[next()], LiftRideEventDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(events[next()]);
+    }
+
+    // Old ingest path: Jackson binding to LiftRideEventDTO, then copy into SkiersTestData
+    @Benchmark
+    public SkiersTestData jacksonToEntity() throws IOException {
+        LiftRideEventDTO dto = objectMapper.readValue(payloads[next()], LiftRideEventDTO.class);
+        SkiersTestData data = new SkiersTestData();
+        data.setSkierId(dto.getSkierId());
+        data.setResortID(dto.getResortId());
+        data.setLiftId(dto.getLiftId());
+        data.setSeasonId(dto.getSeasonId());
+        data.setDayId(dto.getDayId());
+        data.setTime(dto.getTime());
+        return data;
+    }
+
+    @Benchmark
+    public LiftRideEvent parseStreaming() {
+        byte[] payload = payloads[next()];
+        return parser.parse(payload, payload.length, holder);
+    }
+
+    // Current ingest path: streaming parse, then direct BSON encoding of the insert document
+    @Benchmark
+    public RawBsonDocument parseStreamingToBson() {
+        byte[] payload = payloads[next()];
+        return LiftRideEventBson.toDocument(parser.parse(payload, payload.length, holder));
+    }
+
+    // Bucket ingest path: streaming parse, then the $push upsert for the skier-day bucket
+    @Benchmark
+    public void parseStreamingToBucketUpdate(Blackhole blackhole) {
+        byte[] payload = payloads[next()];
+        LiftRideEvent event = parser.parse(payload, payload.length, holder);
+        blackhole.consume(LiftRideBucketBson.toFilter(event));
+        blackhole.consume(LiftRideBucketBson.toUpdate(event));
+    }
+
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+}
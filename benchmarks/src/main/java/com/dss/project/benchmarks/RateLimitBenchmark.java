@@ -0,0 +1,39 @@
+package com.dss.project.benchmarks;
+
+import com.dss.project.ratelimit.TokenBucketTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of one rate-limit check against a table shared by all benchmark threads, for a few hot
+// clients and for many clients spread over the table. Run with -t to add contention.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    @Param({"8", "20000"})
+    public int clients;
+
+    private TokenBucketTable table;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private long next;
+    }
+
+    @Setup
+    public void setup() {
+        // Limits high enough that every check takes a token
+        table = new TokenBucketTable(65536, 1_000_000_000, Integer.MAX_VALUE / 2);
+    }
+
+    @Benchmark
+    public long tryAcquire(Client client) {
+        client.next = client.next + 1 == clients ? 0 : client.next + 1;
+        return table.tryAcquire(client.next * 0x9E3779B97F4A7C15L + 1);
+    }
+}
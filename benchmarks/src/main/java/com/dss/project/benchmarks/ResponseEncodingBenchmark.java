@@ -0,0 +1,86 @@
+package com.dss.project.benchmarks;
+
+import com.dss.project.dto.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Serialization cost and payload size of the read endpoint responses as JSON, CBOR and Smile.
+// Payload size is reported as the payloadBytes secondary result.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"resorts", "seasons", "numSkiers", "vertical", "statistics"})
+    public String response;
+
+    private ObjectMapper objectMapper;
+    private Object body;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Payload {
+        // Assigned, not accumulated: EVENTS counters are reported as-is at the end of an iteration
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> {
+            }
+        }
+        objectMapper = builder.build();
+        body = response(response);
+    }
+
+    @Benchmark
+    public byte[] serialize(Payload payload) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    private static Object response(String name) {
+        switch (name) {
+            case "resorts": {
+                List<ResortsListDTO> resorts = new ArrayList<>();
+                for (int i = 1; i <= 10; i++) {
+                    resorts.add(new ResortsListDTO(i, "Resort number " + i));
+                }
+                return resorts;
+            }
+            case "seasons": {
+                SeasonsListDTO seasons = new SeasonsListDTO();
+                seasons.setSeasons(List.of("2018", "2019", "2020", "2021", "2022"));
+                return seasons;
+            }
+            case "numSkiers":
+                return new ResortsSkiersDTO(4321, "Success");
+            case "vertical":
+                return List.of(new SkierVerticalDTO("2021", 48210), new SkierVerticalDTO("2022", 51730));
+            case "statistics":
+                return Map.of("endpointStats", List.of(new APIStatsDTO("/resorts", "GET", 12, 187)));
+            default:
+                throw new IllegalArgumentException("Unknown response " + name);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dss.project.benchmarks;
+
+import com.dss.project.archive.SeasonArchive;
+import com.dss.project.controller.SkierController;
+import com.dss.project.dto.SkierVerticalDTO;
+import com.dss.project.model.SkierDay;
+import com.dss.project.repository.SkierDayRepository;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Season aggregation loop in getSkierVertical over an in-memory result set, including the
+// analytical bulkhead hand-off.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkierVerticalBenchmark {
+
+    private static final int SKIER_ID = 42;
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private SkierController controller;
+    private Map<String, Object> allSeasons;
+    private Map<String, Object> twoSeasons;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<SkierDay> skiers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            skiers.add(new SkierDay(new ObjectId(), random.nextInt(10) + 1, 2015 + random.nextInt(8),
+                    random.nextInt(360) + 1, SKIER_ID, random.nextInt(40) + 1, random.nextInt(360) + 1,
+                    random.nextInt(5000) + 100));
+        }
+
+        controller = new SkierController();
+        Stubs.inject(controller, "skierDayRepository", Stubs.repository(SkierDayRepository.class, Map.of(
+                "findBySkierId", args -> skiers,
+                "findBySkierIdAndResortIDIn", args -> skiers)));
+        Stubs.inject(controller, "bulkheads", Stubs.bulkheads());
+        Stubs.inject(controller, "readRouter", Stubs.readRouter());
+        Stubs.inject(controller, "seasonArchive", new SeasonArchive());
+        Stubs.inject(controller, "hotKeyCache", Stubs.hotKeyCache());
+
+        allSeasons = new HashMap<>();
+        twoSeasons = new HashMap<>();
+        twoSeasons.put("seasons", List.of("2019", "2021"));
+    }
+
+    @Benchmark
+    public List<SkierVerticalDTO> allSeasons() {
+        return controller.getSkierVertical(SKIER_ID, allSeasons).join().getBody();
+    }
+
+    @Benchmark
+    public List<SkierVerticalDTO> filteredSeasons() {
+        return controller.getSkierVertical(SKIER_ID, twoSeasons).join().getBody();
+    }
+}
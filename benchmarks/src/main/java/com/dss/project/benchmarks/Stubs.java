@@ -0,0 +1,96 @@
+package com.dss.project.benchmarks;
+
+import com.dss.project.hotkeys.HotKeyCache;
+import com.dss.project.service.Bulkheads;
+import com.dss.project.service.ReadRouter;
+import com.dss.project.service.ResortActivityFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+// In-memory stand-ins for the Mongo repositories so the benchmarks measure controller code only.
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    // Creates a proxy for a repository interface. Methods listed in answers are served by the
+    // given function, save(..) echoes its argument, everything else returns null.
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            Function<Object[], Object> answer = answers.get(name);
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            switch (name) {
+                case "save":
+                    return args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Stub" + type.getSimpleName();
+                default:
+                    return null;
+            }
+        });
+    }
+
+    // Bulkheads with their default sizes, as the controllers hand their work to them
+    static Bulkheads bulkheads() {
+        Bulkheads bulkheads = new Bulkheads();
+        inject(bulkheads, "environment", new StandardEnvironment());
+        inject(bulkheads, "meterRegistry", new SimpleMeterRegistry());
+        bulkheads.init();
+        return bulkheads;
+    }
+
+    // Read router with routing off, so every read runs on the calling thread as against a primary
+    static ReadRouter readRouter() {
+        ReadRouter readRouter = new ReadRouter();
+        inject(readRouter, "environment", new StandardEnvironment());
+        inject(readRouter, "meterRegistry", new SimpleMeterRegistry());
+        readRouter.init();
+        return readRouter;
+    }
+
+    // Live feed with its default interval and no subscribers, as ingest records every event into it
+    static ResortActivityFeed resortActivityFeed() {
+        ResortActivityFeed feed = new ResortActivityFeed();
+        inject(feed, "objectMapper", new ObjectMapper());
+        inject(feed, "meterRegistry", new SimpleMeterRegistry());
+        feed.start();
+        return feed;
+    }
+
+    // Hot-key tracking on as in production, with refresh, decay and persistence out of the way
+    static HotKeyCache hotKeyCache() {
+        HotKeyCache hotKeyCache = new HotKeyCache();
+        inject(hotKeyCache, "meterRegistry", new SimpleMeterRegistry());
+        inject(hotKeyCache, "refreshInterval", Duration.ofHours(1));
+        inject(hotKeyCache, "decayInterval", Duration.ofHours(1));
+        inject(hotKeyCache, "persistInterval", Duration.ofHours(1));
+        hotKeyCache.start();
+        return hotKeyCache;
+    }
+
+    // Sets an @Autowired field the same way Spring would.
+    static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + fieldName + " on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,81 @@
+package com.dss.project.analyzer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Usage:
+//   java -jar target/latency-analyzer.jar latencies.csv [--compare=other.csv] [--format=json|html]
+//        [--out=report.json] [--window=10] [--max-windows=2000] [--max-throughput-points=100000]
+public class AnalyzerMain {
+
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = null;
+        Path candidateFile = null;
+        String format = "json";
+        Path output = null;
+        int windowSeconds = 10;
+        int maxWindows = 2000;
+        int maxThroughputPoints = 100_000;
+
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                baselineFile = Path.of(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "compare" -> candidateFile = Path.of(value);
+                case "format" -> format = value;
+                case "out" -> output = Path.of(value);
+                case "window" -> windowSeconds = Integer.parseInt(value);
+                case "max-windows" -> maxWindows = Integer.parseInt(value);
+                case "max-throughput-points" -> maxThroughputPoints = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (baselineFile == null) {
+            System.err.println("Usage: latency-analyzer <latencies.csv> [--compare=<other.csv>] [--format=json|html] [--out=<file>]");
+            System.exit(2);
+        }
+        if (!format.equals("json") && !format.equals("html")) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        if (output == null) {
+            output = Path.of("latency-report." + format);
+        }
+
+        LatencyLogScanner scanner = new LatencyLogScanner();
+        RunStats baseline = new RunStats(baselineFile.toString(), windowSeconds, maxThroughputPoints, maxWindows);
+        long started = System.nanoTime();
+        scanner.scan(baselineFile, baseline);
+
+        RunStats candidate = null;
+        if (candidateFile != null) {
+            candidate = new RunStats(candidateFile.toString(), windowSeconds, maxThroughputPoints, maxWindows);
+            scanner.scan(candidateFile, candidate);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        ReportWriter reportWriter = new ReportWriter();
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.UTF_8))) {
+            if (format.equals("html")) {
+                reportWriter.writeHtml(out, baseline, candidate);
+            } else {
+                reportWriter.writeJson(out, baseline, candidate);
+            }
+        }
+
+        long lines = baseline.getLines() + (candidate == null ? 0 : candidate.getLines());
+        System.out.println("Analyzed " + lines + " lines in " + elapsedMillis + " ms, report written to " + output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,194 @@
+package com.dss.project.analyzer;
+
+import com.dss.project.analyzer.RunStats.Method;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Parses latencies.csv lines straight out of memory-mapped regions of the file:
+//
+//   2023-03-04T16:12:35.011472900Z,POST,76,201
+//
+// No String or other object is created per line. Only the first 19 characters of the timestamp
+// (second resolution, UTC) are used.
+public class LatencyLogScanner {
+
+    private static final long DEFAULT_REGION_SIZE = 256L << 20;
+
+    private final long regionSize;
+
+    public LatencyLogScanner() {
+        this(DEFAULT_REGION_SIZE);
+    }
+
+    LatencyLogScanner(long regionSize) {
+        this.regionSize = regionSize;
+    }
+
+    public void scan(Path file, RunStats stats) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(regionSize, size - position);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastRegion = position + length == size;
+                int consumed = scanRegion(region, (int) length, lastRegion, stats);
+                if (consumed == 0) {
+                    // A single line longer than a whole region is not a latency record
+                    stats.recordMalformed();
+                    consumed = (int) length;
+                }
+                position += consumed;
+            }
+        }
+    }
+
+    // Returns how many bytes were fully consumed. A trailing partial line is left for the next
+    // region unless this is the end of the file.
+    private int scanRegion(MappedByteBuffer buffer, int limit, boolean lastRegion, RunStats stats) {
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = indexOfNewline(buffer, lineStart, limit);
+            if (lineEnd < 0) {
+                if (!lastRegion) {
+                    return lineStart;
+                }
+                lineEnd = limit;
+            }
+            int end = lineEnd;
+            if (end > lineStart && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end > lineStart) {
+                parseLine(buffer, lineStart, end, stats);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return limit;
+    }
+
+    private static int indexOfNewline(MappedByteBuffer buffer, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void parseLine(MappedByteBuffer buffer, int start, int end, RunStats stats) {
+        if (end - start < 19) {
+            stats.recordMalformed();
+            return;
+        }
+        int year = digits(buffer, start, 4);
+        int month = digits(buffer, start + 5, 2);
+        int day = digits(buffer, start + 8, 2);
+        int hour = digits(buffer, start + 11, 2);
+        int minute = digits(buffer, start + 14, 2);
+        int second = digits(buffer, start + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            stats.recordMalformed();
+            return;
+        }
+        long epochSecond = epochDay(year, month, day) * 86400L + hour * 3600L + minute * 60L + second;
+
+        int methodStart = indexOf(buffer, start + 19, end, ',') + 1;
+        if (methodStart == 0) {
+            stats.recordMalformed();
+            return;
+        }
+        int methodEnd = indexOf(buffer, methodStart, end, ',');
+        if (methodEnd < 0) {
+            stats.recordMalformed();
+            return;
+        }
+        int latencyEnd = indexOf(buffer, methodEnd + 1, end, ',');
+        if (latencyEnd < 0) {
+            stats.recordMalformed();
+            return;
+        }
+        long latency = parseLong(buffer, methodEnd + 1, latencyEnd);
+        long status = parseLong(buffer, latencyEnd + 1, end);
+        if (latency == Long.MIN_VALUE || status == Long.MIN_VALUE) {
+            stats.recordMalformed();
+            return;
+        }
+        stats.record(epochSecond, method(buffer, methodStart, methodEnd), latency, (int) status);
+    }
+
+    private static Method method(MappedByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        byte first = buffer.get(start);
+        if (first == 'G' && length == 3) {
+            return Method.GET;
+        }
+        if (first == 'P' && length == 4) {
+            return Method.POST;
+        }
+        if (first == 'P' && length == 3) {
+            return Method.PUT;
+        }
+        if (first == 'D' && length == 6) {
+            return Method.DELETE;
+        }
+        return Method.OTHER;
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, int from, int end, char c) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Returns -1 if any byte is not a digit.
+    private static int digits(MappedByteBuffer buffer, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int d = buffer.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    // Optionally signed decimal, Long.MIN_VALUE when malformed.
+    private static long parseLong(MappedByteBuffer buffer, int start, int end) {
+        if (start >= end) {
+            return Long.MIN_VALUE;
+        }
+        boolean negative = buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i >= end) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int d = buffer.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + d;
+        }
+        return negative ? -value : value;
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date (Howard Hinnant's days_from_civil).
+    static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
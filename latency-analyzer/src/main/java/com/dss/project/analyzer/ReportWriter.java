@@ -0,0 +1,251 @@
+package com.dss.project.analyzer;
+
+import com.dss.project.analyzer.RunStats.Method;
+import com.dss.project.analyzer.RunStats.Window;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+// Renders one run, or a baseline/candidate comparison, as JSON or as a self-contained HTML page.
+public class ReportWriter {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    public void writeJson(Writer out, RunStats run, RunStats candidate) throws IOException {
+        out.write("{\n");
+        out.write("\"baseline\": ");
+        writeRunJson(out, run);
+        if (candidate != null) {
+            out.write(",\n\"candidate\": ");
+            writeRunJson(out, candidate);
+            out.write(",\n\"comparison\": ");
+            writeComparisonJson(out, run, candidate);
+        }
+        out.write("\n}\n");
+    }
+
+    public void writeHtml(Writer out, RunStats run, RunStats candidate) throws IOException {
+        out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Latency report</title>\n");
+        out.write("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}" +
+                "td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}th{background:#eee}" +
+                "svg{border:1px solid #ccc;margin-bottom:2em}</style></head><body>\n");
+        out.write("<h1>Latency report</h1>\n");
+
+        out.write("<h2>Summary</h2>\n<table><tr><th>metric</th><th>" + escape(run.getName()) + "</th>");
+        if (candidate != null) {
+            out.write("<th>" + escape(candidate.getName()) + "</th><th>change</th>");
+        }
+        out.write("</tr>\n");
+        for (Map.Entry<String, double[]> row : summaryRows(run, candidate).entrySet()) {
+            double[] values = row.getValue();
+            out.write("<tr><th>" + row.getKey() + "</th><td>" + format(values[0]) + "</td>");
+            if (candidate != null) {
+                out.write("<td>" + format(values[1]) + "</td><td>" + percentChange(values[0], values[1]) + "</td>");
+            }
+            out.write("</tr>\n");
+        }
+        out.write("</table>\n");
+
+        writeRunHtml(out, run);
+        if (candidate != null) {
+            writeRunHtml(out, candidate);
+        }
+        out.write("</body></html>\n");
+    }
+
+    private void writeRunJson(Writer out, RunStats run) throws IOException {
+        LogHistogram latency = run.getLatency();
+        out.write("{\n");
+        field(out, "name", run.getName());
+        field(out, "lines", run.getLines());
+        field(out, "malformedLines", run.getMalformedLines());
+        field(out, "firstTimestamp", Instant.ofEpochSecond(run.getFirstSecond()).toString());
+        field(out, "lastTimestamp", Instant.ofEpochSecond(run.getLastSecond()).toString());
+        field(out, "durationSeconds", run.getDurationSeconds());
+        field(out, "meanThroughput", run.getMeanThroughput());
+        field(out, "errorRate", run.getErrorRate());
+
+        out.write("\"latencyMs\": ");
+        writeLatencyJson(out, latency);
+        out.write(",\n");
+
+        out.write("\"methods\": {");
+        boolean first = true;
+        for (Method method : Method.values()) {
+            if (run.getMethodCount(method) > 0) {
+                out.write((first ? "" : ", ") + "\"" + method + "\": " + run.getMethodCount(method));
+                first = false;
+            }
+        }
+        out.write("},\n");
+
+        out.write("\"statusCodes\": [");
+        first = true;
+        for (Map.Entry<Integer, Long> entry : run.getStatusCounts().entrySet()) {
+            out.write((first ? "\n" : ",\n") + "  {\"status\": " + entry.getKey() + ", \"count\": " + entry.getValue() +
+                    ", \"rate\": " + format((double) entry.getValue() / run.getLines()) + "}");
+            first = false;
+        }
+        out.write("\n],\n");
+
+        out.write("\"throughput\": {\"resolutionSeconds\": " + run.getThroughputResolution() + ", \"points\": [");
+        LongLongMap throughput = run.getThroughput();
+        first = true;
+        for (long second : throughput.sortedKeys()) {
+            out.write((first ? "\n" : ",\n") + "  [" + second + ", " +
+                    format((double) throughput.get(second) / run.getThroughputResolution()) + "]");
+            first = false;
+        }
+        out.write("\n]},\n");
+
+        out.write("\"percentilesOverTime\": {\"windowSeconds\": " + run.getWindowSeconds() + ", \"points\": [");
+        first = true;
+        for (Map.Entry<Long, Window> entry : new TreeMap<>(run.getWindows()).entrySet()) {
+            Window window = entry.getValue();
+            out.write((first ? "\n" : ",\n") + "  {\"start\": " + entry.getKey() +
+                    ", \"count\": " + window.latency.getTotalCount() +
+                    ", \"errors\": " + window.errors +
+                    ", \"p50\": " + window.latency.percentile(50) +
+                    ", \"p90\": " + window.latency.percentile(90) +
+                    ", \"p99\": " + window.latency.percentile(99) +
+                    ", \"p999\": " + window.latency.percentile(99.9) +
+                    ", \"max\": " + window.latency.getMax() + "}");
+            first = false;
+        }
+        out.write("\n]}\n}");
+    }
+
+    private void writeLatencyJson(Writer out, LogHistogram latency) throws IOException {
+        out.write("{\"mean\": " + format(latency.getMean()) +
+                ", \"min\": " + latency.getMin() +
+                ", \"p50\": " + latency.percentile(50) +
+                ", \"p90\": " + latency.percentile(90) +
+                ", \"p99\": " + latency.percentile(99) +
+                ", \"p999\": " + latency.percentile(99.9) +
+                ", \"max\": " + latency.getMax() + "}");
+    }
+
+    private void writeComparisonJson(Writer out, RunStats baseline, RunStats candidate) throws IOException {
+        out.write("{");
+        boolean first = true;
+        for (Map.Entry<String, double[]> row : summaryRows(baseline, candidate).entrySet()) {
+            double[] values = row.getValue();
+            out.write((first ? "\n" : ",\n") + "  \"" + row.getKey() + "\": {\"baseline\": " + format(values[0]) +
+                    ", \"candidate\": " + format(values[1]) +
+                    ", \"delta\": " + format(values[1] - values[0]) +
+                    ", \"changePercent\": " + (values[0] == 0 ? "null" : format((values[1] - values[0]) * 100 / values[0])) + "}");
+            first = false;
+        }
+        out.write("\n}");
+    }
+
+    private static Map<String, double[]> summaryRows(RunStats baseline, RunStats candidate) {
+        Map<String, double[]> rows = new LinkedHashMap<>();
+        rows.put("requests", pair(baseline, candidate, r -> r.getLines()));
+        rows.put("meanThroughput", pair(baseline, candidate, RunStats::getMeanThroughput));
+        rows.put("errorRate", pair(baseline, candidate, RunStats::getErrorRate));
+        rows.put("meanMs", pair(baseline, candidate, r -> r.getLatency().getMean()));
+        for (double p : PERCENTILES) {
+            String name = "p" + (p == Math.rint(p) ? Integer.toString((int) p) : Double.toString(p).replace(".", "")) + "Ms";
+            rows.put(name, pair(baseline, candidate, r -> r.getLatency().percentile(p)));
+        }
+        rows.put("maxMs", pair(baseline, candidate, r -> r.getLatency().getMax()));
+        return rows;
+    }
+
+    private static double[] pair(RunStats baseline, RunStats candidate, ToDoubleFunction<RunStats> metric) {
+        return new double[]{metric.applyAsDouble(baseline), candidate == null ? Double.NaN : metric.applyAsDouble(candidate)};
+    }
+
+    private void writeRunHtml(Writer out, RunStats run) throws IOException {
+        out.write("<h2>" + escape(run.getName()) + "</h2>\n");
+        out.write("<p>" + run.getLines() + " requests (" + run.getMalformedLines() + " malformed lines) from " +
+                Instant.ofEpochSecond(run.getFirstSecond()) + " to " + Instant.ofEpochSecond(run.getLastSecond()) + "</p>\n");
+
+        LongLongMap throughput = run.getThroughput();
+        long[] seconds = throughput.sortedKeys();
+        double[] rates = new double[seconds.length];
+        for (int i = 0; i < seconds.length; i++) {
+            rates[i] = (double) throughput.get(seconds[i]) / run.getThroughputResolution();
+        }
+        out.write("<h3>Throughput (req/s, " + run.getThroughputResolution() + "s resolution)</h3>\n");
+        writeSparkline(out, seconds, rates);
+
+        Map<Long, Window> windows = new TreeMap<>(run.getWindows());
+        long[] starts = new long[windows.size()];
+        double[] p99 = new double[windows.size()];
+        int i = 0;
+        for (Map.Entry<Long, Window> entry : windows.entrySet()) {
+            starts[i] = entry.getKey();
+            p99[i] = entry.getValue().latency.percentile(99);
+            i++;
+        }
+        out.write("<h3>p99 latency (ms, " + run.getWindowSeconds() + "s windows)</h3>\n");
+        writeSparkline(out, starts, p99);
+
+        out.write("<h3>Status codes</h3>\n<table><tr><th>status</th><th>count</th><th>rate</th></tr>\n");
+        for (Map.Entry<Integer, Long> entry : run.getStatusCounts().entrySet()) {
+            out.write("<tr><td>" + entry.getKey() + "</td><td>" + entry.getValue() + "</td><td>" +
+                    format((double) entry.getValue() / run.getLines()) + "</td></tr>\n");
+        }
+        out.write("</table>\n");
+    }
+
+    private void writeSparkline(Writer out, long[] x, double[] y) throws IOException {
+        int width = 900;
+        int height = 200;
+        out.write("<svg width=\"" + width + "\" height=\"" + height + "\"><polyline fill=\"none\" stroke=\"#36c\" points=\"");
+        if (x.length > 0) {
+            double maxY = 0;
+            for (double v : y) {
+                maxY = Math.max(maxY, v);
+            }
+            long span = Math.max(1, x[x.length - 1] - x[0]);
+            for (int i = 0; i < x.length; i++) {
+                double px = (double) (x[i] - x[0]) / span * (width - 10) + 5;
+                double py = height - 5 - (maxY == 0 ? 0 : y[i] / maxY * (height - 10));
+                out.write(String.format(Locale.ROOT, "%.1f,%.1f ", px, py));
+            }
+        }
+        out.write("\"/></svg>\n");
+    }
+
+    private static void field(Writer out, String name, String value) throws IOException {
+        out.write("\"" + name + "\": \"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\",\n");
+    }
+
+    private static void field(Writer out, String name, long value) throws IOException {
+        out.write("\"" + name + "\": " + value + ",\n");
+    }
+
+    private static void field(Writer out, String name, double value) throws IOException {
+        out.write("\"" + name + "\": " + format(value) + ",\n");
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "null";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static String percentChange(double baseline, double candidate) {
+        if (baseline == 0) {
+            return "n/a";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (candidate - baseline) * 100 / baseline);
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
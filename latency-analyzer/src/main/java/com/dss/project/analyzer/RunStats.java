@@ -0,0 +1,191 @@
+package com.dss.project.analyzer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Everything we keep about one latency log. Memory is bounded: once the throughput series or the
+// percentile windows exceed their point budget, their resolution is doubled and buckets merged.
+public class RunStats {
+
+    public enum Method {
+        GET, POST, PUT, DELETE, OTHER
+    }
+
+    static final class Window {
+        final LogHistogram latency = new LogHistogram();
+        long errors;
+
+        void add(Window other) {
+            latency.add(other.latency);
+            errors += other.errors;
+        }
+    }
+
+    private final String name;
+    private final int maxThroughputPoints;
+    private final int maxWindows;
+
+    private long lines;
+    private long malformedLines;
+    private long firstSecond = Long.MAX_VALUE;
+    private long lastSecond = Long.MIN_VALUE;
+    private final LogHistogram latency = new LogHistogram();
+    // index 0 holds failed requests (negative status), index s + 1 holds HTTP status s
+    private final long[] statusCounts = new long[1001];
+    private final long[] methodCounts = new long[Method.values().length];
+
+    private int throughputResolution = 1;
+    private LongLongMap throughput = new LongLongMap(4096);
+
+    private int windowSeconds;
+    private Map<Long, Window> windows = new HashMap<>();
+    private long cachedWindowStart = Long.MIN_VALUE;
+    private Window cachedWindow;
+
+    public RunStats(String name, int windowSeconds, int maxThroughputPoints, int maxWindows) {
+        this.name = name;
+        this.windowSeconds = windowSeconds;
+        this.maxThroughputPoints = maxThroughputPoints;
+        this.maxWindows = maxWindows;
+    }
+
+    public void record(long epochSecond, Method method, long latencyMillis, int status) {
+        lines++;
+        if (epochSecond < firstSecond) {
+            firstSecond = epochSecond;
+        }
+        if (epochSecond > lastSecond) {
+            lastSecond = epochSecond;
+        }
+        latency.record(latencyMillis);
+        statusCounts[status < 0 ? 0 : Math.min(status, 999) + 1]++;
+        methodCounts[method.ordinal()]++;
+
+        throughput.add(Math.floorDiv(epochSecond, throughputResolution) * throughputResolution, 1);
+        if (throughput.size() > maxThroughputPoints) {
+            coarsenThroughput();
+        }
+
+        long windowStart = Math.floorDiv(epochSecond, windowSeconds) * windowSeconds;
+        if (windowStart != cachedWindowStart) {
+            if (windows.size() >= maxWindows && !windows.containsKey(windowStart)) {
+                coarsenWindows();
+                windowStart = Math.floorDiv(epochSecond, windowSeconds) * windowSeconds;
+            }
+            cachedWindow = windows.computeIfAbsent(windowStart, start -> new Window());
+            cachedWindowStart = windowStart;
+        }
+        cachedWindow.latency.record(latencyMillis);
+        if (isError(status)) {
+            cachedWindow.errors++;
+        }
+    }
+
+    public void recordMalformed() {
+        malformedLines++;
+    }
+
+    // Failed requests (no response) and 5xx responses.
+    public static boolean isError(int status) {
+        return status <= 0 || status >= 500;
+    }
+
+    private void coarsenThroughput() {
+        int resolution = throughputResolution * 2;
+        LongLongMap merged = new LongLongMap(throughput.size() / 2 + 1);
+        for (long key : throughput.sortedKeys()) {
+            merged.add(Math.floorDiv(key, resolution) * resolution, throughput.get(key));
+        }
+        throughput = merged;
+        throughputResolution = resolution;
+    }
+
+    private void coarsenWindows() {
+        int seconds = windowSeconds * 2;
+        Map<Long, Window> merged = new HashMap<>();
+        for (Map.Entry<Long, Window> entry : windows.entrySet()) {
+            merged.computeIfAbsent(Math.floorDiv(entry.getKey(), seconds) * seconds, start -> new Window())
+                    .add(entry.getValue());
+        }
+        windows = merged;
+        windowSeconds = seconds;
+        cachedWindowStart = Long.MIN_VALUE;
+        cachedWindow = null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getMalformedLines() {
+        return malformedLines;
+    }
+
+    public long getFirstSecond() {
+        return lines == 0 ? 0 : firstSecond;
+    }
+
+    public long getLastSecond() {
+        return lines == 0 ? 0 : lastSecond;
+    }
+
+    public long getDurationSeconds() {
+        return lines == 0 ? 0 : lastSecond - firstSecond + 1;
+    }
+
+    public double getMeanThroughput() {
+        return lines == 0 ? 0 : (double) lines / getDurationSeconds();
+    }
+
+    public LogHistogram getLatency() {
+        return latency;
+    }
+
+    // Status code -> count, failed requests reported as -1.
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> result = new TreeMap<>();
+        for (int i = 0; i < statusCounts.length; i++) {
+            if (statusCounts[i] > 0) {
+                result.put(i == 0 ? -1 : i - 1, statusCounts[i]);
+            }
+        }
+        return result;
+    }
+
+    public long getErrorCount() {
+        long errors = statusCounts[0] + statusCounts[1];
+        for (int status = 500; status <= 999; status++) {
+            errors += statusCounts[status + 1];
+        }
+        return errors;
+    }
+
+    public double getErrorRate() {
+        return lines == 0 ? 0 : (double) getErrorCount() / lines;
+    }
+
+    public long getMethodCount(Method method) {
+        return methodCounts[method.ordinal()];
+    }
+
+    public int getThroughputResolution() {
+        return throughputResolution;
+    }
+
+    LongLongMap getThroughput() {
+        return throughput;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    Map<Long, Window> getWindows() {
+        return windows;
+    }
+}
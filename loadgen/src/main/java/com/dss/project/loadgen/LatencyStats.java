@@ -0,0 +1,101 @@
+package com.dss.project.loadgen;
+
+import com.dss.project.loadgen.RateSchedule.Phase;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histograms (microseconds, measured from the intended send time) per phase and operation.
+// Every status of 400 and above, transport failures and requests dropped at the in-flight limit are
+// errors. Dropped requests have no latency, so they are counted next to the percentiles instead of
+// in them.
+public class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Phase, Map<Operation, Histogram>> histograms = new EnumMap<>(Phase.class);
+    private final Map<Phase, Map<Operation, LongAdder>> errors = new EnumMap<>(Phase.class);
+    private final Map<Phase, Map<Operation, LongAdder>> dropped = new EnumMap<>(Phase.class);
+
+    public LatencyStats() {
+        for (Phase phase : Phase.values()) {
+            Map<Operation, Histogram> phaseHistograms = new EnumMap<>(Operation.class);
+            Map<Operation, LongAdder> phaseErrors = new EnumMap<>(Operation.class);
+            Map<Operation, LongAdder> phaseDropped = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                phaseHistograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+                phaseErrors.put(operation, new LongAdder());
+                phaseDropped.put(operation, new LongAdder());
+            }
+            histograms.put(phase, phaseHistograms);
+            errors.put(phase, phaseErrors);
+            dropped.put(phase, phaseDropped);
+        }
+    }
+
+    public void record(Phase phase, Operation operation, long latencyNanos, int status) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.get(phase).get(operation).recordValue(micros);
+        if (status < 200 || status >= 400) {
+            errors.get(phase).get(operation).increment();
+        }
+    }
+
+    // A request the generator could not issue because too many were already outstanding
+    public void recordDropped(Phase phase, Operation operation) {
+        dropped.get(phase).get(operation).increment();
+        errors.get(phase).get(operation).increment();
+    }
+
+    public void printSummary(PrintStream out, Map<Phase, Long> phaseDurationsNanos) {
+        out.printf("%-8s %-14s %9s %9s %10s %10s %10s %10s %10s %10s %7s %7s%n",
+                "phase", "operation", "count", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "errors", "dropped");
+        for (Phase phase : Phase.values()) {
+            double seconds = phaseDurationsNanos.getOrDefault(phase, 0L) / 1e9;
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = histograms.get(phase).get(operation);
+                long count = histogram.getTotalCount();
+                long phaseDropped = dropped.get(phase).get(operation).sum();
+                if (count == 0 && phaseDropped == 0) {
+                    continue;
+                }
+                // count and the latencies are of sent requests; errors include the dropped ones
+                out.printf("%-8s %-14s %9d %9.1f %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f %7d %7d%n",
+                        phase, operation.getCliName(), count, seconds > 0 ? count / seconds : 0,
+                        histogram.getMean() / 1000.0,
+                        histogram.getValueAtPercentile(50) / 1000.0,
+                        histogram.getValueAtPercentile(90) / 1000.0,
+                        histogram.getValueAtPercentile(99) / 1000.0,
+                        histogram.getValueAtPercentile(99.9) / 1000.0,
+                        histogram.getMaxValue() / 1000.0,
+                        errors.get(phase).get(operation).sum(),
+                        phaseDropped);
+            }
+        }
+    }
+
+    // Writes one .hgrm percentile distribution per operation for the steady phase, values in milliseconds.
+    public void writeSteadyHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(Phase.STEADY).get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Path file = directory.resolve(operation.getCliName() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
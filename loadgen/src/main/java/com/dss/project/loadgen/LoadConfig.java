@@ -0,0 +1,165 @@
+package com.dss.project.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class LoadConfig {
+
+    private URI target = URI.create("http://localhost:8080/v1");
+    private double rate = 200;
+    private double warmupRate = 20;
+    private Duration warmup = Duration.ofSeconds(30);
+    private Duration ramp = Duration.ofSeconds(60);
+    private Duration steady = Duration.ofSeconds(300);
+    private Duration requestTimeout = Duration.ofSeconds(30);
+    private int maxInFlight = 20000;
+    private int ioThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private long seed = System.nanoTime();
+    private Path output = Path.of("latencies.csv");
+    private Path histogramDir = Path.of("loadgen-results");
+    private Map<Operation, Integer> mix = defaultMix();
+
+    // Parses --name=value arguments, e.g.
+    // --target=http://host:8080/v1 --rate=500 --warmup=30s --ramp=1m --steady=5m --mix=liftRideEvent:80,resorts:20
+    public static LoadConfig parse(String[] args) {
+        LoadConfig config = new LoadConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target" -> config.target = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "warmup-rate" -> config.warmupRate = Double.parseDouble(value);
+                case "warmup" -> config.warmup = parseDuration(value);
+                case "ramp" -> config.ramp = parseDuration(value);
+                case "steady" -> config.steady = parseDuration(value);
+                case "timeout" -> config.requestTimeout = parseDuration(value);
+                case "max-in-flight" -> config.maxInFlight = Integer.parseInt(value);
+                case "io-threads" -> config.ioThreads = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "out" -> config.output = Path.of(value);
+                case "histograms" -> config.histogramDir = Path.of(value);
+                case "mix" -> config.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (config.rate <= 0 || config.warmupRate <= 0) {
+            throw new IllegalArgumentException("Rates must be greater than 0");
+        }
+        return config;
+    }
+
+    // Accepts plain seconds ("30") or a unit suffix ("500ms", "30s", "5m").
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got: " + part);
+            }
+            mix.put(Operation.byName(kv[0].trim()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    // Ingest-heavy, like a lift-gate day: mostly ride events with a tail of reads on every endpoint.
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.LIFT_RIDE_EVENT, 70);
+        mix.put(Operation.ADD_LIFT_RIDE, 5);
+        mix.put(Operation.TOTAL_VERTICAL, 8);
+        mix.put(Operation.SKIER_VERTICAL, 3);
+        mix.put(Operation.NUM_SKIERS, 6);
+        mix.put(Operation.SEASONS, 3);
+        mix.put(Operation.RESORTS, 3);
+        mix.put(Operation.STATISTICS, 1);
+        mix.put(Operation.ADD_SEASON, 1);
+        return mix;
+    }
+
+    public URI getTarget() {
+        return target;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public double getWarmupRate() {
+        return warmupRate;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getRamp() {
+        return ramp;
+    }
+
+    public Duration getSteady() {
+        return steady;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public Path getHistogramDir() {
+        return histogramDir;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadConfig{" +
+                "target=" + target +
+                ", rate=" + rate +
+                ", warmupRate=" + warmupRate +
+                ", warmup=" + warmup +
+                ", ramp=" + ramp +
+                ", steady=" + steady +
+                ", maxInFlight=" + maxInFlight +
+                ", seed=" + seed +
+                ", mix=" + mix +
+                '}';
+    }
+}
@@ -0,0 +1,112 @@
+package com.dss.project.loadgen;
+
+import com.dss.project.loadgen.RateSchedule.Phase;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop load generator. Requests are issued at the scheduled rate no matter how long earlier
+// responses take, and every latency is measured from the intended send time. That way queueing
+// behind a stalled server shows up in the numbers instead of being hidden (coordinated omission).
+// Requests dropped at the in-flight limit were never sent: they count as errors of their phase and
+// operation and are shown next to its percentiles, but have no latency to put in the histograms or
+// the per-request records.
+public class LoadGeneratorMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        System.out.println("Starting load run: " + config);
+
+        ExecutorService ioExecutor = Executors.newFixedThreadPool(config.getIoThreads());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.getRequestTimeout())
+                .executor(ioExecutor)
+                .build();
+
+        RateSchedule schedule = new RateSchedule(config);
+        Workload workload = new Workload(config.getMix(), config.getSeed());
+        LatencyStats stats = new LatencyStats();
+        AtomicInteger inFlight = new AtomicInteger();
+        Set<CompletableFuture<HttpResponse<Void>>> pending = ConcurrentHashMap.newKeySet();
+        int cancelled = 0;
+
+        try (ResultWriter writer = new ResultWriter(config.getOutput())) {
+            long wallStartMillis = System.currentTimeMillis();
+            long start = System.nanoTime();
+
+            for (long offset = schedule.next(); offset >= 0; offset = schedule.next()) {
+                long intended = start + offset;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = workload.nextOperation();
+                Phase phase = schedule.phaseAt(offset);
+                Instant intendedWallTime = Instant.ofEpochMilli(wallStartMillis + TimeUnit.NANOSECONDS.toMillis(offset));
+
+                if (inFlight.get() >= config.getMaxInFlight()) {
+                    // Still counts against the schedule: the request is an error, not postponed
+                    stats.recordDropped(phase, operation);
+                    continue;
+                }
+
+                HttpRequest request = operation.request(config.getTarget(), config.getRequestTimeout(), workload.random());
+                inFlight.incrementAndGet();
+                CompletableFuture<HttpResponse<Void>> sent = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+                pending.add(sent);
+                sent.whenComplete((response, error) -> {
+                    try {
+                        long latency = System.nanoTime() - intended;
+                        int status = error == null ? response.statusCode() : -1;
+                        stats.record(phase, operation, latency, status);
+                        writer.write(intendedWallTime, operation.getMethod(), TimeUnit.NANOSECONDS.toMillis(latency), status);
+                    } finally {
+                        pending.remove(sent);
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+
+            long drainDeadline = System.nanoTime() + config.getRequestTimeout().toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(10);
+            }
+            // Still outstanding past their timeout: cancelling completes them as failed with the time
+            // they took so far, and their records must be written before the writer is closed
+            for (CompletableFuture<HttpResponse<Void>> sent : pending) {
+                if (sent.cancel(true)) {
+                    cancelled++;
+                }
+            }
+            while (inFlight.get() > 0) {
+                Thread.sleep(1);
+            }
+        } finally {
+            ioExecutor.shutdownNow();
+        }
+
+        Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+        durations.put(Phase.WARMUP, config.getWarmup().toNanos());
+        durations.put(Phase.RAMP, config.getRamp().toNanos());
+        durations.put(Phase.STEADY, config.getSteady().toNanos());
+        stats.printSummary(System.out, durations);
+        System.out.println("Cancelled (still in flight at the end of the run): " + cancelled);
+        stats.writeSteadyHistograms(config.getHistogramDir());
+        System.out.println("Per-request records: " + config.getOutput().toAbsolutePath());
+        System.out.println("Steady-state histograms: " + config.getHistogramDir().toAbsolutePath());
+    }
+}
@@ -0,0 +1,166 @@
+package com.dss.project.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+// One entry per API endpoint. Each builds a randomized request within the ranges the API accepts.
+public enum Operation {
+
+    LIFT_RIDE_EVENT("liftRideEvent", "POST") {
+        @Override
+        String path(SplittableRandom random) {
+            return "/skiers/liftRideEvent";
+        }
+
+        @Override
+        String body(SplittableRandom random) {
+            return "{\"skierId\":" + skierId(random) +
+                    ",\"resortId\":" + resortId(random) +
+                    ",\"liftId\":" + liftId(random) +
+                    ",\"seasonId\":" + SEASON_ID +
+                    ",\"dayId\":" + DAY_ID +
+                    ",\"time\":" + time(random) + "}";
+        }
+    },
+    ADD_LIFT_RIDE("addLiftRide", "POST") {
+        @Override
+        String path(SplittableRandom random) {
+            return skierDayPath(random);
+        }
+
+        @Override
+        String body(SplittableRandom random) {
+            return "{\"time\":" + time(random) + ",\"liftId\":" + liftId(random) + "}";
+        }
+    },
+    TOTAL_VERTICAL("totalVertical", "GET") {
+        @Override
+        String path(SplittableRandom random) {
+            return skierDayPath(random);
+        }
+    },
+    SKIER_VERTICAL("skierVertical", "GET") {
+        @Override
+        String path(SplittableRandom random) {
+            return "/skiers/skiers/" + skierId(random) + "/vertical";
+        }
+
+        @Override
+        String body(SplittableRandom random) {
+            return "{\"resortIds\":[\"" + resortId(random) + "\"],\"seasons\":[\"" + SEASON_ID + "\"]}";
+        }
+    },
+    NUM_SKIERS("numSkiers", "GET") {
+        @Override
+        String path(SplittableRandom random) {
+            return "/resorts/" + resortId(random) + "/seasons/" + SEASON_ID + "/day/" + DAY_ID + "/skiers";
+        }
+    },
+    SEASONS("seasons", "GET") {
+        @Override
+        String path(SplittableRandom random) {
+            return "/resorts/" + resortId(random) + "/seasons";
+        }
+    },
+    RESORTS("resorts", "GET") {
+        @Override
+        String path(SplittableRandom random) {
+            return "/resorts";
+        }
+    },
+    STATISTICS("statistics", "GET") {
+        @Override
+        String path(SplittableRandom random) {
+            return "/statistics";
+        }
+    },
+    ADD_SEASON("addSeason", "POST") {
+        @Override
+        String path(SplittableRandom random) {
+            return "/resorts/" + resortId(random) + "/seasons";
+        }
+
+        @Override
+        String body(SplittableRandom random) {
+            return Integer.toString(SEASON_ID);
+        }
+
+        @Override
+        String contentType() {
+            return "text/plain";
+        }
+    };
+
+    private static final int SEASON_ID = 2022;
+    private static final int DAY_ID = 1;
+
+    private final String cliName;
+    private final String method;
+
+    Operation(String cliName, String method) {
+        this.cliName = cliName;
+        this.method = method;
+    }
+
+    abstract String path(SplittableRandom random);
+
+    // GET requests normally have no body; getSkierVertical is the exception.
+    String body(SplittableRandom random) {
+        return null;
+    }
+
+    String contentType() {
+        return "application/json";
+    }
+
+    public String getCliName() {
+        return cliName;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    HttpRequest request(URI target, Duration timeout, SplittableRandom random) {
+        String body = body(random);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target + path(random)))
+                .timeout(timeout)
+                .method(method, body == null ? BodyPublishers.noBody() : BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", contentType());
+        }
+        return builder.build();
+    }
+
+    static Operation byName(String name) {
+        for (Operation operation : values()) {
+            if (operation.cliName.equalsIgnoreCase(name) || operation.name().equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + name);
+    }
+
+    private static String skierDayPath(SplittableRandom random) {
+        return "/skiers/" + resortId(random) + "/seasons/" + SEASON_ID + "/days/" + DAY_ID + "/skiers/" + skierId(random);
+    }
+
+    private static int skierId(SplittableRandom random) {
+        return random.nextInt(100000) + 1;
+    }
+
+    private static int resortId(SplittableRandom random) {
+        return random.nextInt(10) + 1;
+    }
+
+    private static int liftId(SplittableRandom random) {
+        return random.nextInt(40) + 1;
+    }
+
+    private static int time(SplittableRandom random) {
+        return random.nextInt(360) + 1;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dss.project.loadgen;
+
+// Computes intended send times for an open-loop run. Send times depend only on the schedule,
+// never on when earlier responses arrive, so a slow server cannot slow the generator down.
+//
+// warm-up: constant warmupRate
+// ramp:    linear from warmupRate to rate
+// steady:  constant rate
+public class RateSchedule {
+
+    public enum Phase {
+        WARMUP, RAMP, STEADY
+    }
+
+    private final double warmupRate;
+    private final double rate;
+    private final long warmupEnd;
+    private final long rampEnd;
+    private final long steadyEnd;
+
+    private long next;
+
+    public RateSchedule(LoadConfig config) {
+        this.warmupRate = config.getWarmupRate();
+        this.rate = config.getRate();
+        this.warmupEnd = config.getWarmup().toNanos();
+        this.rampEnd = warmupEnd + config.getRamp().toNanos();
+        this.steadyEnd = rampEnd + config.getSteady().toNanos();
+    }
+
+    // Returns the next intended send time in nanoseconds since the start of the run, or -1 when done.
+    public long next() {
+        long current = next;
+        if (current >= steadyEnd) {
+            return -1;
+        }
+        next = current + (long) (1_000_000_000d / rateAt(current));
+        return current;
+    }
+
+    public Phase phaseAt(long offsetNanos) {
+        if (offsetNanos < warmupEnd) {
+            return Phase.WARMUP;
+        }
+        if (offsetNanos < rampEnd) {
+            return Phase.RAMP;
+        }
+        return Phase.STEADY;
+    }
+
+    public long getDurationNanos() {
+        return steadyEnd;
+    }
+
+    private double rateAt(long offsetNanos) {
+        switch (phaseAt(offsetNanos)) {
+            case WARMUP:
+                return warmupRate;
+            case RAMP:
+                double progress = (double) (offsetNanos - warmupEnd) / (rampEnd - warmupEnd);
+                return warmupRate + (rate - warmupRate) * progress;
+            default:
+                return rate;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dss.project.loadgen;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+// Writes per-request records in the latencies.csv format (start time, method, latency ms, status)
+// through a single buffered writer that stays open for the whole run.
+public class ResultWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder(64);
+
+    public ResultWriter(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public synchronized void write(Instant intendedStart, String method, long latencyMillis, int status) {
+        line.setLength(0);
+        line.append(intendedStart).append(',')
+                .append(method).append(',')
+                .append(latencyMillis).append(',')
+                .append(status).append('\n');
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            System.err.println("Error writing record to CSV file: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
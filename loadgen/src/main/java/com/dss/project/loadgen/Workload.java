@@ -0,0 +1,49 @@
+package com.dss.project.loadgen;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Weighted choice of the next operation. Only used from the scheduler thread, so the
+// random source is not shared between threads.
+public class Workload {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final SplittableRandom random;
+
+    public Workload(Map<Operation, Integer> mix, long seed) {
+        this.operations = new Operation[mix.size()];
+        this.cumulativeWeights = new int[mix.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+            }
+            total += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Workload mix has no operations");
+        }
+        this.totalWeight = total;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public Operation nextOperation() {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public SplittableRandom random() {
+        return random;
+    }
+}
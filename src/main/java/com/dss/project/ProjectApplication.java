@@ -1,38 +1,35 @@
 package com.dss.project;
 
-import com.dss.project.model.Skiers;
-import com.dss.project.repository.ResortRepository;
+import com.dss.project.startup.SampleDataSeeder;
 import jakarta.annotation.PostConstruct;
-import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class ProjectApplication {
 
     @Autowired
-    private ResortRepository resortRepository;
+    private SampleDataSeeder sampleDataSeeder;
+
+    @Value("${skiers.startup.async-seed:false}")
+    private boolean asyncSeed;
 
     public static void main(String[] args) {
-        SpringApplication.run(ProjectApplication.class, args);
+        SpringApplication application = new SpringApplication(ProjectApplication.class);
+        // Keeps the startup steps for /actuator/startup and the StartupWarmup log
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        application.run(args);
     }
 
     @PostConstruct
     public void init() {
-        if (resortRepository.count() == 0) {
-            List<Skiers> resorts = new ArrayList<>();
-            resorts.add(new Skiers(new ObjectId(),1, 1, 1, 1, 1, 1000, 60, 50, Arrays.asList("2019","2025"), "Whistler Blackcomb"));
-            resorts.add(new Skiers(new ObjectId(),2, 1, 2, 2, 2, 2000, 120, 100, Arrays.asList("2020"), "Banff Ski Resort"));
-            resorts.add(new Skiers(new ObjectId(),3, 2, 3, 3, 3, 500, 30, 20, Arrays.asList("2021"), "Mont Tremblant Ski Resort"));
-            resorts.add(new Skiers(new ObjectId(),4, 2, 4, 4, 4, 1000, 60, 50, Arrays.asList("2022"), "Lake Louise Ski Resort"));
-            resortRepository.saveAll(resorts);
+        // With async seeding StartupWarmup seeds after the context is up
+        if (!asyncSeed) {
+            sampleDataSeeder.seed();
         }
     }
 
 }
-
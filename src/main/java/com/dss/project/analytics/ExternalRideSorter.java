@@ -0,0 +1,262 @@
+package com.dss.project.analytics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+// Sorts any number of packed rides in bounded memory. Rides are collected in chunks of
+// chunkRides; each full chunk is sorted with Arrays.parallelSort on the fork-join pool and
+// spilled to a run file while the next chunk fills, so at most two chunks are in memory. The runs
+// are then merged fanIn at a time, groups in parallel, until one final merge can stream them all.
+final class ExternalRideSorter implements Closeable {
+
+    private final Path spillDir;
+    private final int chunkRides;
+    private final int fanIn;
+    private final ForkJoinPool pool;
+    private final List<Path> runs = new ArrayList<>();
+    private long[] chunk;
+    private long[] spare;
+    private int size;
+    private ForkJoinTask<long[]> spilling;
+    private int runFiles;
+    private long rides;
+
+    ExternalRideSorter(Path spillParent, int chunkRides, int fanIn, ForkJoinPool pool) throws IOException {
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn must be at least 2");
+        }
+        Files.createDirectories(spillParent);
+        this.spillDir = Files.createTempDirectory(spillParent, "season-report-");
+        this.chunkRides = chunkRides;
+        this.fanIn = fanIn;
+        this.pool = pool;
+    }
+
+    void add(long ride) throws IOException {
+        if (chunk == null) {
+            chunk = spare != null ? spare : new long[chunkRides];
+            spare = null;
+        }
+        chunk[size++] = ride;
+        rides++;
+        if (size == chunkRides) {
+            spill();
+        }
+    }
+
+    long getRides() {
+        return rides;
+    }
+
+    int getRunFiles() {
+        return runFiles;
+    }
+
+    // All added rides in order; call once, after the last add
+    RideSource sorted() throws IOException {
+        if (runs.isEmpty() && spilling == null) {
+            long[] rides = chunk != null ? chunk : new long[0];
+            int count = size;
+            pool.invoke(ForkJoinTask.adapt(() -> Arrays.parallelSort(rides, 0, count)));
+            chunk = null;
+            return new ArraySource(rides, count);
+        }
+
+        if (size > 0) {
+            spill();
+        }
+        awaitSpill();
+        chunk = null;
+        spare = null;
+
+        List<Path> level = new ArrayList<>(runs);
+        while (level.size() > fanIn) {
+            level = mergeLevel(level);
+        }
+        return merge(level);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spilling != null) {
+            spilling.quietlyJoin();
+        }
+        try (Stream<Path> files = Files.list(spillDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(spillDir);
+    }
+
+    private void spill() throws IOException {
+        awaitSpill();
+        long[] full = chunk;
+        int count = size;
+        Path run = nextRunFile();
+        runs.add(run);
+        spilling = pool.submit(ForkJoinTask.adapt(() -> {
+            Arrays.parallelSort(full, 0, count);
+            RunFiles.write(run, full, count);
+            return full;
+        }));
+        chunk = null;
+        size = 0;
+    }
+
+    private void awaitSpill() throws IOException {
+        if (spilling == null) {
+            return;
+        }
+        try {
+            spare = spilling.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while spilling", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Spilling a sorted run failed", e.getCause());
+        } finally {
+            spilling = null;
+        }
+    }
+
+    // One merge pass: every group of fanIn runs becomes one run, groups merged in parallel
+    private List<Path> mergeLevel(List<Path> level) throws IOException {
+        List<Path> next = new ArrayList<>();
+        List<ForkJoinTask<?>> merges = new ArrayList<>();
+        for (int from = 0; from < level.size(); from += fanIn) {
+            List<Path> group = level.subList(from, Math.min(from + fanIn, level.size()));
+            Path merged = nextRunFile();
+            next.add(merged);
+            merges.add(pool.submit(() -> {
+                try (RideSource source = merge(group); RunFiles.Writer writer = RunFiles.writer(merged)) {
+                    while (source.advance()) {
+                        writer.write(source.current());
+                    }
+                    for (Path run : group) {
+                        Files.delete(run);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> merge : merges) {
+            try {
+                merge.join();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return next;
+    }
+
+    private RideSource merge(List<Path> group) throws IOException {
+        List<RideSource> sources = new ArrayList<>(group.size());
+        try {
+            for (Path run : group) {
+                sources.add(RunFiles.reader(run));
+            }
+        } catch (IOException e) {
+            for (RideSource source : sources) {
+                source.close();
+            }
+            throw e;
+        }
+        return new MergingSource(sources);
+    }
+
+    private synchronized Path nextRunFile() {
+        return spillDir.resolve("run-" + runFiles++ + ".bin");
+    }
+
+    private static final class ArraySource implements RideSource {
+
+        private final long[] rides;
+        private final int count;
+        private int index = -1;
+
+        private ArraySource(long[] rides, int count) {
+            this.rides = rides;
+            this.count = count;
+        }
+
+        @Override
+        public boolean advance() {
+            return ++index < count;
+        }
+
+        @Override
+        public long current() {
+            return rides[index];
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class MergingSource implements RideSource {
+
+        private final List<RideSource> sources;
+        private final PriorityQueue<RideSource> heads = new PriorityQueue<>((a, b) -> Long.compare(a.current(), b.current()));
+        private RideSource last;
+        private long current;
+        private boolean started;
+
+        private MergingSource(List<RideSource> sources) {
+            this.sources = sources;
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            if (!started) {
+                started = true;
+                for (RideSource source : sources) {
+                    if (source.advance()) {
+                        heads.add(source);
+                    }
+                }
+            } else if (last.advance()) {
+                heads.add(last);
+            }
+            last = heads.poll();
+            if (last == null) {
+                return false;
+            }
+            current = last.current();
+            return true;
+        }
+
+        @Override
+        public long current() {
+            return current;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (RideSource source : sources) {
+                try {
+                    source.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
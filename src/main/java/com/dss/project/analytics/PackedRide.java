@@ -0,0 +1,44 @@
+package com.dss.project.analytics;
+
+// One lift ride in a long whose natural order is (skierId, dayId, time):
+// skierId 32 bits | dayId 9 | time 11 | resortID 6 | liftId 6.
+// Rides outside those ranges cannot be packed and are left out of the reports.
+final class PackedRide {
+
+    static final int MAX_DAY = (1 << 9) - 1;
+    static final int MAX_TIME = (1 << 11) - 1;
+    static final int MAX_RESORT = (1 << 6) - 1;
+    static final int MAX_LIFT = (1 << 6) - 1;
+
+    private PackedRide() {
+    }
+
+    static boolean fits(int skierId, int dayId, int time, int resortID, int liftId) {
+        return skierId >= 0 && dayId >= 0 && dayId <= MAX_DAY && time >= 0 && time <= MAX_TIME
+                && resortID >= 0 && resortID <= MAX_RESORT && liftId >= 0 && liftId <= MAX_LIFT;
+    }
+
+    static long pack(int skierId, int dayId, int time, int resortID, int liftId) {
+        return (long) skierId << 32 | (long) dayId << 23 | (long) time << 12 | (long) resortID << 6 | liftId;
+    }
+
+    static int skierId(long ride) {
+        return (int) (ride >>> 32);
+    }
+
+    static int dayId(long ride) {
+        return (int) (ride >>> 23) & MAX_DAY;
+    }
+
+    static int time(long ride) {
+        return (int) (ride >>> 12) & MAX_TIME;
+    }
+
+    static int resortID(long ride) {
+        return (int) (ride >>> 6) & MAX_RESORT;
+    }
+
+    static int liftId(long ride) {
+        return (int) ride & MAX_LIFT;
+    }
+}
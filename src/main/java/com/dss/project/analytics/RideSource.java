@@ -0,0 +1,13 @@
+package com.dss.project.analytics;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Packed rides in ascending order
+interface RideSource extends Closeable {
+
+    // Moves to the next ride, false once all rides have been read
+    boolean advance() throws IOException;
+
+    long current();
+}
@@ -0,0 +1,109 @@
+package com.dss.project.analytics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Sorted runs on disk: each ride is stored as the varint of its difference to the previous one,
+// which for sorted rides of the same skier is usually one or two bytes.
+final class RunFiles {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private RunFiles() {
+    }
+
+    static void write(Path file, long[] rides, int count) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_BYTES)) {
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                writeVarint(out, rides[i] - previous);
+                previous = rides[i];
+            }
+        }
+    }
+
+    static Writer writer(Path file) throws IOException {
+        return new Writer(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_BYTES));
+    }
+
+    static RideSource reader(Path file) throws IOException {
+        return new Reader(new BufferedInputStream(Files.newInputStream(file), BUFFER_BYTES));
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static final class Writer implements AutoCloseable {
+
+        private final OutputStream out;
+        private long previous;
+
+        private Writer(OutputStream out) {
+            this.out = out;
+        }
+
+        void write(long ride) throws IOException {
+            writeVarint(out, ride - previous);
+            previous = ride;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class Reader implements RideSource {
+
+        private final InputStream in;
+        private long current;
+
+        private Reader(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                return false;
+            }
+            long delta = 0;
+            int shift = 0;
+            while (true) {
+                delta |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+                shift += 7;
+                b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Run file ends inside a value");
+                }
+            }
+            current += delta;
+            return true;
+        }
+
+        @Override
+        public long current() {
+            return current;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.dss.project.analytics;
+
+import com.dss.project.model.SkierRideBucket;
+import com.dss.project.model.SkiersTestData;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Season reports over every lift ride of a season, run from the command line without the web server:
+//
+//   java -jar target/project-0.0.1-SNAPSHOT-exec.jar --spring.main.web-application-type=none \
+//        --analytics.season=2022
+//
+// Rides come from SkiersTest and SkierRideBuckets through one cursor each and are sorted by
+// ExternalRideSorter, so heap use is about two chunks of analytics.chunk-rides longs whatever
+// the season size; spill files go to analytics.spill-dir. See SeasonReports for the output.
+@Component
+@ConditionalOnProperty(name = "analytics.season")
+public class SeasonReportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeasonReportRunner.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${analytics.season}")
+    private int season;
+
+    // 4M rides, 32 MB per chunk
+    @Value("${analytics.chunk-rides:4194304}")
+    private int chunkRides;
+
+    @Value("${analytics.merge-fan-in:64}")
+    private int mergeFanIn;
+
+    @Value("${analytics.spill-dir:${java.io.tmpdir}}")
+    private String spillDir;
+
+    // 0 means one thread per available processor
+    @Value("${analytics.parallelism:0}")
+    private int parallelism;
+
+    @Value("${analytics.bucket-minutes:30}")
+    private int bucketMinutes;
+
+    @Value("${analytics.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long startNanos = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try (ExternalRideSorter sorter = new ExternalRideSorter(Path.of(spillDir), chunkRides, mergeFanIn, pool)) {
+            long skipped = readEvents(sorter) + readBuckets(sorter);
+            log.info("Season {}: {} rides read into {} sorted runs, {} left out as out of range", season,
+                    sorter.getRides(), sorter.getRunFiles(), skipped);
+
+            SeasonReports reports = new SeasonReports(mongoTemplate.getCollection(SeasonReports.SKIER_REPORTS),
+                    mongoTemplate.getCollection(SeasonReports.LIFT_REPORTS), season, bucketMinutes, batchSize);
+            try (RideSource rides = sorter.sorted()) {
+                reports.run(rides);
+            }
+            log.info("Season {}: reports for {} skiers written to {} and {} in {} ms", season, reports.getSkiers(),
+                    SeasonReports.SKIER_REPORTS, SeasonReports.LIFT_REPORTS, (System.nanoTime() - startNanos) / 1_000_000);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long readEvents(ExternalRideSorter sorter) throws IOException {
+        long skipped = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(SkiersTestData.class))
+                .find(Filters.eq("seasonId", season))
+                .projection(Projections.fields(Projections.include("skierId", "dayId", "time", "resortID", "liftId"),
+                        Projections.excludeId()))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document event = cursor.next();
+                if (!add(sorter, event.getInteger("skierId"), event.getInteger("dayId"), event.getInteger("time"),
+                        event.getInteger("resortID"), event.getInteger("liftId"))) {
+                    skipped++;
+                }
+            }
+        }
+        return skipped;
+    }
+
+    private long readBuckets(ExternalRideSorter sorter) throws IOException {
+        long skipped = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(SkierRideBucket.class))
+                .find(Filters.eq("seasonId", season))
+                .projection(Projections.fields(Projections.include("skierId", "dayId", "resortID", "liftIds", "times"),
+                        Projections.excludeId()))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document bucket = cursor.next();
+                List<Integer> liftIds = bucket.getList("liftIds", Integer.class, List.of());
+                List<Integer> times = bucket.getList("times", Integer.class, List.of());
+                for (int i = 0; i < Math.min(liftIds.size(), times.size()); i++) {
+                    if (!add(sorter, bucket.getInteger("skierId"), bucket.getInteger("dayId"), times.get(i),
+                            bucket.getInteger("resortID"), liftIds.get(i))) {
+                        skipped++;
+                    }
+                }
+            }
+        }
+        return skipped;
+    }
+
+    private static boolean add(ExternalRideSorter sorter, Integer skierId, Integer dayId, Integer time, Integer resortID,
+                               Integer liftId) throws IOException {
+        if (skierId == null || dayId == null || time == null || resortID == null || liftId == null
+                || !PackedRide.fits(skierId, dayId, time, resortID, liftId)) {
+            return false;
+        }
+        sorter.add(PackedRide.pack(skierId, dayId, time, resortID, liftId));
+        return true;
+    }
+}
@@ -0,0 +1,182 @@
+package com.dss.project.analytics;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Season reports computed in one pass over rides sorted by (skierId, dayId, time):
+//  - SeasonSkierReports: rides and ski days per skier, and the minutes between consecutive rides
+//    on the same day (mean, min, max)
+//  - SeasonLiftReports: rides per resort lift in bucketMinutes slots of the day, summed over the
+//    season, i.e. the lift's utilization curve
+// Only the current skier and the lift curves are held in memory; skier reports are written in
+// batches as the pass moves on. Reports of an earlier run for the same season are replaced.
+final class SeasonReports {
+
+    static final String SKIER_REPORTS = "SeasonSkierReports";
+    static final String LIFT_REPORTS = "SeasonLiftReports";
+
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    private final MongoCollection<Document> skierReports;
+    private final MongoCollection<Document> liftReports;
+    private final int seasonId;
+    private final int bucketMinutes;
+    private final int batchSize;
+    private final long[][][] liftCurves;
+    private final List<WriteModel<Document>> batch = new ArrayList<>();
+
+    private int skierId = -1;
+    private int rides;
+    private int days;
+    private int lastDay;
+    private int lastTime;
+    private long gapSum;
+    private int gaps;
+    private int minGap;
+    private int maxGap;
+    private long skiers;
+
+    SeasonReports(MongoCollection<Document> skierReports, MongoCollection<Document> liftReports, int seasonId,
+                  int bucketMinutes, int batchSize) {
+        this.skierReports = skierReports;
+        this.liftReports = liftReports;
+        this.seasonId = seasonId;
+        this.bucketMinutes = bucketMinutes;
+        this.batchSize = batchSize;
+        this.liftCurves = new long[PackedRide.MAX_RESORT + 1][PackedRide.MAX_LIFT + 1][];
+    }
+
+    long getSkiers() {
+        return skiers;
+    }
+
+    void run(RideSource rides) throws IOException {
+        skierReports.createIndex(Indexes.ascending("seasonId", "skierId"), new IndexOptions().unique(true));
+        liftReports.createIndex(Indexes.ascending("seasonId", "resortID", "liftId"), new IndexOptions().unique(true));
+
+        while (rides.advance()) {
+            add(rides.current());
+        }
+        finishSkier();
+        flush();
+        writeLiftCurves();
+    }
+
+    private void add(long ride) {
+        int rideSkier = PackedRide.skierId(ride);
+        int day = PackedRide.dayId(ride);
+        int time = PackedRide.time(ride);
+
+        if (rideSkier != skierId) {
+            finishSkier();
+            skierId = rideSkier;
+            days = 1;
+        } else if (day != lastDay) {
+            days++;
+        } else {
+            int gap = time - lastTime;
+            gapSum += gap;
+            minGap = gaps == 0 ? gap : Math.min(minGap, gap);
+            maxGap = Math.max(maxGap, gap);
+            gaps++;
+        }
+        rides++;
+        lastDay = day;
+        lastTime = time;
+
+        long[] curve = liftCurves[PackedRide.resortID(ride)][PackedRide.liftId(ride)];
+        if (curve == null) {
+            curve = new long[PackedRide.MAX_TIME / bucketMinutes + 1];
+            liftCurves[PackedRide.resortID(ride)][PackedRide.liftId(ride)] = curve;
+        }
+        curve[time / bucketMinutes]++;
+    }
+
+    private void finishSkier() {
+        if (skierId < 0) {
+            return;
+        }
+        Document report = new Document("seasonId", seasonId)
+                .append("skierId", skierId)
+                .append("rides", rides)
+                .append("days", days)
+                .append("ridesPerDay", (double) rides / days);
+        if (gaps > 0) {
+            report.append("meanMinutesBetweenRides", (double) gapSum / gaps)
+                    .append("minMinutesBetweenRides", minGap)
+                    .append("maxMinutesBetweenRides", maxGap);
+        }
+        batch.add(new ReplaceOneModel<>(Filters.and(Filters.eq("seasonId", seasonId), Filters.eq("skierId", skierId)),
+                report, UPSERT));
+        if (batch.size() == batchSize) {
+            flush();
+        }
+
+        skiers++;
+        skierId = -1;
+        rides = 0;
+        days = 0;
+        gapSum = 0;
+        gaps = 0;
+        minGap = 0;
+        maxGap = 0;
+    }
+
+    private void flush() {
+        if (!batch.isEmpty()) {
+            skierReports.bulkWrite(batch, UNORDERED);
+            batch.clear();
+        }
+    }
+
+    private void writeLiftCurves() {
+        List<WriteModel<Document>> lifts = new ArrayList<>();
+        for (int resortID = 0; resortID < liftCurves.length; resortID++) {
+            for (int liftId = 0; liftId < liftCurves[resortID].length; liftId++) {
+                long[] curve = liftCurves[resortID][liftId];
+                if (curve == null) {
+                    continue;
+                }
+                // Trailing empty slots past the last ride of any day are left out
+                int slots = curve.length;
+                while (slots > 0 && curve[slots - 1] == 0) {
+                    slots--;
+                }
+                List<Long> ridesPerSlot = new ArrayList<>(slots);
+                long total = 0;
+                int peak = 0;
+                for (int slot = 0; slot < slots; slot++) {
+                    ridesPerSlot.add(curve[slot]);
+                    total += curve[slot];
+                    if (curve[slot] > curve[peak]) {
+                        peak = slot;
+                    }
+                }
+                Document report = new Document("seasonId", seasonId)
+                        .append("resortID", resortID)
+                        .append("liftId", liftId)
+                        .append("bucketMinutes", bucketMinutes)
+                        .append("rides", total)
+                        .append("peakSlotStart", peak * bucketMinutes)
+                        .append("ridesPerSlot", ridesPerSlot);
+                lifts.add(new ReplaceOneModel<>(Filters.and(Filters.eq("seasonId", seasonId),
+                        Filters.eq("resortID", resortID), Filters.eq("liftId", liftId)), report, UPSERT));
+            }
+        }
+        if (!lifts.isEmpty()) {
+            liftReports.bulkWrite(lifts, UNORDERED);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.dss.project.archive;
+
+import com.dss.project.model.SkierDay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Read side of a segment written by SegmentWriter. The file is memory-mapped once; lookups find
+// the candidate blocks from the footer index and inflate only those.
+final class ArchiveSegment {
+
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final Path file;
+    private final MappedByteBuffer data;
+    private final int resortID;
+    private final int seasonId;
+    private final long rows;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final int[] blockRows;
+    private final int[] firstSkierIds;
+    private final int[] lastSkierIds;
+
+    private ArchiveSegment(Path file, MappedByteBuffer data) throws IOException {
+        this.file = file;
+        this.data = data;
+        if (data.capacity() < TRAILER_BYTES || data.getInt(data.capacity() - Integer.BYTES) != SegmentWriter.MAGIC) {
+            throw new IOException(file + " is not an archive segment");
+        }
+        ByteBuffer footer = data.duplicate().position((int) data.getLong(data.capacity() - TRAILER_BYTES));
+        if (footer.getInt() != SegmentWriter.MAGIC || footer.getInt() != SegmentWriter.VERSION) {
+            throw new IOException(file + " has an unsupported footer");
+        }
+        resortID = footer.getInt();
+        seasonId = footer.getInt();
+        rows = footer.getLong();
+        int blocks = footer.getInt();
+        offsets = new long[blocks];
+        compressedLengths = new int[blocks];
+        rawLengths = new int[blocks];
+        blockRows = new int[blocks];
+        firstSkierIds = new int[blocks];
+        lastSkierIds = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            offsets[i] = footer.getLong();
+            compressedLengths[i] = footer.getInt();
+            rawLengths[i] = footer.getInt();
+            blockRows[i] = footer.getInt();
+            firstSkierIds[i] = footer.getInt();
+            lastSkierIds[i] = footer.getInt();
+        }
+    }
+
+    static ArchiveSegment open(Path file) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ArchiveSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    int getResortID() {
+        return resortID;
+    }
+
+    int getSeasonId() {
+        return seasonId;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    // All days of one skier, in dayId order
+    List<SkierDay> findSkier(int skierId) {
+        List<SkierDay> found = new ArrayList<>();
+        // First block whose last skierId is not below skierId; a skier can span several blocks
+        int low = 0;
+        int high = offsets.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastSkierIds[mid] < skierId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int block = low; block < offsets.length && firstSkierIds[block] <= skierId; block++) {
+            readBlock(block, skierId, found);
+        }
+        return found;
+    }
+
+    // Every row, in (skierId, dayId) order, inflating one block at a time
+    Iterator<SkierDay> rows() {
+        return new Iterator<>() {
+            private int block;
+            private List<SkierDay> current = List.of();
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                while (index == current.size() && block < offsets.length) {
+                    current = readBlock(block++);
+                    index = 0;
+                }
+                return index < current.size();
+            }
+
+            @Override
+            public SkierDay next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.get(index++);
+            }
+        };
+    }
+
+    private void readBlock(int block, int skierId, List<SkierDay> found) {
+        byte[] raw = inflate(block);
+        int count = blockRows[block];
+        int[] position = {0};
+        int from = -1;
+        int to = -1;
+        int skier = 0;
+        for (int i = 0; i < count; i++) {
+            skier += readVarint(raw, position);
+            if (skier == skierId) {
+                if (from < 0) {
+                    from = i;
+                }
+                to = i + 1;
+            }
+        }
+        if (from < 0) {
+            return;
+        }
+
+        int[][] columns = readColumns(raw, position, count);
+        for (int i = from; i < to; i++) {
+            found.add(row(skierId, columns, i));
+        }
+    }
+
+    private List<SkierDay> readBlock(int block) {
+        byte[] raw = inflate(block);
+        int count = blockRows[block];
+        int[] position = {0};
+        int[] skierIds = new int[count];
+        int skier = 0;
+        for (int i = 0; i < count; i++) {
+            skier += readVarint(raw, position);
+            skierIds[i] = skier;
+        }
+
+        int[][] columns = readColumns(raw, position, count);
+        List<SkierDay> found = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            found.add(row(skierIds[i], columns, i));
+        }
+        return found;
+    }
+
+    private byte[] inflate(int block) {
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.slice((int) offsets[block], compressedLengths[block]));
+            if (inflater.inflate(raw) != raw.length) {
+                throw new IllegalStateException("Truncated block " + block + " in " + file);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block " + block + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+        return raw;
+    }
+
+    // dayId, liftId, time and zigzag totalVert follow the skierIds, one column at a time
+    private static int[][] readColumns(byte[] raw, int[] position, int count) {
+        int[][] columns = new int[4][];
+        for (int column = 0; column < 4; column++) {
+            columns[column] = new int[count];
+            for (int i = 0; i < count; i++) {
+                columns[column][i] = readVarint(raw, position);
+            }
+        }
+        return columns;
+    }
+
+    private SkierDay row(int skierId, int[][] columns, int i) {
+        int zigzag = columns[3][i];
+        int totalVert = (zigzag >>> 1) ^ -(zigzag & 1);
+        return new SkierDay(null, resortID, seasonId, columns[0][i], skierId, columns[1][i], columns[2][i], totalVert);
+    }
+
+    private static int readVarint(byte[] raw, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = raw[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,130 @@
+package com.dss.project.archive;
+
+import com.dss.project.model.SkierDay;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// SkierDays of archived seasons, served from the segment files in skiers.archive.dir, one per
+// resort and season. SkierDays rows of an archived season, left behind by an interrupted run or
+// added since, are still read and win over the archived row of the same day until the next run
+// folds them into the segment.
+@Service
+public class SeasonArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(SeasonArchive.class);
+
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    @Value("${skiers.archive.dir:archive}")
+    private String dir = "archive";
+
+    // seasonId -> resortID -> segment
+    private final Map<Integer, Map<Integer, ArchiveSegment>> segments = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() throws IOException {
+        Path directory = getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(SEGMENT_SUFFIX)) {
+                    add(ArchiveSegment.open(file));
+                }
+            }
+        }
+        if (!segments.isEmpty()) {
+            log.info("Archived seasons {} loaded from {}", getArchivedSeasons(), directory);
+        }
+    }
+
+    public Set<Integer> getArchivedSeasons() {
+        return new TreeSet<>(segments.keySet());
+    }
+
+    public boolean hasSegment(int resortID, int seasonId) {
+        return segments.getOrDefault(seasonId, Map.of()).containsKey(resortID);
+    }
+
+    public Optional<SkierDay> findSkierDay(Integer resortID, Integer seasonId, Integer dayId, Integer skierId) {
+        ArchiveSegment segment = getSegment(resortID, seasonId);
+        if (segment == null) {
+            return Optional.empty();
+        }
+        for (SkierDay day : segment.findSkier(skierId)) {
+            if (day.getDayId().equals(dayId)) {
+                return Optional.of(day);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Adds the archived rows of one skier to a SkierDays result for that skier, except for days the
+    // result already has. resortIds and seasons narrow the archive lookup the way they narrowed the query.
+    public List<SkierDay> merge(List<SkierDay> live, Integer skierId, Collection<Integer> resortIds, Collection<String> seasons) {
+        if (segments.isEmpty()) {
+            return live;
+        }
+        List<SkierDay> merged = new ArrayList<>(live);
+        Set<ArchivedDay> liveDays = new HashSet<>();
+        for (SkierDay day : live) {
+            if (day.getResortID() != null && day.getSeasonId() != null && hasSegment(day.getResortID(), day.getSeasonId())) {
+                liveDays.add(new ArchivedDay(day.getResortID(), day.getSeasonId(), day.getDayId()));
+            }
+        }
+        for (Map.Entry<Integer, Map<Integer, ArchiveSegment>> season : segments.entrySet()) {
+            if (seasons != null && !seasons.isEmpty() && !seasons.contains(season.getKey().toString())) {
+                continue;
+            }
+            for (ArchiveSegment segment : season.getValue().values()) {
+                if (resortIds == null || resortIds.contains(segment.getResortID())) {
+                    for (SkierDay day : segment.findSkier(skierId)) {
+                        if (liveDays.isEmpty() || !liveDays.contains(new ArchivedDay(day.getResortID(), day.getSeasonId(), day.getDayId()))) {
+                            merged.add(day);
+                        }
+                    }
+                }
+            }
+        }
+        return merged;
+    }
+
+    Path getDirectory() {
+        return Paths.get(dir);
+    }
+
+    Path segmentFile(int resortID, int seasonId) {
+        return getDirectory().resolve("season-" + seasonId + "-resort-" + resortID + SEGMENT_SUFFIX);
+    }
+
+    ArchiveSegment getSegment(int resortID, int seasonId) {
+        return segments.getOrDefault(seasonId, Map.of()).get(resortID);
+    }
+
+    void add(ArchiveSegment segment) {
+        segments.computeIfAbsent(segment.getSeasonId(), season -> new ConcurrentHashMap<>())
+                .put(segment.getResortID(), segment);
+    }
+
+    private record ArchivedDay(int resortID, int seasonId, Integer dayId) {
+    }
+}
@@ -0,0 +1,214 @@
+package com.dss.project.archive;
+
+import com.dss.project.migration.ResortsListMigration;
+import com.dss.project.model.SkierDay;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Moves closed seasons out of SkierDays into segment files. All but the newest
+// skiers.archive.keep-seasons seasons are closed. Per resort and season the rows are written to a
+// segment, merged with the rows of the segment already there, the segment is read back and
+// registered with SeasonArchive, and only then are the rows written into it removed from MongoDB,
+// by _id. Runs every skiers.archive.interval once the ResortsList migration has finished, so rows
+// copied or left behind after a season was archived are folded in by the next run.
+@Component
+public class SeasonArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(SeasonArchiver.class);
+
+    private static final int DELETE_BATCH = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SeasonArchive seasonArchive;
+
+    @Autowired
+    private ResortsListMigration resortsListMigration;
+
+    @Value("${skiers.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${skiers.archive.keep-seasons:2}")
+    private int keepSeasons;
+
+    @Value("${skiers.archive.block-rows:1024}")
+    private int blockRows;
+
+    @Value("${skiers.archive.interval:1h}")
+    private Duration interval = Duration.ofHours(1);
+
+    private ScheduledExecutorService scheduler;
+    private boolean waitLogged;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "season-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::run, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void run() {
+        // Rows the migration copies into a season being archived would otherwise be missed
+        if (!resortsListMigration.isComplete()) {
+            if (!waitLogged) {
+                log.info("Season archiving waits for the ResortsList migration, checking every {}", interval);
+                waitLogged = true;
+            }
+            return;
+        }
+        try {
+            archive();
+        } catch (IOException | RuntimeException e) {
+            log.error("Season archiving failed, it will be retried in {}", interval, e);
+        }
+    }
+
+    public void archive() throws IOException {
+        TreeSet<Integer> seasons = new TreeSet<>(mongoTemplate.findDistinct(new Query(), "seasonId", SkierDay.class, Integer.class));
+        seasons.addAll(seasonArchive.getArchivedSeasons());
+        // Keep the newest seasons live, counting archived ones so nothing is archived twice over
+        for (int i = 0; i < keepSeasons && !seasons.isEmpty(); i++) {
+            seasons.pollLast();
+        }
+        if (seasons.isEmpty()) {
+            return;
+        }
+
+        Files.createDirectories(seasonArchive.getDirectory());
+        for (Integer seasonId : seasons) {
+            List<Integer> resorts = mongoTemplate.findDistinct(Query.query(Criteria.where("seasonId").is(seasonId)),
+                    "resortID", SkierDay.class, Integer.class);
+            for (Integer resortID : resorts) {
+                archive(resortID, seasonId);
+            }
+        }
+    }
+
+    private void archive(int resortID, int seasonId) throws IOException {
+        Criteria rows = Criteria.where("resortID").is(resortID).and("seasonId").is(seasonId);
+        ArchiveSegment archived = seasonArchive.getSegment(resortID, seasonId);
+        Path file = seasonArchive.segmentFile(resortID, seasonId);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        // _ids of the SkierDays rows written to the segment, 12 bytes each
+        Path ids = file.resolveSibling(file.getFileName() + ".ids");
+
+        long written;
+        long moved = 0;
+        Query query = Query.query(rows).with(Sort.by("skierId", "dayId")).allowDiskUse(true);
+        try (SegmentWriter writer = new SegmentWriter(temp, resortID, seasonId, blockRows);
+             DataOutputStream movedIds = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(ids)));
+             Stream<SkierDay> days = mongoTemplate.stream(query, SkierDay.class)) {
+            // Both are in (skierId, dayId) order; a SkierDays row replaces the archived row of its day
+            Iterator<SkierDay> archivedRows = archived != null ? archived.rows() : Collections.emptyIterator();
+            SkierDay next = archivedRows.hasNext() ? archivedRows.next() : null;
+            for (SkierDay day : (Iterable<SkierDay>) days::iterator) {
+                while (next != null && compare(next, day) <= 0) {
+                    if (compare(next, day) < 0) {
+                        append(writer, next);
+                    }
+                    next = archivedRows.hasNext() ? archivedRows.next() : null;
+                }
+                append(writer, day);
+                movedIds.write(day.getObjectId().toByteArray());
+                moved++;
+            }
+            while (next != null) {
+                append(writer, next);
+                next = archivedRows.hasNext() ? archivedRows.next() : null;
+            }
+            written = writer.getRows();
+        }
+        if (moved == 0) {
+            // Removed since the resorts were listed: the segment, if any, is already complete
+            Files.delete(temp);
+            Files.delete(ids);
+            return;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        ArchiveSegment segment = ArchiveSegment.open(file);
+        if (segment.getRows() != written) {
+            throw new IOException(file + " holds " + segment.getRows() + " rows, " + written + " were written");
+        }
+        seasonArchive.add(segment);
+
+        // Rows added after the stream above stay for the next run
+        long removed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(ids)))) {
+            List<ObjectId> batch = new ArrayList<>(DELETE_BATCH);
+            byte[] id = new byte[12];
+            for (long i = 0; i < moved; i++) {
+                in.readFully(id);
+                batch.add(new ObjectId(id));
+                if (batch.size() == DELETE_BATCH || i == moved - 1) {
+                    removed += mongoTemplate.remove(Query.query(Criteria.where("_id").in(batch)), SkierDay.class)
+                            .getDeletedCount();
+                    batch.clear();
+                }
+            }
+        }
+        Files.delete(ids);
+        log.info("Archived season {} of resort {} to {}: {} rows, {} SkierDays rows removed", seasonId, resortID,
+                file, written, removed);
+    }
+
+    private static int compare(SkierDay archived, SkierDay live) {
+        int bySkier = Integer.compare(archived.getSkierId(), live.getSkierId());
+        return bySkier != 0 ? bySkier : Integer.compare(archived.getDayId(), live.getDayId());
+    }
+
+    private static void append(SegmentWriter writer, SkierDay day) throws IOException {
+        writer.append(day.getSkierId(), day.getDayId(), valueOf(day.getLiftId()), valueOf(day.getTime()),
+                valueOf(day.getTotalVert()));
+    }
+
+    // Missing values are archived as 0
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
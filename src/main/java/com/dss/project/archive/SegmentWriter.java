@@ -0,0 +1,142 @@
+package com.dss.project.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+// Writes the SkierDays of one resort and season as an archive segment. Rows must be appended in
+// (skierId, dayId) order. They are cut into blocks of blockRows; each block stores its columns one
+// after the other (skierId as deltas, then dayId, liftId, time, totalVert, all varints) and is
+// deflated on its own, so a lookup only inflates the blocks that can hold the skier.
+//
+// File layout: blocks, footer, then the footer offset (long) and MAGIC. The footer holds MAGIC,
+// VERSION, resortID, seasonId, row count, block count and per block its offset, compressed and
+// raw length, row count and first and last skierId.
+final class SegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x534B4453;
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+    private final int resortID;
+    private final int seasonId;
+    private final int[][] columns;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final List<long[]> blocks = new ArrayList<>();
+    private byte[] raw = new byte[4096];
+    private byte[] compressed = new byte[4096];
+    private int rawLength;
+    private int blockRows;
+    private long offset;
+    private long rows;
+    private int lastSkierId = Integer.MIN_VALUE;
+    private int lastDayId = Integer.MIN_VALUE;
+
+    SegmentWriter(Path file, int resortID, int seasonId, int blockRows) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        this.resortID = resortID;
+        this.seasonId = seasonId;
+        this.columns = new int[5][blockRows];
+    }
+
+    void append(int skierId, int dayId, int liftId, int time, int totalVert) throws IOException {
+        if (skierId < lastSkierId || (skierId == lastSkierId && dayId <= lastDayId)) {
+            throw new IllegalArgumentException("Rows must be appended in (skierId, dayId) order");
+        }
+        lastSkierId = skierId;
+        lastDayId = dayId;
+        columns[0][blockRows] = skierId;
+        columns[1][blockRows] = dayId;
+        columns[2][blockRows] = liftId;
+        columns[3][blockRows] = time;
+        columns[4][blockRows] = totalVert;
+        rows++;
+        if (++blockRows == columns[0].length) {
+            flushBlock();
+        }
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            long footerOffset = offset;
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(resortID);
+            out.writeInt(seasonId);
+            out.writeLong(rows);
+            out.writeInt(blocks.size());
+            for (long[] block : blocks) {
+                out.writeLong(block[0]);
+                for (int i = 1; i < block.length; i++) {
+                    out.writeInt((int) block[i]);
+                }
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRows == 0) {
+            return;
+        }
+        rawLength = 0;
+        int previous = 0;
+        for (int i = 0; i < blockRows; i++) {
+            writeVarint(columns[0][i] - previous);
+            previous = columns[0][i];
+        }
+        for (int column = 1; column < 4; column++) {
+            for (int i = 0; i < blockRows; i++) {
+                writeVarint(columns[column][i]);
+            }
+        }
+        for (int i = 0; i < blockRows; i++) {
+            int vertical = columns[4][i];
+            writeVarint((vertical << 1) ^ (vertical >> 31));
+        }
+
+        deflater.reset();
+        deflater.setInput(raw, 0, rawLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        out.write(compressed, 0, compressedLength);
+
+        blocks.add(new long[]{offset, compressedLength, rawLength, blockRows, columns[0][0], columns[0][blockRows - 1]});
+        offset += compressedLength;
+        blockRows = 0;
+    }
+
+    private void writeVarint(int value) {
+        if (raw.length - rawLength < 5) {
+            raw = Arrays.copyOf(raw, raw.length * 2);
+        }
+        while ((value & ~0x7F) != 0) {
+            raw[rawLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        raw[rawLength++] = (byte) value;
+    }
+}
@@ -0,0 +1,92 @@
+package com.dss.project.bulk;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Number of leading data lines of an input file that are known to be stored. Written next to
+// the input as <file>.checkpoint and replaced atomically, so a crash leaves the last good value.
+// It also holds an id for the import, picked when it starts from line 0 and kept across resumes,
+// from which every line gets a fixed ObjectId: lines written again on resume are then rejected
+// as duplicate keys, while a new import of a file at the same path gets new ids.
+final class BulkCheckpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkCheckpoint.class);
+
+    private final Path path;
+    private final String source;
+    // ObjectId timestamp (4 bytes) and random (3 bytes); the line number makes up the last 5 bytes
+    private byte[] run;
+
+    BulkCheckpoint(Path file, BulkCollection collection) {
+        this.path = file.resolveSibling(file.getFileName() + ".checkpoint");
+        this.source = collection.getCollectionName() + ":" + file.toAbsolutePath().normalize();
+    }
+
+    long load() throws IOException {
+        if (!Files.exists(path)) {
+            run = newRun();
+            return 0;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        if (!source.equals(properties.getProperty("source"))) {
+            log.warn("Ignoring {}, it was written for {}", path, properties.getProperty("source"));
+            run = newRun();
+            return 0;
+        }
+        String storedRun = properties.getProperty("run");
+        run = storedRun != null ? HexFormat.of().parseHex(storedRun) : newRun();
+        return Long.parseLong(properties.getProperty("lines", "0"));
+    }
+
+    void save(long lines) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("source", source);
+        properties.setProperty("lines", Long.toString(lines));
+        properties.setProperty("run", HexFormat.of().formatHex(run));
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            properties.store(writer, null);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    // Same for the same line of every run of this import; only valid after load()
+    ObjectId id(long line) {
+        byte[] bytes = Arrays.copyOf(run, 12);
+        for (int i = 11; i >= run.length; i--) {
+            bytes[i] = (byte) line;
+            line >>>= 8;
+        }
+        return new ObjectId(bytes);
+    }
+
+    private static byte[] newRun() {
+        int seconds = (int) (System.currentTimeMillis() / 1000);
+        int random = ThreadLocalRandom.current().nextInt();
+        return new byte[]{(byte) (seconds >>> 24), (byte) (seconds >>> 16), (byte) (seconds >>> 8), (byte) seconds,
+                (byte) (random >>> 16), (byte) (random >>> 8), (byte) random};
+    }
+}
@@ -0,0 +1,140 @@
+package com.dss.project.bulk;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Collections the bulk tool can load and dump, with the fields used for CSV columns
+public enum BulkCollection {
+
+    SKIER_DAYS("SkierDays",
+            new Field("resortID", FieldType.INT), new Field("seasonId", FieldType.INT), new Field("dayId", FieldType.INT),
+            new Field("skierId", FieldType.INT), new Field("liftId", FieldType.INT), new Field("time", FieldType.INT),
+            new Field("totalVert", FieldType.INT)),
+    RESORT_DAYS("ResortDays",
+            new Field("resortID", FieldType.INT), new Field("seasonId", FieldType.INT), new Field("dayId", FieldType.INT),
+            new Field("numSkiers", FieldType.INT)),
+    RESORTS("Resorts",
+            new Field("resortID", FieldType.INT), new Field("resortName", FieldType.STRING),
+            new Field("seasons", FieldType.STRING_LIST)),
+    SKIERS_TEST("SkiersTest",
+            new Field("resortID", FieldType.INT), new Field("seasonId", FieldType.INT), new Field("skierId", FieldType.INT),
+            new Field("liftId", FieldType.INT), new Field("dayId", FieldType.INT), new Field("time", FieldType.INT));
+
+    private final String collectionName;
+    private final List<Field> fields;
+
+    BulkCollection(String collectionName, Field... fields) {
+        this.collectionName = collectionName;
+        this.fields = List.of(fields);
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    // Accepts the collection name (SkierDays) or the constant name (skier_days)
+    public static BulkCollection of(String name) {
+        for (BulkCollection collection : values()) {
+            if (collection.collectionName.equalsIgnoreCase(name) || collection.name().equalsIgnoreCase(name)) {
+                return collection;
+            }
+        }
+        throw new IllegalArgumentException("Unknown collection " + name + ", expected one of " + Arrays.toString(values()));
+    }
+
+    // Resolves a CSV header row to the fields of this collection
+    Field[] columns(String[] header) {
+        Field[] columns = new Field[header.length];
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i].trim();
+            columns[i] = fields.stream()
+                    .filter(field -> field.name().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown column " + name + " for " + collectionName));
+        }
+        return columns;
+    }
+
+    static Document toDocument(Field[] columns, String[] values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("expected " + columns.length + " columns, got " + values.length);
+        }
+        Document document = new Document();
+        for (int i = 0; i < columns.length; i++) {
+            // Empty cells leave the field out, the same as a null in the model
+            if (!values[i].isEmpty()) {
+                document.append(columns[i].name(), columns[i].type().parse(values[i]));
+            }
+        }
+        return document;
+    }
+
+    List<String> toCsvValues(Document document) {
+        List<String> values = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            Object value = document.get(field.name());
+            values.add(value == null ? "" : field.type().format(value));
+        }
+        return values;
+    }
+
+    List<String> fieldNames() {
+        return fields.stream().map(Field::name).toList();
+    }
+
+    @Override
+    public String toString() {
+        return collectionName;
+    }
+
+    public record Field(String name, FieldType type) {
+    }
+
+    public enum FieldType {
+        INT {
+            @Override
+            Object parse(String value) {
+                try {
+                    return Integer.valueOf(value.trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("not an integer: " + value);
+                }
+            }
+        },
+        STRING {
+            @Override
+            Object parse(String value) {
+                return value;
+            }
+        },
+        // Lists are written as a single CSV cell with ';' between the items
+        STRING_LIST {
+            @Override
+            Object parse(String value) {
+                return new ArrayList<>(Arrays.asList(value.split(";", -1)));
+            }
+
+            @Override
+            String format(Object value) {
+                List<String> items = new ArrayList<>();
+                for (Object item : (List<?>) value) {
+                    items.add(String.valueOf(item));
+                }
+                return String.join(";", items);
+            }
+        };
+
+        abstract Object parse(String value);
+
+        String format(Object value) {
+            return String.valueOf(value);
+        }
+    }
+}
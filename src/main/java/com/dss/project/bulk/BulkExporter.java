@@ -0,0 +1,77 @@
+package com.dss.project.bulk;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Writes a whole collection to a CSV or NDJSON file straight from one cursor, so memory use
+// does not depend on the collection size. _id is left out; the files load back with BulkImporter.
+final class BulkExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkExporter.class);
+
+    private static final JsonWriterSettings JSON = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private final MongoCollection<Document> collection;
+    private final BulkCollection target;
+    private final Path file;
+    private final BulkFormat format;
+    private final int batchSize;
+    private final Duration progressInterval;
+
+    BulkExporter(MongoCollection<Document> collection, BulkCollection target, Path file, BulkFormat format,
+                 int batchSize, Duration progressInterval) {
+        this.collection = collection;
+        this.target = target;
+        this.file = file;
+        this.format = format;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+    }
+
+    void run() throws IOException {
+        long startNanos = System.nanoTime();
+        long nextReport = startNanos + progressInterval.toNanos();
+        long exported = 0;
+
+        try (Writer out = BulkFiles.writer(file);
+             MongoCursor<Document> cursor = collection.find()
+                     .projection(Projections.excludeId())
+                     .batchSize(batchSize)
+                     .iterator()) {
+            if (format == BulkFormat.CSV) {
+                out.write(CsvCodec.join(target.fieldNames()));
+                out.write('\n');
+            }
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                out.write(format == BulkFormat.CSV ? CsvCodec.join(target.toCsvValues(document)) : document.toJson(JSON));
+                out.write('\n');
+                exported++;
+
+                // Checked every batch rather than on a timer: the cursor loop is the only thread
+                if (exported % batchSize == 0 && System.nanoTime() >= nextReport) {
+                    report(exported, startNanos);
+                    nextReport = System.nanoTime() + progressInterval.toNanos();
+                }
+            }
+        }
+        report(exported, startNanos);
+        log.info("Exported {} into {}", target, file);
+    }
+
+    private void report(long exported, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        log.info("{}: {} documents exported ({}/s)", target, exported, Math.round(exported / Math.max(seconds, 1e-3)));
+    }
+}
@@ -0,0 +1,27 @@
+package com.dss.project.bulk;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum BulkFormat {
+
+    // Header row with field names, then one document per line
+    CSV,
+    // One JSON document per line
+    NDJSON;
+
+    // Picks the format from the file name, ignoring a trailing .gz
+    public static BulkFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of " + file + ", set bulk.format to csv or ndjson");
+    }
+}
@@ -0,0 +1,236 @@
+package com.dss.project.bulk;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Streams a CSV or NDJSON file into a collection. One reader thread cuts the file into batches
+// of raw lines; worker threads parse them and store each batch with an unordered insertMany.
+// A semaphore caps the batches in flight, so the reader blocks instead of buffering the file
+// when the database falls behind. Batches complete out of order, so the checkpoint only moves
+// past a line once every batch up to it is stored, and it is saved each time it moves; on resume
+// at most the batches that were in flight are written again. With a checkpoint, documents
+// without an _id get one fixed per line (see BulkCheckpoint), so those lines come back as
+// counted duplicate keys instead of second copies, also in collections without a unique index.
+final class BulkImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImporter.class);
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int MAX_LOGGED_REJECTS = 10;
+
+    private final MongoCollection<Document> collection;
+    private final BulkCollection target;
+    private final Path file;
+    private final BulkFormat format;
+    private final int batchSize;
+    private final int workers;
+    private final int queueCapacity;
+    private final Duration progressInterval;
+    private final BulkCheckpoint checkpoint;
+
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    // Completed batches that are not yet contiguous with the checkpoint, by sequence number
+    private final Map<Long, Long> completed = new HashMap<>();
+    private long nextSequence;
+    private long storedLines;
+    private long savedLines = -1;
+    private long startNanos;
+
+    BulkImporter(MongoCollection<Document> collection, BulkCollection target, Path file, BulkFormat format,
+                 int batchSize, int workers, int queueCapacity, Duration progressInterval, BulkCheckpoint checkpoint) {
+        this.collection = collection;
+        this.target = target;
+        this.file = file;
+        this.format = format;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.progressInterval = progressInterval;
+        this.checkpoint = checkpoint;
+    }
+
+    void run() throws IOException, InterruptedException {
+        long skip = checkpoint != null ? checkpoint.load() : 0;
+        storedLines = skip;
+        if (skip > 0) {
+            log.info("Resuming {} after line {} from {}", file, skip, checkpoint.getPath());
+        }
+        if (checkpoint != null) {
+            // Written before any batch, so a crash before the first save still resumes this import's ids
+            checkpoint.save(skip);
+            savedLines = skip;
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers,
+                task -> new Thread(task, "bulk-import-" + threads.incrementAndGet()));
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "bulk-import-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(workers + queueCapacity);
+        startNanos = System.nanoTime();
+        reporter.scheduleAtFixedRate(this::report, progressInterval.toMillis(), progressInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        long line = 0;
+        try (BufferedReader reader = BulkFiles.reader(file)) {
+            BulkCollection.Field[] columns = null;
+            if (format == BulkFormat.CSV) {
+                String header = reader.readLine();
+                if (header == null) {
+                    throw new IllegalArgumentException(file + " is empty, expected a CSV header row");
+                }
+                columns = target.columns(CsvCodec.split(header));
+            }
+            while (line < skip && reader.readLine() != null) {
+                line++;
+            }
+
+            long sequence = 0;
+            List<String> lines = new ArrayList<>(batchSize);
+            String text;
+            while (failure.get() == null && (text = reader.readLine()) != null) {
+                line++;
+                lines.add(text);
+                if (lines.size() == batchSize) {
+                    submit(pool, inFlight, columns, sequence++, line - lines.size() + 1, lines);
+                    lines = new ArrayList<>(batchSize);
+                }
+            }
+            if (!lines.isEmpty() && failure.get() == null) {
+                submit(pool, inFlight, columns, sequence, line - lines.size() + 1, lines);
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            reporter.shutdown();
+            reporter.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        report();
+        RuntimeException error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("Import of " + file + " stopped, " + storedLines +
+                    " lines are stored; run it again to resume", error);
+        }
+        if (checkpoint != null) {
+            checkpoint.delete();
+        }
+        log.info("Imported {} lines of {} into {}", line, file, target);
+    }
+
+    private void submit(ExecutorService pool, Semaphore inFlight, BulkCollection.Field[] columns,
+                        long sequence, long firstLine, List<String> lines) throws InterruptedException {
+        inFlight.acquire();
+        pool.execute(() -> {
+            try {
+                store(columns, firstLine, lines);
+                completed(sequence, firstLine + lines.size() - 1);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void store(BulkCollection.Field[] columns, long firstLine, List<String> lines) {
+        List<Document> documents = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String text = lines.get(i);
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                Document document = columns != null
+                        ? BulkCollection.toDocument(columns, CsvCodec.split(text))
+                        : Document.parse(text);
+                if (checkpoint != null && !document.containsKey("_id")) {
+                    document.put("_id", checkpoint.id(firstLine + i));
+                }
+                documents.add(document);
+            } catch (RuntimeException e) {
+                // Malformed lines are skipped, not retried, so they do not hold back the checkpoint
+                rejected.increment();
+                if (rejected.sum() <= MAX_LOGGED_REJECTS) {
+                    log.warn("Skipping line {} of {}: {}", firstLine + i, file, e.getMessage());
+                }
+            }
+        }
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        try {
+            collection.insertMany(documents, UNORDERED);
+            inserted.add(documents.size());
+        } catch (MongoBulkWriteException e) {
+            int duplicateKeys = 0;
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicateKeys++;
+            }
+            duplicates.add(duplicateKeys);
+            inserted.add(e.getWriteResult().getInsertedCount());
+        }
+    }
+
+    private synchronized void completed(long sequence, long lastLine) {
+        completed.put(sequence, lastLine);
+        Long line;
+        while ((line = completed.remove(nextSequence)) != null) {
+            storedLines = line;
+            nextSequence++;
+        }
+        if (checkpoint != null && storedLines != savedLines) {
+            try {
+                checkpoint.save(storedLines);
+                savedLines = storedLines;
+            } catch (IOException e) {
+                // Tried again when the next batch completes
+                log.warn("Could not write {}", checkpoint.getPath(), e);
+            }
+        }
+    }
+
+    private void report() {
+        long lines;
+        synchronized (this) {
+            lines = storedLines;
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long documents = inserted.sum();
+        log.info("{}: {} documents inserted ({}/s), {} duplicates, {} rejected lines, {} lines stored",
+                target, documents, Math.round(documents / Math.max(seconds, 1e-3)), duplicates.sum(), rejected.sum(), lines);
+    }
+}
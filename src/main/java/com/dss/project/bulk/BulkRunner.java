@@ -0,0 +1,79 @@
+package com.dss.project.bulk;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+// Bulk load or dump of one collection, run from the command line without the web server:
+//
+//   java -jar target/project-0.0.1-SNAPSHOT-exec.jar --spring.main.web-application-type=none \
+//        --bulk.mode=import --bulk.collection=SkierDays --bulk.file=skier-days-2022.csv.gz
+//
+//   java -jar target/project-0.0.1-SNAPSHOT-exec.jar --spring.main.web-application-type=none \
+//        --bulk.mode=export --bulk.collection=SkiersTest --bulk.file=rides.ndjson.gz
+//
+// Collections: Resorts, ResortDays, SkierDays, SkiersTest. The format follows the file name
+// (.csv or .ndjson, optionally .gz) unless bulk.format is set. An import that stops part way
+// resumes from <file>.checkpoint when it is run again; the checkpoint is removed on success.
+@Component
+@ConditionalOnProperty(name = "bulk.mode")
+public class BulkRunner implements ApplicationRunner {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${bulk.mode}")
+    private String mode;
+
+    @Value("${bulk.collection}")
+    private String collection;
+
+    @Value("${bulk.file}")
+    private String file;
+
+    @Value("${bulk.format:}")
+    private String format;
+
+    @Value("${bulk.batch-size:1000}")
+    private int batchSize;
+
+    // 0 means one worker per available processor
+    @Value("${bulk.workers:0}")
+    private int workers;
+
+    // Batches waiting for a worker, 0 means two per worker
+    @Value("${bulk.queue-capacity:0}")
+    private int queueCapacity;
+
+    @Value("${bulk.progress-interval:5s}")
+    private Duration progressInterval;
+
+    @Value("${bulk.resume:true}")
+    private boolean resume;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        BulkCollection target = BulkCollection.of(collection);
+        Path path = Path.of(file);
+        BulkFormat fileFormat = format.isEmpty() ? BulkFormat.of(path) : BulkFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        int workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        int queued = queueCapacity > 0 ? queueCapacity : 2 * workerCount;
+
+        switch (mode.toLowerCase(Locale.ROOT)) {
+            case "import" -> new BulkImporter(mongoTemplate.getCollection(target.getCollectionName()), target, path,
+                    fileFormat, batchSize, workerCount, queued, progressInterval,
+                    resume ? new BulkCheckpoint(path, target) : null).run();
+            case "export" -> new BulkExporter(mongoTemplate.getCollection(target.getCollectionName()), target, path,
+                    fileFormat, batchSize, progressInterval).run();
+            default -> throw new IllegalArgumentException("bulk.mode must be import or export, not " + mode);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.dss.project.codec;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+
+// Builds the upsert that appends a LiftRideEvent to its SkierRideBuckets document.
+// Field names match the SkierRideBucket mapping; the key fields are copied into a new
+// bucket from the equality filter when the upsert inserts it.
+public final class LiftRideBucketBson {
+
+    private LiftRideBucketBson() {
+    }
+
+    public static BsonDocument toFilter(LiftRideEvent event) {
+        return new BsonDocument("skierId", new BsonInt32(event.getSkierId()))
+                .append("resortID", new BsonInt32(event.getResortId()))
+                .append("seasonId", new BsonInt32(event.getSeasonId()))
+                .append("dayId", new BsonInt32(event.getDayId()));
+    }
+
+    public static BsonDocument toUpdate(LiftRideEvent event) {
+        BsonInt32 time = new BsonInt32(event.getTime());
+        return new BsonDocument("$push", new BsonDocument("liftIds", new BsonInt32(event.getLiftId()))
+                .append("times", time))
+                .append("$inc", new BsonDocument("rideCount", new BsonInt32(1)))
+                .append("$min", new BsonDocument("firstTime", time))
+                .append("$max", new BsonDocument("lastTime", time));
+    }
+}
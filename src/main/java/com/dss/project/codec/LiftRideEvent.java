@@ -0,0 +1,87 @@
+package com.dss.project.codec;
+
+// Primitive holder for a POST /skiers/liftRideEvent body, filled by LiftRideEventHttpMessageConverter.
+// Instances are reused per request thread: use it within the handler method and do not keep a
+// reference once the request completes.
+public class LiftRideEvent {
+
+    private int skierId;
+    private int resortId;
+    private int liftId;
+    private int seasonId;
+    private int dayId;
+    private int time;
+    private boolean valid;
+
+    public LiftRideEvent() {
+    }
+
+    public LiftRideEvent(int skierId, int resortId, int liftId, int seasonId, int dayId, int time) {
+        set(skierId, resortId, liftId, seasonId, dayId, time);
+    }
+
+    public void set(int skierId, int resortId, int liftId, int seasonId, int dayId, int time) {
+        this.skierId = skierId;
+        this.resortId = resortId;
+        this.liftId = liftId;
+        this.seasonId = seasonId;
+        this.dayId = dayId;
+        this.time = time;
+        this.valid = isInRange();
+    }
+
+    // Same ranges createLiftRideEvent has always accepted
+    private boolean isInRange() {
+        return skierId >= 1 && skierId <= 100000 &&
+                resortId >= 1 && resortId <= 10 &&
+                liftId >= 1 && liftId <= 40 &&
+                seasonId == 2022 &&
+                dayId == 1 &&
+                time >= 1 && time <= 360;
+    }
+
+    void invalidate() {
+        this.valid = false;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int getSkierId() {
+        return skierId;
+    }
+
+    public int getResortId() {
+        return resortId;
+    }
+
+    public int getLiftId() {
+        return liftId;
+    }
+
+    public int getSeasonId() {
+        return seasonId;
+    }
+
+    public int getDayId() {
+        return dayId;
+    }
+
+    public int getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return "LiftRideEvent{" +
+                "skierId=" + skierId +
+                ", resortId=" + resortId +
+                ", liftId=" + liftId +
+                ", seasonId=" + seasonId +
+                ", dayId=" + dayId +
+                ", time=" + time +
+                ", valid=" + valid +
+                '}';
+    }
+}
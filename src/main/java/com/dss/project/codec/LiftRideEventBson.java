@@ -0,0 +1,62 @@
+package com.dss.project.codec;
+
+import org.bson.RawBsonDocument;
+
+import java.nio.charset.StandardCharsets;
+
+// Encodes a LiftRideEvent as the SkiersTest insert document, writing BSON bytes directly.
+// Field names match the SkiersTestData mapping. There is no _id: the server assigns one.
+public final class LiftRideEventBson {
+
+    private static final byte INT32 = 0x10;
+
+    private static final byte[] RESORT_ID = cstring("resortID");
+    private static final byte[] SEASON_ID = cstring("seasonId");
+    private static final byte[] SKIER_ID = cstring("skierId");
+    private static final byte[] LIFT_ID = cstring("liftId");
+    private static final byte[] DAY_ID = cstring("dayId");
+    private static final byte[] TIME = cstring("time");
+
+    // int32 length + six (type, name, int32) elements + terminating 0x00
+    private static final int DOCUMENT_SIZE = 4 + 6 * (1 + 4)
+            + RESORT_ID.length + SEASON_ID.length + SKIER_ID.length + LIFT_ID.length + DAY_ID.length + TIME.length
+            + 1;
+
+    private LiftRideEventBson() {
+    }
+
+    public static RawBsonDocument toDocument(LiftRideEvent event) {
+        byte[] bytes = new byte[DOCUMENT_SIZE];
+        int pos = putInt(bytes, 0, DOCUMENT_SIZE);
+        pos = putInt32Element(bytes, pos, RESORT_ID, event.getResortId());
+        pos = putInt32Element(bytes, pos, SEASON_ID, event.getSeasonId());
+        pos = putInt32Element(bytes, pos, SKIER_ID, event.getSkierId());
+        pos = putInt32Element(bytes, pos, LIFT_ID, event.getLiftId());
+        pos = putInt32Element(bytes, pos, DAY_ID, event.getDayId());
+        pos = putInt32Element(bytes, pos, TIME, event.getTime());
+        bytes[pos] = 0;
+        return new RawBsonDocument(bytes);
+    }
+
+    private static int putInt32Element(byte[] bytes, int pos, byte[] name, int value) {
+        bytes[pos++] = INT32;
+        System.arraycopy(name, 0, bytes, pos, name.length);
+        return putInt(bytes, pos + name.length, value);
+    }
+
+    // BSON integers are little-endian
+    private static int putInt(byte[] bytes, int pos, int value) {
+        bytes[pos] = (byte) value;
+        bytes[pos + 1] = (byte) (value >>> 8);
+        bytes[pos + 2] = (byte) (value >>> 16);
+        bytes[pos + 3] = (byte) (value >>> 24);
+        return pos + 4;
+    }
+
+    private static byte[] cstring(String name) {
+        byte[] ascii = name.getBytes(StandardCharsets.US_ASCII);
+        byte[] result = new byte[ascii.length + 1];
+        System.arraycopy(ascii, 0, result, 0, ascii.length);
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package com.dss.project.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Reads POST /skiers/liftRideEvent bodies into a per-thread LiftRideEvent, instead of binding a
+// LiftRideEventDTO through Jackson. The body buffer, parser and holder are reused per thread,
+// so steady-state ingest allocates nothing here.
+@Component
+public class LiftRideEventHttpMessageConverter extends AbstractHttpMessageConverter<LiftRideEvent> {
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final int MAX_BODY_SIZE = 8 * 1024;
+
+    private static final class PerThread {
+        byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        final LiftRideEventParser parser = new LiftRideEventParser();
+        final LiftRideEvent event = new LiftRideEvent();
+    }
+
+    private static final ThreadLocal<PerThread> PER_THREAD = ThreadLocal.withInitial(PerThread::new);
+
+    public LiftRideEventHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return LiftRideEvent.class == clazz;
+    }
+
+    @Override
+    protected LiftRideEvent readInternal(Class<? extends LiftRideEvent> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        PerThread state = PER_THREAD.get();
+        int length = readBody(state, inputMessage);
+        try {
+            return state.parser.parse(state.buffer, length, state.event);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    private static int readBody(PerThread state, HttpInputMessage inputMessage) throws IOException {
+        InputStream body = inputMessage.getBody();
+        byte[] buffer = state.buffer;
+        int length = 0;
+        while (true) {
+            if (length == buffer.length) {
+                if (buffer.length >= MAX_BODY_SIZE) {
+                    throw new HttpMessageNotReadableException("Lift ride event body exceeds " + MAX_BODY_SIZE + " bytes", inputMessage);
+                }
+                buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, MAX_BODY_SIZE));
+                state.buffer = buffer;
+            }
+            int read = body.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                return length;
+            }
+            length += read;
+        }
+    }
+
+    // The same JSON object the parser reads; nothing returns LiftRideEvent today, but a handler that
+    // echoes one back gets its fields rather than an error
+    @Override
+    protected void writeInternal(LiftRideEvent event, HttpOutputMessage outputMessage) throws IOException {
+        String json = "{\"skierId\":" + event.getSkierId() +
+                ",\"resortId\":" + event.getResortId() +
+                ",\"liftId\":" + event.getLiftId() +
+                ",\"seasonId\":" + event.getSeasonId() +
+                ",\"dayId\":" + event.getDayId() +
+                ",\"time\":" + event.getTime() + "}";
+        outputMessage.getBody().write(json.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,268 @@
+package com.dss.project.codec;
+
+import java.nio.charset.StandardCharsets;
+
+// Hand-rolled JSON reader for the lift ride event body. It reads the six known fields straight
+// from the request bytes into a LiftRideEvent, skips unknown fields, and validates as it goes.
+// Malformed JSON raises IllegalArgumentException. Well-formed JSON with missing, null, non-integer
+// or out-of-range fields produces an event with isValid() == false.
+//
+// Not thread-safe: one parser per thread.
+public class LiftRideEventParser {
+
+    private static final byte[][] FIELDS = {
+            ascii("skierId"), ascii("resortId"), ascii("liftId"), ascii("seasonId"), ascii("dayId"), ascii("time")
+    };
+    private static final int SKIER_ID = 0;
+    private static final int RESORT_ID = 1;
+    private static final int LIFT_ID = 2;
+    private static final int SEASON_ID = 3;
+    private static final int DAY_ID = 4;
+    private static final int TIME = 5;
+    private static final int ALL_FIELDS = (1 << FIELDS.length) - 1;
+
+    // Returned by readInt for null, fractions, strings that are not integers, etc.
+    private static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    private byte[] buf;
+    private int pos;
+    private int end;
+
+    public LiftRideEvent parse(byte[] json, int length, LiftRideEvent target) {
+        this.buf = json;
+        this.pos = 0;
+        this.end = length;
+
+        int skierId = 0, resortId = 0, liftId = 0, seasonId = 0, dayId = 0, time = 0;
+        int seen = 0;
+
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+        } else {
+            while (true) {
+                expect('"');
+                int keyStart = pos;
+                int keyEnd = skipStringBody();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+
+                int field = fieldIndex(keyStart, keyEnd);
+                if (field < 0) {
+                    skipValue();
+                } else {
+                    long value = readInt();
+                    if (value == NOT_AN_INT) {
+                        seen &= ~(1 << field);
+                    } else {
+                        seen |= 1 << field;
+                        int v = (int) value;
+                        switch (field) {
+                            case SKIER_ID -> skierId = v;
+                            case RESORT_ID -> resortId = v;
+                            case LIFT_ID -> liftId = v;
+                            case SEASON_ID -> seasonId = v;
+                            case DAY_ID -> dayId = v;
+                            default -> time = v;
+                        }
+                    }
+                }
+
+                skipWhitespace();
+                byte c = next();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw malformed("expected ',' or '}'");
+                }
+                skipWhitespace();
+            }
+        }
+        skipWhitespace();
+        if (pos != end) {
+            throw malformed("unexpected content after the JSON object");
+        }
+
+        target.set(skierId, resortId, liftId, seasonId, dayId, time);
+        if (seen != ALL_FIELDS) {
+            target.invalidate();
+        }
+        this.buf = null;
+        return target;
+    }
+
+    private int fieldIndex(int keyStart, int keyEnd) {
+        int length = keyEnd - keyStart;
+        for (int i = 0; i < FIELDS.length; i++) {
+            byte[] name = FIELDS[i];
+            if (name.length != length) {
+                continue;
+            }
+            int j = 0;
+            while (j < length && buf[keyStart + j] == name[j]) {
+                j++;
+            }
+            if (j == length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Reads an integer value (Jackson also accepts integers written as strings).
+    // Anything else that is well-formed JSON is consumed and reported as NOT_AN_INT.
+    private long readInt() {
+        byte c = peek();
+        if (c == '"') {
+            pos++;
+            int start = pos;
+            return parseDigits(start, skipStringBody());
+        }
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            int start = pos;
+            if (c == '-') {
+                pos++;
+            }
+            while (pos < end && buf[pos] >= '0' && buf[pos] <= '9') {
+                pos++;
+            }
+            int digitsEnd = pos;
+            if (pos < end && (buf[pos] == '.' || buf[pos] == 'e' || buf[pos] == 'E')) {
+                skipNumberTail();
+                return NOT_AN_INT;
+            }
+            return parseDigits(start, digitsEnd);
+        }
+        skipValue();
+        return NOT_AN_INT;
+    }
+
+    private long parseDigits(int start, int stop) {
+        boolean negative = start < stop && buf[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (i == stop || stop - i > 10) {
+            return NOT_AN_INT;
+        }
+        long value = 0;
+        for (; i < stop; i++) {
+            int d = buf[i] - '0';
+            if (d < 0 || d > 9) {
+                return NOT_AN_INT;
+            }
+            value = value * 10 + d;
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NOT_AN_INT : value;
+    }
+
+    private void skipValue() {
+        byte c = peek();
+        switch (c) {
+            case '"' -> {
+                pos++;
+                skipStringBody();
+            }
+            case '{', '[' -> skipContainer();
+            case 't' -> expectLiteral("true");
+            case 'f' -> expectLiteral("false");
+            case 'n' -> expectLiteral("null");
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos++;
+                    skipNumberTail();
+                } else {
+                    throw malformed("unexpected character");
+                }
+            }
+        }
+    }
+
+    private void skipContainer() {
+        int depth = 0;
+        do {
+            byte c = next();
+            if (c == '"') {
+                skipStringBody();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private void skipNumberTail() {
+        while (pos < end) {
+            byte c = buf[pos];
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Called just after an opening quote. Returns the index of the closing quote and moves past it.
+    private int skipStringBody() {
+        while (pos < end) {
+            byte c = buf[pos++];
+            if (c == '"') {
+                return pos - 1;
+            }
+            if (c == '\\') {
+                pos++;
+            }
+        }
+        throw malformed("unterminated string");
+    }
+
+    private void expectLiteral(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (next() != literal.charAt(i)) {
+                throw malformed("invalid literal");
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < end) {
+            byte c = buf[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw malformed("expected '" + expected + "'");
+        }
+    }
+
+    private byte peek() {
+        if (pos >= end) {
+            throw malformed("unexpected end of input");
+        }
+        return buf[pos];
+    }
+
+    private byte next() {
+        if (pos >= end) {
+            throw malformed("unexpected end of input");
+        }
+        return buf[pos++];
+    }
+
+    private IllegalArgumentException malformed(String reason) {
+        return new IllegalArgumentException("Malformed lift ride event JSON at offset " + pos + ": " + reason);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
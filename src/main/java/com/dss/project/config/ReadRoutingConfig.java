@@ -0,0 +1,38 @@
+package com.dss.project.config;
+
+import com.dss.project.deadline.QueryDeadlines;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ReadRoutingConfig {
+
+    // Takes the place of Boot's mongoTemplate, which backs every repository
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter,
+                                       QueryDeadlines queryDeadlines) {
+        RoutingMongoTemplate mongoTemplate = new RoutingMongoTemplate(mongoDatabaseFactory, mongoConverter);
+        mongoTemplate.setQueryDeadlines(queryDeadlines);
+        return mongoTemplate;
+    }
+
+    // maxTimeMS only bounds time spent on the server; the driver timeouts bound a stalled socket
+    // or an unreachable primary, which no deadline could otherwise interrupt
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTimeouts(QueryDeadlines queryDeadlines,
+            @Value("${skiers.mongo.socket-read-timeout:30s}") Duration socketReadTimeout,
+            @Value("${skiers.mongo.server-selection-timeout:5s}") Duration serverSelectionTimeout) {
+        return settings -> settings
+                .addCommandListener(queryDeadlines)
+                .applyToSocketSettings(socket -> socket.readTimeout((int) socketReadTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,53 @@
+package com.dss.project.config;
+
+import com.dss.project.deadline.QueryDeadlines;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.function.Supplier;
+
+// MongoTemplate whose reads follow a read preference bound to the current thread, so repository
+// methods can be sent to secondaries per call without a second set of repositories.
+// Writes always go to the primary whatever the read preference says. With QueryDeadlines set, calls
+// also carry the time left before the current request's deadline.
+public class RoutingMongoTemplate extends MongoTemplate {
+
+    private static final ThreadLocal<ReadPreference> READ_PREFERENCE = new ThreadLocal<>();
+
+    private QueryDeadlines queryDeadlines;
+
+    public RoutingMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+    }
+
+    public static <T> T withReadPreference(ReadPreference readPreference, Supplier<T> operation) {
+        ReadPreference previous = READ_PREFERENCE.get();
+        READ_PREFERENCE.set(readPreference);
+        try {
+            return operation.get();
+        } finally {
+            if (previous == null) {
+                READ_PREFERENCE.remove();
+            } else {
+                READ_PREFERENCE.set(previous);
+            }
+        }
+    }
+
+    public void setQueryDeadlines(QueryDeadlines queryDeadlines) {
+        this.queryDeadlines = queryDeadlines;
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        ReadPreference readPreference = READ_PREFERENCE.get();
+        MongoCollection<Document> prepared = readPreference != null
+                ? collection.withReadPreference(readPreference)
+                : super.prepareCollection(collection);
+        return queryDeadlines != null ? queryDeadlines.apply(prepared) : prepared;
+    }
+}
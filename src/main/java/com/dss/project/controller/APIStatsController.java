@@ -1,20 +1,31 @@
 package com.dss.project.controller;
 
+import com.dss.project.deadline.QueryDeadlines;
 import com.dss.project.dto.APIStatsDTO;
+import com.dss.project.dto.BulkheadStatsDTO;
+import com.dss.project.dto.DeadlineStatsDTO;
+import com.dss.project.dto.HotKeyDTO;
+import com.dss.project.hotkeys.HotKey;
+import com.dss.project.hotkeys.HotKeyCache;
 import com.dss.project.model.APIStats;
 import com.dss.project.repository.APIStatsRepository;
+import com.dss.project.service.Bulkhead;
+import com.dss.project.service.Bulkheads;
+import com.dss.project.service.ReadRouter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/statistics")
@@ -24,12 +35,29 @@ public class APIStatsController {
     @Autowired
     private APIStatsRepository apiStatsRepository;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private ReadRouter readRouter;
+
+    @Autowired
+    private QueryDeadlines queryDeadlines;
+
+    @Autowired
+    private HotKeyCache hotKeyCache;
+
     @GetMapping
     @Operation(summary = "Get API performance statistics")
-    public ResponseEntity<Map<String, List<APIStatsDTO>>> getApiStatistics() {
+    public CompletableFuture<ResponseEntity<Map<String, List<APIStatsDTO>>>> getApiStatistics() {
+        return bulkheads.admin().submit(this::apiStatistics);
+    }
+
+    private ResponseEntity<Map<String, List<APIStatsDTO>>> apiStatistics() {
 
         // Retrieve API performance statistics for the /resorts endpoint
-        APIStats apiStats = apiStatsRepository.findByURLAndOperation("/resorts", "GET");
+        APIStats apiStats = readRouter.read("getApiStatistics",
+                () -> apiStatsRepository.findByURLAndOperation("/resorts", "GET"));
 
         // Create response
         Map<String, List<APIStatsDTO>> response = new HashMap<>();
@@ -51,5 +79,44 @@ public class APIStatsController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/bulkheads")
+    @Operation(summary = "Get utilization, queue depth, rejections and timeouts of the request bulkheads")
+    public ResponseEntity<List<BulkheadStatsDTO>> getBulkheadStatistics() {
+        // Served on the request thread so it still answers when every bulkhead is saturated
+        List<BulkheadStatsDTO> stats = new ArrayList<>();
+        for (Bulkhead bulkhead : bulkheads.all()) {
+            stats.add(new BulkheadStatsDTO(bulkhead.getName(), bulkhead.getThreads(), bulkhead.getQueueCapacity(),
+                    bulkhead.getTimeout().toMillis(), bulkhead.getActive(), bulkhead.getQueued(),
+                    bulkhead.getUtilization(), bulkhead.getRejected(), bulkhead.getTimeouts()));
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/deadlines")
+    @Operation(summary = "Get requests that ran out of time, and the MongoDB calls they timed out or cancelled")
+    public ResponseEntity<DeadlineStatsDTO> getDeadlineStatistics() {
+        long requestTimeouts = 0;
+        long droppedFromQueue = 0;
+        for (Bulkhead bulkhead : bulkheads.all()) {
+            requestTimeouts += bulkhead.getTimeouts();
+            droppedFromQueue += bulkhead.getExpired();
+        }
+        return ResponseEntity.ok(new DeadlineStatsDTO(requestTimeouts, droppedFromQueue,
+                queryDeadlines.getTimedOut(), queryDeadlines.getCancelled()));
+    }
+
+    @GetMapping("/hot-keys")
+    @Operation(summary = "Get the most read resorts, resort-days, skier-days and skiers, and whether they are pinned in memory")
+    public ResponseEntity<List<HotKeyDTO>> getHotKeys(@RequestParam(defaultValue = "20") int limit) {
+        // Estimates from a decaying count-min sketch: recent reads weigh most and counts may run high
+        List<HotKeyDTO> hotKeys = new ArrayList<>();
+        for (Map.Entry<HotKey, Long> entry : hotKeyCache.getTop(limit)) {
+            HotKey key = entry.getKey();
+            hotKeys.add(new HotKeyDTO(key.toString(), key.kind().name().toLowerCase(), entry.getValue(),
+                    hotKeyCache.isPinned(key)));
+        }
+        return ResponseEntity.ok(hotKeys);
+    }
+
 
 }
@@ -0,0 +1,32 @@
+package com.dss.project.controller;
+
+import com.dss.project.deadline.DeadlineExceededException;
+import com.dss.project.dto.ResponseMessageDTO;
+import com.dss.project.service.BulkheadFullException;
+import com.mongodb.MongoExecutionTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.TimeoutException;
+
+@RestControllerAdvice
+public class BulkheadExceptionHandler {
+
+    // Shed load fast instead of queueing without bound
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ResponseMessageDTO> bulkheadFull(BulkheadFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ResponseMessageDTO("Server busy (" + e.getBulkhead() + "), retry later"));
+    }
+
+    // Also matched when wrapped, e.g. in Spring's DataAccessException
+    @ExceptionHandler({TimeoutException.class, DeadlineExceededException.class, MongoExecutionTimeoutException.class})
+    public ResponseEntity<ResponseMessageDTO> timeout(Exception e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(new ResponseMessageDTO("Request timed out"));
+    }
+}
@@ -0,0 +1,198 @@
+package com.dss.project.controller;
+
+import com.dss.project.dto.PauseStatsDTO;
+import com.dss.project.dto.RecordingDTO;
+import com.dss.project.dto.ResponseMessageDTO;
+import com.dss.project.dto.RuntimeStatsDTO;
+import com.dss.project.service.FlightRecordings;
+import com.dss.project.service.RuntimeMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Everything here is served on the request thread, like /statistics/bulkheads, so it still
+// answers when the bulkheads are saturated, which is when a recording is most useful
+@RestController
+@RequestMapping("/statistics")
+@Tag(name = "Statistics")
+public class ProfilingController {
+
+    @Autowired
+    private FlightRecordings flightRecordings;
+
+    @Autowired
+    private RuntimeMetrics runtimeMetrics;
+
+    // Recordings hold stack traces and can be large, so they are off unless asked for
+    @Value("${skiers.profiling.enabled:false}")
+    private boolean profilingEnabled;
+
+    @PostMapping("/recordings")
+    @Operation(summary = "Start a time-boxed JFR recording with the cpu, allocation or locks profile")
+    public ResponseEntity<?> startRecording(@RequestParam String profile,
+                                            @RequestParam(defaultValue = "60s") String duration) {
+        if (!profilingEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        FlightRecordings.Profile recordingProfile;
+        Duration recordingDuration;
+        try {
+            recordingProfile = FlightRecordings.Profile.parse(profile);
+            // A bare number is seconds, like the 60s default
+            recordingDuration = DurationStyle.detectAndParse(duration, ChronoUnit.SECONDS);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ResponseMessageDTO(e.getMessage()));
+        }
+
+        try {
+            FlightRecordings.Entry entry = flightRecordings.start(recordingProfile, recordingDuration);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toDTO(entry));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ResponseMessageDTO(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ResponseMessageDTO(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/recordings")
+    @Operation(summary = "List the kept JFR recordings")
+    public ResponseEntity<List<RecordingDTO>> getRecordings() {
+        if (!profilingEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        List<RecordingDTO> recordings = new ArrayList<>();
+        for (FlightRecordings.Entry entry : flightRecordings.list()) {
+            recordings.add(toDTO(entry));
+        }
+        return ResponseEntity.ok(recordings);
+    }
+
+    @GetMapping("/recordings/{id}")
+    @Operation(summary = "Get the state of a JFR recording")
+    public ResponseEntity<RecordingDTO> getRecording(@PathVariable long id) {
+        if (!profilingEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        return flightRecordings.get(id)
+                .map(entry -> ResponseEntity.ok(toDTO(entry)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/recordings/{id}/file")
+    @Operation(summary = "Download a finished JFR recording")
+    public ResponseEntity<?> getRecordingFile(@PathVariable long id) {
+        if (!profilingEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<FlightRecordings.Entry> recording = flightRecordings.get(id);
+        if (recording.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        FlightRecordings.Entry entry = recording.get();
+        if (entry.isRunning()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ResponseMessageDTO("Recording " + id + " is still running"));
+        }
+        if (!Files.exists(entry.getFile())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(entry.getFile().getFileName().toString()).build().toString())
+                .body(new FileSystemResource(entry.getFile()));
+    }
+
+    @DeleteMapping("/recordings/{id}")
+    @Operation(summary = "Stop a JFR recording before its duration is up")
+    public ResponseEntity<RecordingDTO> stopRecording(@PathVariable long id) {
+        if (!profilingEnabled) {
+            return ResponseEntity.notFound().build();
+        }
+        return flightRecordings.stop(id)
+                .map(entry -> ResponseEntity.ok(toDTO(entry)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/runtime")
+    @Operation(summary = "Get GC pauses, allocation rate, safepoints, heap and thread states of the JVM")
+    public ResponseEntity<RuntimeStatsDTO> getRuntimeStatistics() {
+        RuntimeStatsDTO stats = new RuntimeStatsDTO();
+        stats.setUptimeMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        stats.setHeapUsedBytes(heap.getUsed());
+        stats.setHeapCommittedBytes(heap.getCommitted());
+        stats.setHeapMaxBytes(heap.getMax());
+
+        stats.setJfrStreaming(runtimeMetrics.isStreaming());
+        stats.setAllocationRateBytesPerSecond(runtimeMetrics.getAllocationRate());
+        List<PauseStatsDTO> gcPauses = new ArrayList<>();
+        for (Map.Entry<String, Timer> collector : runtimeMetrics.getGcPauses().entrySet()) {
+            gcPauses.add(toDTO(collector.getKey(), collector.getValue()));
+        }
+        stats.setGcPauses(gcPauses);
+        stats.setSafepoints(toDTO("safepoint", runtimeMetrics.getSafepoints()));
+
+        // Without stack traces or lock details this is a cheap snapshot of every thread
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<String, Integer> threadStates = new TreeMap<>();
+        for (ThreadInfo thread : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+            if (thread != null) {
+                threadStates.merge(thread.getThreadState().name(), 1, Integer::sum);
+            }
+        }
+        stats.setThreadStates(threadStates);
+
+        return ResponseEntity.ok(stats);
+    }
+
+    private static RecordingDTO toDTO(FlightRecordings.Entry entry) {
+        Long fileBytes = null;
+        if (!entry.isRunning()) {
+            try {
+                fileBytes = Files.size(entry.getFile());
+            } catch (IOException e) {
+                // Not written yet, or removed
+            }
+        }
+        return new RecordingDTO(entry.getId(), entry.getName(), entry.getProfile().name().toLowerCase(),
+                entry.getState().name(), fileBytes);
+    }
+
+    private static PauseStatsDTO toDTO(String name, Timer timer) {
+        return new PauseStatsDTO(name, timer.count(), timer.totalTime(TimeUnit.MILLISECONDS),
+                timer.max(TimeUnit.MILLISECONDS));
+    }
+}
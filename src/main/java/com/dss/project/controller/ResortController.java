@@ -1,20 +1,31 @@
 package com.dss.project.controller;
 
 import com.dss.project.dto.*;
+import com.dss.project.hotkeys.HotKey;
+import com.dss.project.hotkeys.HotKeyCache;
+import com.dss.project.keyfilter.KeyFilter;
 import com.dss.project.model.APIStats;
-import com.dss.project.model.Skiers;
+import com.dss.project.model.Resort;
+import com.dss.project.model.ResortDay;
 import com.dss.project.repository.APIStatsRepository;
-import com.dss.project.repository.ResortRepository;
+import com.dss.project.repository.ResortCatalogRepository;
+import com.dss.project.service.Bulkheads;
+import com.dss.project.service.ResortActivityFeed;
+import com.dss.project.service.ResortReads;
 
+import com.mongodb.client.result.UpdateResult;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StopWatch;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/resorts")
@@ -22,22 +33,41 @@ import java.util.*;
 public class ResortController {
 
     @Autowired
-    private ResortRepository resortRepository;
+    private ResortCatalogRepository resortCatalogRepository;
+
+    @Autowired
+    private ResortReads resortReads;
+
+    @Autowired
+    private Bulkheads bulkheads;
 
     @Autowired
     private APIStatsRepository apiStatsRepository;
 
+    @Autowired
+    private ResortActivityFeed resortActivityFeed;
+
+    @Autowired
+    private HotKeyCache hotKeyCache;
+
+    @Autowired
+    private KeyFilter keyFilter;
+
     @GetMapping
     @Operation(summary = "Get all resorts")
-    public ResponseEntity<List<ResortsListDTO>> getAllResorts() {
+    public CompletableFuture<ResponseEntity<List<ResortsListDTO>>> getAllResorts() {
+        return bulkheads.pointRead().submit(this::allResorts);
+    }
+
+    private ResponseEntity<List<ResortsListDTO>> allResorts() {
 
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        List<Skiers> resorts = resortRepository.findAll();
+        List<Resort> resorts = resortReads.findAllResorts();
         List<ResortsListDTO> resortsDTO = new ArrayList<>();
 
-        for (Skiers resort : resorts) {
+        for (Resort resort : resorts) {
             ResortsListDTO resortDTO = new ResortsListDTO();
             resortDTO.setResortID(resort.getResortID());
             resortDTO.setResortName(resort.getResortName());
@@ -75,48 +105,56 @@ public class ResortController {
 
     @GetMapping("/{resortID}/seasons/{seasonID}/day/{dayID}/skiers")
     @Operation(summary = "Get unique skiers at a particular resort, season, and day")
-    public ResponseEntity<ResortsSkiersDTO> getNumSkiers(@PathVariable Integer resortID,
-                                                         @PathVariable Integer seasonID,
-                                                         @PathVariable Integer dayID) {
+    public CompletableFuture<ResponseEntity<ResortsSkiersDTO>> getNumSkiers(@PathVariable Integer resortID,
+                                                                            @PathVariable Integer seasonID,
+                                                                            @PathVariable Integer dayID) {
+        return bulkheads.pointRead().submit(() -> numSkiers(resortID, seasonID, dayID));
+    }
+
+    private ResponseEntity<ResortsSkiersDTO> numSkiers(Integer resortID, Integer seasonID, Integer dayID) {
 
         if (resortID <= 0 || seasonID <= 0 || dayID <= 0) {
             return ResponseEntity.badRequest().body(new ResortsSkiersDTO(null, "Invalid input: resortID, seasonID, and dayID must be greater than 0"));
         }
 
-        Optional<Skiers> skiersOptional = resortRepository
-                .findByResortIDAndSeasonIdAndDayId(resortID, seasonID, dayID);
+        Optional<ResortDay> resortDayOptional = keyFilter.mightHaveResortDay(resortID, seasonID, dayID)
+                ? resortReads.findResortDay(resortID, seasonID, dayID)
+                : Optional.empty();
 
-        if (skiersOptional.isEmpty()) {
+        if (resortDayOptional.isEmpty()) {
             ResortsSkiersDTO responseDto = new ResortsSkiersDTO();
             responseDto.setResponseMessage("Id Not Found");
             responseDto.setNumSkiers(null);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseDto);
         }
 
-        Skiers skiers = skiersOptional.get();
-        Integer numSkiers = skiers.getNumSkiers();
+        Integer numSkiers = resortDayOptional.get().getNumSkiers();
         ResortsSkiersDTO responseDTO = new ResortsSkiersDTO(numSkiers, "Success");
         return ResponseEntity.ok(responseDTO);
     }
 
     @GetMapping("/{resortID}/seasons")
     @Operation(summary = "Get a list of seasons for a particular resort")
-    public ResponseEntity<?> getSeasonsByResort(@PathVariable Integer resortID) {
+    public CompletableFuture<ResponseEntity<?>> getSeasonsByResort(@PathVariable Integer resortID) {
+        return bulkheads.pointRead().submit(() -> seasonsByResort(resortID));
+    }
+
+    private ResponseEntity<?> seasonsByResort(Integer resortID) {
         if (resortID <= 0) {
             ResponseMessageDTO responseDto = new ResponseMessageDTO();
             responseDto.setMessage("Invalid input: resortID must be greater than 0");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseDto);
         }
 
-        List<Skiers> resorts = resortRepository.findByResortID(resortID);
+        Optional<Resort> resort = resortReads.findResort(resortID);
 
-        if (resorts.isEmpty()) {
+        if (resort.isEmpty()) {
             ResponseMessageDTO responseDto = new ResponseMessageDTO();
             responseDto.setMessage("Resort Not Found");
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseDto);
         }
 
-        List<String> seasons = resorts.get(0).getSeasons();
+        List<String> seasons = resort.get().getSeasons() != null ? resort.get().getSeasons() : new ArrayList<>();
 
         SeasonsListDTO seasonsDto = new SeasonsListDTO();
         seasonsDto.setSeasons(seasons);
@@ -126,29 +164,44 @@ public class ResortController {
 
 
 
+    @GetMapping(value = "/{resortID}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream rides per lift and new skiers at a resort as server-sent events")
+    public ResponseEntity<SseEmitter> getLiveActivity(@PathVariable Integer resortID) {
+        if (resortID == null || !ResortActivityFeed.isResort(resortID)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Served from ingest counters in memory, so it takes no bulkhead thread and no database read
+        return ResponseEntity.ok(resortActivityFeed.subscribe(resortID));
+    }
+
     @PostMapping("/{resortID}/seasons")
     @Operation(summary = "Add a season to the list of seasons for a particular resort")
-    public ResponseEntity<ResponseMessageDTO> addSeasonByResort(@PathVariable Integer resortID,
-                                                                @RequestBody String season) {
+    public CompletableFuture<ResponseEntity<ResponseMessageDTO>> addSeasonByResort(@PathVariable Integer resortID,
+                                                                                   @RequestBody String season) {
+        return bulkheads.admin().submit(() -> addSeason(resortID, season));
+    }
+
+    private ResponseEntity<ResponseMessageDTO> addSeason(Integer resortID, String season) {
         if (resortID <= 0) {
             ResponseMessageDTO responseDto = new ResponseMessageDTO();
             responseDto.setMessage("Invalid input: resortID must be greater than 0");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseDto);
         }
 
-        List<Skiers> resorts = resortRepository.findByResortID(resortID);
+        UpdateResult result = resortCatalogRepository.addSeason(resortID, season);
+        hotKeyCache.invalidate(HotKey.resort(resortID));
 
-        if (resorts.isEmpty()) {
+        if (result.getMatchedCount() == 0) {
             ResponseMessageDTO responseDto = new ResponseMessageDTO();
             responseDto.setMessage("Resort Not Found");
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseDto);
         }
 
-        Skiers resort = resorts.get(0);
-        List<String> existingSeasons = resort.getSeasons();
-        existingSeasons.add(season);
-        resort.setSeasons(existingSeasons);
-        resortRepository.save(resort);
+        if (result.getModifiedCount() == 0) {
+            ResponseMessageDTO responseDto = new ResponseMessageDTO();
+            responseDto.setMessage("Season already exists");
+            return ResponseEntity.ok(responseDto);
+        }
 
         ResponseMessageDTO responseDto = new ResponseMessageDTO();
         responseDto.setMessage("Season added successfully");
@@ -1,20 +1,41 @@
 package com.dss.project.controller;
 
+import com.dss.project.archive.SeasonArchive;
+import com.dss.project.codec.LiftRideBucketBson;
+import com.dss.project.codec.LiftRideEvent;
+import com.dss.project.codec.LiftRideEventBson;
+import com.dss.project.deadline.Deadline;
+import com.dss.project.dto.BatchVerticalRequestDTO;
 import com.dss.project.dto.LiftRideDTO;
 import com.dss.project.dto.LiftRideEventDTO;
 import com.dss.project.dto.SkierVerticalDTO;
-import com.dss.project.model.Skiers;
-import com.dss.project.model.SkiersTestData;
-import com.dss.project.repository.ResortRepository;
+import com.dss.project.hotkeys.HotKey;
+import com.dss.project.hotkeys.HotKeyCache;
+import com.dss.project.keyfilter.KeyFilter;
+import com.dss.project.model.SkierDay;
+import com.dss.project.repository.Durability;
+import com.dss.project.repository.SeasonVertical;
+import com.dss.project.repository.SkierDayRepository;
 import com.dss.project.repository.SkiersTestRepository;
+import com.dss.project.service.Bulkheads;
+import com.dss.project.service.LiftRideWriteCombiner;
+import com.dss.project.service.ReadRouter;
+import com.dss.project.service.ResortActivityFeed;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/skiers")
@@ -22,14 +43,54 @@ import java.util.*;
 public class SkierController {
 
     @Autowired
-    private ResortRepository resortRepository;
+    private SkierDayRepository skierDayRepository;
 
     @Autowired
     private SkiersTestRepository skiersTestRepository;
 
+    @Autowired
+    private LiftRideWriteCombiner liftRideWriteCombiner;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private ReadRouter readRouter;
+
+    @Autowired
+    private ResortActivityFeed resortActivityFeed;
+
+    @Autowired
+    private SeasonArchive seasonArchive;
+
+    @Autowired
+    private HotKeyCache hotKeyCache;
+
+    @Autowired
+    private KeyFilter keyFilter;
+
+    // "event" stores one SkiersTest document per ride, "bucket" appends rides to one SkierRideBuckets
+    // document per skier-day
+    @Value("${skiers.ingest.storage:event}")
+    private String ingestStorage = "event";
+
+    // Write concern for lift ride events that do not ask for one with an X-Durability header
+    @Value("${skiers.durability.lift-ride-event:default}")
+    private String liftRideEventDurability = "default";
+
+    @Value("${skiers.durability.header-enabled:true}")
+    private boolean durabilityHeaderEnabled = true;
+
+    @Value("${skiers.batch-vertical.max-skiers:10000}")
+    private int batchMaxSkiers = 10000;
+
+    // skierIds per $in aggregation
+    @Value("${skiers.batch-vertical.chunk-size:1000}")
+    private int batchChunkSize = 1000;
+
     @PostMapping("/{resortID}/seasons/{seasonID}/days/{dayID}/skiers/{skierID}")
     @Operation(summary = "write a new lift ride for the skier")
-    public ResponseEntity<String> addLiftRide(
+    public CompletableFuture<ResponseEntity<String>> addLiftRide(
             @PathVariable Integer resortID,
             @PathVariable Integer seasonID,
             @PathVariable Integer dayID,
@@ -38,38 +99,56 @@ public class SkierController {
 
         // Check if the required fields in the request body are present
         if (newLiftRideDTO.getLiftId() == null || newLiftRideDTO.getTime() == null) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Lift ID and time are required fields.");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Lift ID and time are required fields."));
         }
 
-        // Find the existing lift ride data for the skier
-        Optional<Skiers> existingLiftRide = resortRepository.findByResortIDAndSeasonIdAndDayIdAndSkierId(resortID, seasonID, dayID, skierID);
-
-        if (existingLiftRide.isPresent()) {
-            // Update the existing lift ride data with the new values
-            Skiers updatedLiftRide = existingLiftRide.get();
-            updatedLiftRide.setLiftId(newLiftRideDTO.getLiftId());
-            updatedLiftRide.setTime(newLiftRideDTO.getTime());
-
-            // Save the updated lift ride data to the database
-            resortRepository.save(updatedLiftRide);
-
-            return ResponseEntity.ok("Lift ride updated successfully.");
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No lift ride data found for the specified skier and date.");
+        if (!keyFilter.mightHaveSkierDay(resortID, seasonID, dayID, skierID)) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.NOT_FOUND).body("No lift ride data found for the specified skier and date."));
         }
+
+        // Update the lift ride in place, possibly combined with other updates to the same skier-day;
+        // no match means there is no data for that skier-day
+        return bulkheads.ingest().submitAsync(() -> liftRideWriteCombiner.update(resortID, seasonID, dayID, skierID,
+                        newLiftRideDTO.getLiftId(), newLiftRideDTO.getTime(), newLiftRideDTO.getVertical()))
+                .thenApply(result -> {
+                    hotKeyCache.invalidate(HotKey.skierDay(resortID, seasonID, dayID, skierID));
+                    if (result.getMatchedCount() == 0) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No lift ride data found for the specified skier and date.");
+                    }
+                    return ResponseEntity.ok("Lift ride updated successfully.");
+                });
     }
 
 
     @GetMapping("/{resortID}/seasons/{seasonID}/days/{dayID}/skiers/{skierID}")
     @Operation(summary = "Get ski day vertical for a skier")
-    public ResponseEntity<Integer> getTotalVertical(
+    public CompletableFuture<ResponseEntity<Integer>> getTotalVertical(
             @PathVariable Integer resortID,
             @PathVariable Integer seasonID,
             @PathVariable Integer dayID,
             @PathVariable Integer skierID) {
+        return bulkheads.pointRead().submit(() -> totalVertical(resortID, seasonID, dayID, skierID));
+    }
+
+    private ResponseEntity<Integer> totalVertical(Integer resortID, Integer seasonID, Integer dayID, Integer skierID) {
 
-        // Find the existing lift ride data for the skier on the specified day
-        Optional<Skiers> existingLiftRide = resortRepository.findByResortIDAndSeasonIdAndDayIdAndSkierId(resortID, seasonID, dayID, skierID);
+        // Find the existing lift ride data for the skier on the specified day, archived seasons are
+        // read from their segment first
+        Optional<SkierDay> existingLiftRide = Optional.empty();
+        HotKey key = HotKey.skierDay(resortID, seasonID, dayID, skierID);
+        if (seasonArchive.hasSegment(resortID, seasonID)) {
+            existingLiftRide = seasonArchive.findSkierDay(resortID, seasonID, dayID, skierID);
+            if (existingLiftRide.isPresent()) {
+                hotKeyCache.record(key);
+            }
+        }
+        // Days added to an archived season stay in SkierDays until the next archive run
+        if (existingLiftRide.isEmpty() && keyFilter.mightHaveSkierDay(resortID, seasonID, dayID, skierID)) {
+            existingLiftRide = hotKeyCache.get(key, () -> readRouter.read("getTotalVertical",
+                    () -> skierDayRepository.findByResortIDAndSeasonIdAndDayIdAndSkierId(resortID, seasonID, dayID, skierID)));
+        }
 
         if (existingLiftRide.isPresent()) {
             // Return the total vertical for the skier on the specified day
@@ -83,20 +162,47 @@ public class SkierController {
 
     @GetMapping("/skiers/{skierID}/vertical")
     @Operation(summary = "Get the total vertical for the skier for specified seasons at the specified resort")
-    public List<SkierVerticalDTO> getSkierVertical(@PathVariable Integer skierID, @RequestBody Map<String, Object> request) {
-        List<String> resortIds = (List<String>) request.get("resortIds");
+    public CompletableFuture<ResponseEntity<List<SkierVerticalDTO>>> getSkierVertical(@PathVariable Integer skierID, @RequestBody Map<String, Object> request) {
+        return bulkheads.analytical().submit(() -> skierVertical(skierID, request));
+    }
+
+    private ResponseEntity<List<SkierVerticalDTO>> skierVertical(Integer skierID, Map<String, Object> request) {
+        hotKeyCache.record(HotKey.skier(skierID));
+        List<?> resortIds = (List<?>) request.get("resortIds");
         List<String> seasons = (List<String>) request.get("seasons");
 
-        List<Skiers> skiersList;
+        // resortID is stored as an int, clients send the ids as strings or numbers
+        List<Integer> resortIdValues = null;
         if (resortIds != null && !resortIds.isEmpty()) {
-            skiersList = resortRepository.findBySkierIdAndResortIDIn(skierID, resortIds);
-        } else {
-            skiersList = resortRepository.findBySkierId(skierID);
+            resortIdValues = new ArrayList<>(resortIds.size());
+            for (Object resortId : resortIds) {
+                resortIdValues.add(Integer.valueOf(String.valueOf(resortId)));
+            }
         }
+        List<Integer> ids = resortIdValues;
+
+        List<SkierDay> skiersList;
+        boolean partial = false;
+        try {
+            if (ids != null) {
+                skiersList = readRouter.read("getSkierVertical", () -> skierDayRepository.findBySkierIdAndResortIDIn(skierID, ids));
+            } else {
+                skiersList = readRouter.read("getSkierVertical", () -> skierDayRepository.findBySkierId(skierID));
+            }
+        } catch (RuntimeException e) {
+            // Out of time for SkierDays: the archived seasons can still be answered from the segments
+            if (!Deadline.isExceeded(e) || seasonArchive.getArchivedSeasons().isEmpty()) {
+                throw e;
+            }
+            skiersList = List.of();
+            partial = true;
+        }
+        // Cold seasons come from the memory-mapped archive segments
+        skiersList = seasonArchive.merge(skiersList, skierID, resortIdValues, seasons);
 
         List<SkierVerticalDTO> skierVerticalDTOList = new ArrayList<>();
         Map<String, Integer> seasonToVerticalMap = new HashMap<>();
-        for (Skiers skiers : skiersList) {
+        for (SkierDay skiers : skiersList) {
             if (seasons == null || seasons.isEmpty() || seasons.contains(skiers.getSeasonId().toString())) {
                 String season = skiers.getSeasonId().toString();
                 Integer vertical = skiers.getTotalVert();
@@ -114,35 +220,161 @@ public class SkierController {
             skierVerticalDTOList.add(skierVerticalDTO);
         }
 
-        return skierVerticalDTOList;
+        if (partial) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .header("X-Partial-Result", "archived-seasons-only")
+                    .body(skierVerticalDTOList);
+        }
+        return ResponseEntity.ok(skierVerticalDTOList);
+    }
+
+    @PostMapping("/vertical")
+    @Operation(summary = "Get the per-season total vertical of many skiers at once, optionally for some resorts, seasons and days")
+    public CompletableFuture<ResponseEntity<?>> getBatchVertical(@RequestBody BatchVerticalRequestDTO request) {
+        List<Integer> skierIds = request.getSkierIds();
+        if (skierIds == null || skierIds.isEmpty() || skierIds.contains(null)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("skierIds are required"));
+        }
+        if (skierIds.size() > batchMaxSkiers) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("At most " + batchMaxSkiers + " skierIds per request"));
+        }
+        List<Integer> seasonIds = null;
+        if (request.getSeasons() != null && !request.getSeasons().isEmpty()) {
+            seasonIds = new ArrayList<>(request.getSeasons().size());
+            try {
+                for (String season : request.getSeasons()) {
+                    seasonIds.add(Integer.valueOf(season));
+                }
+            } catch (NumberFormatException e) {
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Invalid season"));
+            }
+        }
+        List<Integer> seasonIdValues = seasonIds;
+        return bulkheads.analytical().submit(() -> batchVertical(request, seasonIdValues));
+    }
+
+    private ResponseEntity<?> batchVertical(BatchVerticalRequestDTO request, List<Integer> seasonIds) {
+        // Duplicates are looked up once, the response keeps the request order
+        List<Integer> skierIds = new ArrayList<>(new LinkedHashSet<>(request.getSkierIds()));
+        List<Integer> resortIds = request.getResortIds() == null || request.getResortIds().isEmpty() ? null : request.getResortIds();
+        Set<Integer> days = request.getDays() == null || request.getDays().isEmpty() ? null : new HashSet<>(request.getDays());
+        boolean archived = !seasonArchive.getArchivedSeasons().isEmpty();
+
+        Map<Integer, List<SkierVerticalDTO>> response = new LinkedHashMap<>();
+        for (int from = 0; from < skierIds.size(); from += batchChunkSize) {
+            List<Integer> chunk = skierIds.subList(from, Math.min(from + batchChunkSize, skierIds.size()));
+            List<SeasonVertical> verticals;
+            Map<Integer, List<SkierDay>> liveArchived;
+            try {
+                verticals = readRouter.read("getBatchVertical",
+                        () -> skierDayRepository.sumVertical(chunk, resortIds, seasonIds, days));
+                liveArchived = archived ? liveArchivedDays(verticals, days) : Map.of();
+            } catch (RuntimeException e) {
+                // Out of time: the chunks already summed are still worth returning
+                if (!Deadline.isExceeded(e) || from == 0) {
+                    throw e;
+                }
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                        .header("X-Partial-Result", "skiers=" + response.size() + "/" + skierIds.size())
+                        .body(response);
+            }
+
+            Map<Integer, Map<Integer, Long>> totals = new HashMap<>();
+            for (SeasonVertical vertical : verticals) {
+                // Archived seasons come from the segments below
+                if (!archived || !seasonArchive.hasSegment(vertical.resortID(), vertical.seasonId())) {
+                    totals.computeIfAbsent(vertical.skierId(), skier -> new TreeMap<>())
+                            .merge(vertical.seasonId(), vertical.totalVert(), Long::sum);
+                }
+            }
+            for (Integer skierId : chunk) {
+                Map<Integer, Long> seasonTotals = totals.getOrDefault(skierId, new TreeMap<>());
+                if (archived) {
+                    // SkierDays rows of archived seasons replace the archived row of their day
+                    List<SkierDay> live = liveArchived.getOrDefault(skierId, List.of());
+                    for (SkierDay day : seasonArchive.merge(live, skierId, resortIds, request.getSeasons())) {
+                        if (days == null || days.contains(day.getDayId())) {
+                            // Rows copied or imported without a totalVert count as 0, like in the archive
+                            long totalVert = day.getTotalVert() != null ? day.getTotalVert() : 0;
+                            seasonTotals.merge(day.getSeasonId(), totalVert, Long::sum);
+                        }
+                    }
+                }
+                List<SkierVerticalDTO> seasons = new ArrayList<>(seasonTotals.size());
+                for (Map.Entry<Integer, Long> season : seasonTotals.entrySet()) {
+                    seasons.add(new SkierVerticalDTO(season.getKey().toString(), season.getValue().intValue()));
+                }
+                response.put(skierId, seasons);
+            }
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // The SkierDays rows behind the sums of archived seasons, per skier, fetched for the whole chunk
+    // in one query
+    private Map<Integer, List<SkierDay>> liveArchivedDays(List<SeasonVertical> verticals, Set<Integer> days) {
+        Set<Integer> skierIds = new HashSet<>();
+        Map<Integer, Set<Integer>> seasonsByResort = new HashMap<>();
+        for (SeasonVertical vertical : verticals) {
+            if (seasonArchive.hasSegment(vertical.resortID(), vertical.seasonId())) {
+                skierIds.add(vertical.skierId());
+                seasonsByResort.computeIfAbsent(vertical.resortID(), resort -> new HashSet<>()).add(vertical.seasonId());
+            }
+        }
+        if (skierIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, List<SkierDay>> live = new HashMap<>();
+        for (SkierDay day : readRouter.read("getBatchVertical", () -> skierDayRepository.findDays(skierIds, seasonsByResort, days))) {
+            live.computeIfAbsent(day.getSkierId(), skier -> new ArrayList<>()).add(day);
+        }
+        return live;
     }
 
     @PostMapping("/liftRideEvent")
     @Operation(summary = "Create a new lift ride event")
-    public ResponseEntity<?> createLiftRideEvent(@RequestBody LiftRideEventDTO liftRideEventDTO) {
-        // Check if the input values are within the valid range
-        if (liftRideEventDTO.getSkierId() < 1 || liftRideEventDTO.getSkierId() > 100000 ||
-                liftRideEventDTO.getResortId() < 1 || liftRideEventDTO.getResortId() > 10 ||
-                liftRideEventDTO.getLiftId() < 1 || liftRideEventDTO.getLiftId() > 40 ||
-                liftRideEventDTO.getSeasonId() != 2022 ||
-                liftRideEventDTO.getDayId() != 1 ||
-                liftRideEventDTO.getTime() < 1 || liftRideEventDTO.getTime() > 360) {
-            return ResponseEntity.badRequest().body("Invalid input values");
-        }
-
-        // Create a new Skiers object
-        SkiersTestData skiersTestData = new SkiersTestData();
-        skiersTestData.setSkierId(liftRideEventDTO.getSkierId());
-        skiersTestData.setResortID(liftRideEventDTO.getResortId());
-        skiersTestData.setLiftId(liftRideEventDTO.getLiftId());
-        skiersTestData.setSeasonId(liftRideEventDTO.getSeasonId());
-        skiersTestData.setDayId(liftRideEventDTO.getDayId());
-        skiersTestData.setTime(liftRideEventDTO.getTime());
-
-        // Save the new Skiers object to the database
-        skiersTestRepository.save(skiersTestData);
-
-        return ResponseEntity.status(HttpStatus.CREATED).body("Lift ride event created successfully");
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            content = @Content(schema = @Schema(implementation = LiftRideEventDTO.class)))
+    public CompletableFuture<ResponseEntity<?>> createLiftRideEvent(
+            @RequestBody LiftRideEvent liftRideEvent,
+            @Parameter(description = "fire-and-forget, acknowledged, journaled or majority")
+            @RequestHeader(value = "X-Durability", required = false) String durabilityHeader) {
+        // Parsed and range-checked by LiftRideEventHttpMessageConverter
+        if (!liftRideEvent.isValid()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Invalid input values"));
+        }
+
+        Durability durability;
+        try {
+            durability = Durability.parse(durabilityHeaderEnabled && durabilityHeader != null
+                    ? durabilityHeader : liftRideEventDurability);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+
+        // Encode straight to BSON on this thread: liftRideEvent is a per-thread holder that the next
+        // request on this thread reuses, so it must not reach the ingest bulkhead
+        Runnable write;
+        if ("bucket".equals(ingestStorage)) {
+            BsonDocument filter = LiftRideBucketBson.toFilter(liftRideEvent);
+            BsonDocument update = LiftRideBucketBson.toUpdate(liftRideEvent);
+            write = () -> skiersTestRepository.appendToBucket(filter, update, durability);
+        } else {
+            RawBsonDocument document = LiftRideEventBson.toDocument(liftRideEvent);
+            write = () -> skiersTestRepository.insertRaw(document, durability);
+        }
+
+        int resortId = liftRideEvent.getResortId();
+        int seasonId = liftRideEvent.getSeasonId();
+        int dayId = liftRideEvent.getDayId();
+        int liftId = liftRideEvent.getLiftId();
+        int skierId = liftRideEvent.getSkierId();
+        return bulkheads.ingest().submit(() -> {
+            write.run();
+            resortActivityFeed.record(resortId, seasonId, dayId, liftId, skierId);
+            return ResponseEntity.status(HttpStatus.CREATED).body("Lift ride event created successfully");
+        });
     }
 
 
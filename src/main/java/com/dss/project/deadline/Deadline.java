@@ -0,0 +1,82 @@
+package com.dss.project.deadline;
+
+import com.mongodb.MongoExecutionTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// The instant by which a request must be answered, bound to the thread working on it. Bulkheads
+// carry it from the request thread to their workers, and every MongoTemplate call made under it
+// is sent with maxTimeMS set to what is left (see QueryDeadlines).
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    // The earlier of this thread's deadline, if any, and timeout from now
+    public static Deadline within(Duration timeout) {
+        Deadline limit = after(timeout);
+        Deadline current = CURRENT.get();
+        return current != null && current.expiresAtNanos - limit.expiresAtNanos < 0 ? current : limit;
+    }
+
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(Deadline deadline, Supplier<T> operation) {
+        Deadline previous = bind(deadline);
+        try {
+            return operation.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // Returns the deadline bound before, to hand back to restore
+    static Deadline bind(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return previous;
+    }
+
+    static void restore(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    // True for the exceptions a passed deadline ends a call with, wrapped or not
+    public static boolean isExceeded(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException || cause instanceof MongoExecutionTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
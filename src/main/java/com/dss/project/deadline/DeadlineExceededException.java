@@ -0,0 +1,9 @@
+package com.dss.project.deadline;
+
+// Work skipped, or a wait given up, because the request's deadline passed
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
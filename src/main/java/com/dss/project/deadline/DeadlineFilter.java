@@ -0,0 +1,78 @@
+package com.dss.project.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// Binds a Deadline to the request thread when the client sends one in the
+// skiers.deadline.header header, as milliseconds or a duration such as 250ms or 2s, capped at
+// skiers.deadline.max. Without the header each route gets its bulkhead's timeout
+// (skiers.bulkhead.<name>.timeout) as its deadline when the bulkhead takes the task.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private static final byte[] INVALID_TIMEOUT = "{\"message\":\"Invalid request timeout\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Value("${skiers.deadline.header:X-Request-Timeout}")
+    private String header = "X-Request-Timeout";
+
+    @Value("${skiers.deadline.max:30s}")
+    private Duration max = Duration.ofSeconds(30);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String value = request.getHeader(header);
+        if (value == null || value.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Duration timeout;
+        try {
+            timeout = parse(value.trim());
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(INVALID_TIMEOUT.length);
+            response.getOutputStream().write(INVALID_TIMEOUT);
+            return;
+        }
+        if (timeout.compareTo(max) > 0) {
+            timeout = max;
+        }
+
+        // Only the part of the request that runs on this thread; bulkheads carry it further
+        Deadline previous = Deadline.bind(Deadline.after(timeout));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+
+    private static Duration parse(String value) {
+        Duration timeout = Character.isDigit(value.charAt(value.length() - 1))
+                ? Duration.ofMillis(Long.parseLong(value))
+                : DurationStyle.SIMPLE.parse(value);
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Request timeout must be positive");
+        }
+        return timeout;
+    }
+}
@@ -0,0 +1,152 @@
+package com.dss.project.deadline;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.EstimatedDocumentCountOptions;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Turns the thread's Deadline into server-side time limits. Collections handed out by
+// RoutingMongoTemplate under a deadline set maxTimeMS on every find, aggregate, distinct, count and
+// findAndModify to the time left less skiers.deadline.query-margin, so the server gives up on a
+// query (and frees its capacity) a little before the request times out, leaving the worker time to
+// answer. Calls made after the deadline has passed are not sent at all.
+@Component
+public class QueryDeadlines implements CommandListener {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${skiers.deadline.query-margin:50ms}")
+    private Duration margin = Duration.ofMillis(50);
+
+    private Counter timedOut;
+    private Counter cancelled;
+
+    @PostConstruct
+    public void init() {
+        timedOut = Counter.builder("skiers.deadline.queries")
+                .description("Queries the server stopped at their maxTimeMS")
+                .tag("outcome", "timed-out")
+                .register(meterRegistry);
+        cancelled = Counter.builder("skiers.deadline.queries")
+                .description("Calls not sent because the request deadline had passed")
+                .tag("outcome", "cancelled")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> MongoCollection<T> apply(MongoCollection<T> collection) {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return collection;
+        }
+        maxTimeMillis(deadline, collection);
+        return (MongoCollection<T>) Proxy.newProxyInstance(MongoCollection.class.getClassLoader(),
+                new Class<?>[]{MongoCollection.class}, new MaxTimeHandler(collection, deadline));
+    }
+
+    public long getTimedOut() {
+        return (long) timedOut.count();
+    }
+
+    public long getCancelled() {
+        return (long) cancelled.count();
+    }
+
+    // Counted here rather than where the query ran because finds fail while their cursor is read,
+    // long after the collection call returned
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        if (event.getThrowable() instanceof MongoExecutionTimeoutException) {
+            timedOut.increment();
+        }
+    }
+
+    private long maxTimeMillis(Deadline deadline, MongoCollection<?> collection) {
+        long maxTimeMillis = deadline.remainingMillis() - margin.toMillis();
+        if (maxTimeMillis <= 0) {
+            cancelled.increment();
+            throw new DeadlineExceededException("Deadline passed before calling " + collection.getNamespace());
+        }
+        return maxTimeMillis;
+    }
+
+    private final class MaxTimeHandler implements InvocationHandler {
+
+        private final MongoCollection<?> target;
+        private final Deadline deadline;
+
+        private MaxTimeHandler(MongoCollection<?> target, Deadline deadline) {
+            this.target = target;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class || method.getName().startsWith("get")) {
+                return invoke(method, args);
+            }
+            if (method.getName().startsWith("with")) {
+                return apply((MongoCollection<?>) invoke(method, args));
+            }
+
+            long maxTimeMillis = maxTimeMillis(deadline, target);
+            if (args != null) {
+                for (Object arg : args) {
+                    if (arg instanceof CountOptions options) {
+                        options.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                    } else if (arg instanceof FindOneAndUpdateOptions options) {
+                        options.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                    } else if (arg instanceof FindOneAndReplaceOptions options) {
+                        options.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                    } else if (arg instanceof FindOneAndDeleteOptions options) {
+                        options.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                    } else if (arg instanceof EstimatedDocumentCountOptions options) {
+                        options.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+
+            Object result = invoke(method, args);
+            if (result instanceof FindIterable<?> find) {
+                return find.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+            }
+            if (result instanceof AggregateIterable<?> aggregate) {
+                return aggregate.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+            }
+            if (result instanceof DistinctIterable<?> distinct) {
+                return distinct.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+            }
+            return result;
+        }
+
+        private Object invoke(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.dss.project.dto;
+
+import java.util.List;
+
+public class BatchVerticalRequestDTO {
+
+    private List<Integer> skierIds;
+    private List<Integer> resortIds;
+    private List<String> seasons;
+    private List<Integer> days;
+
+    public BatchVerticalRequestDTO() {
+    }
+
+    public BatchVerticalRequestDTO(List<Integer> skierIds, List<Integer> resortIds, List<String> seasons, List<Integer> days) {
+        this.skierIds = skierIds;
+        this.resortIds = resortIds;
+        this.seasons = seasons;
+        this.days = days;
+    }
+
+    public List<Integer> getSkierIds() {
+        return skierIds;
+    }
+
+    public void setSkierIds(List<Integer> skierIds) {
+        this.skierIds = skierIds;
+    }
+
+    public List<Integer> getResortIds() {
+        return resortIds;
+    }
+
+    public void setResortIds(List<Integer> resortIds) {
+        this.resortIds = resortIds;
+    }
+
+    public List<String> getSeasons() {
+        return seasons;
+    }
+
+    public void setSeasons(List<String> seasons) {
+        this.seasons = seasons;
+    }
+
+    public List<Integer> getDays() {
+        return days;
+    }
+
+    public void setDays(List<Integer> days) {
+        this.days = days;
+    }
+}
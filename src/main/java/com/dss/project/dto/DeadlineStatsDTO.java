@@ -0,0 +1,51 @@
+package com.dss.project.dto;
+
+public class DeadlineStatsDTO {
+
+    private long requestTimeouts;
+    private long droppedFromQueue;
+    private long queryTimeouts;
+    private long cancelledCalls;
+
+    public DeadlineStatsDTO() {
+    }
+
+    public DeadlineStatsDTO(long requestTimeouts, long droppedFromQueue, long queryTimeouts, long cancelledCalls) {
+        this.requestTimeouts = requestTimeouts;
+        this.droppedFromQueue = droppedFromQueue;
+        this.queryTimeouts = queryTimeouts;
+        this.cancelledCalls = cancelledCalls;
+    }
+
+    public long getRequestTimeouts() {
+        return requestTimeouts;
+    }
+
+    public void setRequestTimeouts(long requestTimeouts) {
+        this.requestTimeouts = requestTimeouts;
+    }
+
+    public long getDroppedFromQueue() {
+        return droppedFromQueue;
+    }
+
+    public void setDroppedFromQueue(long droppedFromQueue) {
+        this.droppedFromQueue = droppedFromQueue;
+    }
+
+    public long getQueryTimeouts() {
+        return queryTimeouts;
+    }
+
+    public void setQueryTimeouts(long queryTimeouts) {
+        this.queryTimeouts = queryTimeouts;
+    }
+
+    public long getCancelledCalls() {
+        return cancelledCalls;
+    }
+
+    public void setCancelledCalls(long cancelledCalls) {
+        this.cancelledCalls = cancelledCalls;
+    }
+}
@@ -0,0 +1,51 @@
+package com.dss.project.dto;
+
+public class HotKeyDTO {
+
+    private String key;
+    private String kind;
+    private long estimatedReads;
+    private boolean pinned;
+
+    public HotKeyDTO() {
+    }
+
+    public HotKeyDTO(String key, String kind, long estimatedReads, boolean pinned) {
+        this.key = key;
+        this.kind = kind;
+        this.estimatedReads = estimatedReads;
+        this.pinned = pinned;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public long getEstimatedReads() {
+        return estimatedReads;
+    }
+
+    public void setEstimatedReads(long estimatedReads) {
+        this.estimatedReads = estimatedReads;
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public void setPinned(boolean pinned) {
+        this.pinned = pinned;
+    }
+}
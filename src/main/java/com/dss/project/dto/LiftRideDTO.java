@@ -4,6 +4,8 @@ public class LiftRideDTO {
 
     private Integer time;
     private Integer liftId;
+    // Optional vertical gained on this ride, added to the skier-day's totalVert
+    private Integer vertical;
 
     public LiftRideDTO() {
     }
@@ -28,4 +30,12 @@ public class LiftRideDTO {
     public void setLiftId(Integer liftId) {
         this.liftId = liftId;
     }
+
+    public Integer getVertical() {
+        return vertical;
+    }
+
+    public void setVertical(Integer vertical) {
+        this.vertical = vertical;
+    }
 }
@@ -0,0 +1,83 @@
+package com.dss.project.dto;
+
+import java.util.Map;
+
+public class LiveActivityDTO {
+
+    private Integer resortID;
+    private long sequence;
+    private long fromMillis;
+    private long toMillis;
+    private Map<Integer, Long> ridesPerLift;
+    private long newSkiers;
+    private long skiersToday;
+
+    public LiveActivityDTO() {
+    }
+
+    public LiveActivityDTO(Integer resortID, long sequence, long fromMillis, long toMillis, Map<Integer, Long> ridesPerLift, long newSkiers, long skiersToday) {
+        this.resortID = resortID;
+        this.sequence = sequence;
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        this.ridesPerLift = ridesPerLift;
+        this.newSkiers = newSkiers;
+        this.skiersToday = skiersToday;
+    }
+
+    public Integer getResortID() {
+        return resortID;
+    }
+
+    public void setResortID(Integer resortID) {
+        this.resortID = resortID;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getFromMillis() {
+        return fromMillis;
+    }
+
+    public void setFromMillis(long fromMillis) {
+        this.fromMillis = fromMillis;
+    }
+
+    public long getToMillis() {
+        return toMillis;
+    }
+
+    public void setToMillis(long toMillis) {
+        this.toMillis = toMillis;
+    }
+
+    public Map<Integer, Long> getRidesPerLift() {
+        return ridesPerLift;
+    }
+
+    public void setRidesPerLift(Map<Integer, Long> ridesPerLift) {
+        this.ridesPerLift = ridesPerLift;
+    }
+
+    public long getNewSkiers() {
+        return newSkiers;
+    }
+
+    public void setNewSkiers(long newSkiers) {
+        this.newSkiers = newSkiers;
+    }
+
+    public long getSkiersToday() {
+        return skiersToday;
+    }
+
+    public void setSkiersToday(long skiersToday) {
+        this.skiersToday = skiersToday;
+    }
+}
@@ -0,0 +1,51 @@
+package com.dss.project.dto;
+
+public class PauseStatsDTO {
+
+    private String name;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+
+    public PauseStatsDTO() {
+    }
+
+    public PauseStatsDTO(String name, long count, double totalMillis, double maxMillis) {
+        this.name = name;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+}
@@ -0,0 +1,61 @@
+package com.dss.project.dto;
+
+public class RecordingDTO {
+
+    private long id;
+    private String name;
+    private String profile;
+    private String state;
+    private Long fileBytes;
+
+    public RecordingDTO() {
+    }
+
+    public RecordingDTO(long id, String name, String profile, String state, Long fileBytes) {
+        this.id = id;
+        this.name = name;
+        this.profile = profile;
+        this.state = state;
+        this.fileBytes = fileBytes;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Long getFileBytes() {
+        return fileBytes;
+    }
+
+    public void setFileBytes(Long fileBytes) {
+        this.fileBytes = fileBytes;
+    }
+}
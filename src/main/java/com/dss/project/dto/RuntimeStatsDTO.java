@@ -0,0 +1,89 @@
+package com.dss.project.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class RuntimeStatsDTO {
+
+    private long uptimeMillis;
+    private long heapUsedBytes;
+    private long heapCommittedBytes;
+    private long heapMaxBytes;
+    private boolean jfrStreaming;
+    private long allocationRateBytesPerSecond;
+    private List<PauseStatsDTO> gcPauses;
+    private PauseStatsDTO safepoints;
+    private Map<String, Integer> threadStates;
+
+    public long getUptimeMillis() {
+        return uptimeMillis;
+    }
+
+    public void setUptimeMillis(long uptimeMillis) {
+        this.uptimeMillis = uptimeMillis;
+    }
+
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    public void setHeapUsedBytes(long heapUsedBytes) {
+        this.heapUsedBytes = heapUsedBytes;
+    }
+
+    public long getHeapCommittedBytes() {
+        return heapCommittedBytes;
+    }
+
+    public void setHeapCommittedBytes(long heapCommittedBytes) {
+        this.heapCommittedBytes = heapCommittedBytes;
+    }
+
+    public long getHeapMaxBytes() {
+        return heapMaxBytes;
+    }
+
+    public void setHeapMaxBytes(long heapMaxBytes) {
+        this.heapMaxBytes = heapMaxBytes;
+    }
+
+    public boolean isJfrStreaming() {
+        return jfrStreaming;
+    }
+
+    public void setJfrStreaming(boolean jfrStreaming) {
+        this.jfrStreaming = jfrStreaming;
+    }
+
+    public long getAllocationRateBytesPerSecond() {
+        return allocationRateBytesPerSecond;
+    }
+
+    public void setAllocationRateBytesPerSecond(long allocationRateBytesPerSecond) {
+        this.allocationRateBytesPerSecond = allocationRateBytesPerSecond;
+    }
+
+    public List<PauseStatsDTO> getGcPauses() {
+        return gcPauses;
+    }
+
+    public void setGcPauses(List<PauseStatsDTO> gcPauses) {
+        this.gcPauses = gcPauses;
+    }
+
+    public PauseStatsDTO getSafepoints() {
+        return safepoints;
+    }
+
+    public void setSafepoints(PauseStatsDTO safepoints) {
+        this.safepoints = safepoints;
+    }
+
+    public Map<String, Integer> getThreadStates() {
+        return threadStates;
+    }
+
+    public void setThreadStates(Map<String, Integer> threadStates) {
+        this.threadStates = threadStates;
+    }
+}
@@ -0,0 +1,116 @@
+package com.dss.project.hotkeys;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Access counts per key in a count-min sketch of depth rows by width counters, so memory stays
+// fixed however many keys there are; estimates only ever overcount, by about total / width.
+// Keys whose estimate beats the smallest of the topN held so far are kept with their estimate,
+// giving the heavy hitters. decay() halves every count, so old traffic fades out.
+final class FrequencyTracker {
+
+    private static final int DEPTH = 4;
+
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counters;
+    private final int topN;
+    private final Map<HotKey, Long> top = new ConcurrentHashMap<>();
+    // Smallest estimate in top once it is full; a key must beat it to get in
+    private volatile long floor;
+
+    FrequencyTracker(int width, int topN) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two");
+        }
+        this.width = width;
+        this.mask = width - 1;
+        this.counters = new AtomicLongArray(DEPTH * width);
+        this.topN = topN;
+    }
+
+    // Counts one access and returns the key's estimate; lock-free unless the key enters the top
+    long record(HotKey key) {
+        return add(key, 1);
+    }
+
+    // Counts weight accesses at once, e.g. to seed persisted hot keys
+    long add(HotKey key, long weight) {
+        long hash = key.hash64();
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = row * width + ((h1 + row * h2) & mask);
+            estimate = Math.min(estimate, counters.addAndGet(index, weight));
+        }
+        if (top.replace(key, estimate) == null && estimate > floor) {
+            enter(key, estimate);
+        }
+        return estimate;
+    }
+
+    long estimate(HotKey key) {
+        long hash = key.hash64();
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + ((h1 + row * h2) & mask)));
+        }
+        return estimate;
+    }
+
+    // The heavy hitters, highest estimate first
+    List<Map.Entry<HotKey, Long>> top(int limit) {
+        List<Map.Entry<HotKey, Long>> entries = new ArrayList<>(top.size());
+        for (Map.Entry<HotKey, Long> entry : top.entrySet()) {
+            entries.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+        entries.sort(Map.Entry.<HotKey, Long>comparingByValue().reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    // Counts added concurrently may lose their halving, which only makes them a little higher
+    synchronized void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long count = counters.get(i);
+            if (count != 0) {
+                counters.addAndGet(i, -(count - (count >> 1)));
+            }
+        }
+        top.replaceAll((key, count) -> count >> 1);
+        top.values().removeIf(count -> count == 0);
+        floor = smallest();
+    }
+
+    private synchronized void enter(HotKey key, long estimate) {
+        top.put(key, estimate);
+        if (top.size() > topN) {
+            HotKey smallest = null;
+            long smallestCount = Long.MAX_VALUE;
+            for (Map.Entry<HotKey, Long> entry : top.entrySet()) {
+                if (entry.getValue() < smallestCount) {
+                    smallest = entry.getKey();
+                    smallestCount = entry.getValue();
+                }
+            }
+            top.remove(smallest);
+        }
+        floor = smallest();
+    }
+
+    private long smallest() {
+        if (top.size() < topN) {
+            return 0;
+        }
+        long smallest = Long.MAX_VALUE;
+        for (long count : top.values()) {
+            smallest = Math.min(smallest, count);
+        }
+        return smallest;
+    }
+}
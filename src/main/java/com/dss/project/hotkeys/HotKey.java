@@ -0,0 +1,78 @@
+package com.dss.project.hotkeys;
+
+import java.util.Locale;
+
+// A read key: a resort (seasons), a resort-day (skier count), a skier-day (day vertical) or a
+// skier (season verticals). Unused ids are 0.
+public record HotKey(Kind kind, int resortID, int seasonId, int dayId, int skierId) {
+
+    public enum Kind {
+        RESORT,
+        RESORT_DAY,
+        SKIER_DAY,
+        SKIER
+    }
+
+    public static HotKey resort(int resortID) {
+        return new HotKey(Kind.RESORT, resortID, 0, 0, 0);
+    }
+
+    public static HotKey resortDay(int resortID, int seasonId, int dayId) {
+        return new HotKey(Kind.RESORT_DAY, resortID, seasonId, dayId, 0);
+    }
+
+    public static HotKey skierDay(int resortID, int seasonId, int dayId, int skierId) {
+        return new HotKey(Kind.SKIER_DAY, resortID, seasonId, dayId, skierId);
+    }
+
+    public static HotKey skier(int skierId) {
+        return new HotKey(Kind.SKIER, 0, 0, 0, skierId);
+    }
+
+    // Parses toString's form, e.g. "skier-day:5/2022/1/42"
+    public static HotKey parse(String value) {
+        int colon = value.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Not a hot key: " + value);
+        }
+        Kind kind = Kind.valueOf(value.substring(0, colon).replace('-', '_').toUpperCase(Locale.ROOT));
+        String[] ids = value.substring(colon + 1).split("/");
+        int[] values = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = Integer.parseInt(ids[i]);
+        }
+        return switch (kind) {
+            case RESORT -> resort(values[0]);
+            case RESORT_DAY -> resortDay(values[0], values[1], values[2]);
+            case SKIER_DAY -> skierDay(values[0], values[1], values[2], values[3]);
+            case SKIER -> skier(values[0]);
+        };
+    }
+
+    // 64-bit hash for the sketch rows, from all fields without allocating
+    long hash64() {
+        long h = kind.ordinal() * 0x9E3779B97F4A7C15L;
+        h = mix(h ^ resortID);
+        h = mix(h ^ ((long) seasonId << 32 | dayId & 0xFFFFFFFFL));
+        return mix(h ^ skierId);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ h >>> 33;
+    }
+
+    @Override
+    public String toString() {
+        String kindName = kind.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        return switch (kind) {
+            case RESORT -> kindName + ":" + resortID;
+            case RESORT_DAY -> kindName + ":" + resortID + "/" + seasonId + "/" + dayId;
+            case SKIER_DAY -> kindName + ":" + resortID + "/" + seasonId + "/" + dayId + "/" + skierId;
+            case SKIER -> kindName + ":" + skierId;
+        };
+    }
+}
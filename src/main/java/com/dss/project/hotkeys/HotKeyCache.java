@@ -0,0 +1,272 @@
+package com.dss.project.hotkeys;
+
+import com.dss.project.repository.ResortCatalogRepository;
+import com.dss.project.repository.ResortDayRepository;
+import com.dss.project.repository.SkierDayRepository;
+import com.dss.project.service.ReadRouter;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// Tracks which resorts, resort-days, skier-days and skiers the read endpoints are asked for and
+// keeps the values of the skiers.hot-keys.pinned hottest cacheable keys in memory. Pinned values
+// are reloaded every refresh-interval and dropped on writes through this service, so a pinned
+// value is at most refresh-interval old when written elsewhere. A load that overlaps a write to its
+// key is returned but not kept. Counts halve every decay-interval.
+// The hottest keys are saved to the HotKeys collection and loaded again after a restart.
+@Service
+public class HotKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(HotKeyCache.class);
+
+    static final String COLLECTION = "HotKeys";
+
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    @Autowired
+    private ResortCatalogRepository resortCatalogRepository;
+
+    @Autowired
+    private ResortDayRepository resortDayRepository;
+
+    @Autowired
+    private SkierDayRepository skierDayRepository;
+
+    @Autowired
+    private ReadRouter readRouter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${skiers.hot-keys.enabled:true}")
+    private boolean enabled = true;
+
+    // Counters per sketch row, a power of two; 4 rows of 16384 take 512 KB
+    @Value("${skiers.hot-keys.sketch-width:16384}")
+    private int sketchWidth = 16384;
+
+    @Value("${skiers.hot-keys.top:100}")
+    private int top = 100;
+
+    @Value("${skiers.hot-keys.pinned:50}")
+    private int pinned = 50;
+
+    @Value("${skiers.hot-keys.refresh-interval:10s}")
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    @Value("${skiers.hot-keys.decay-interval:60s}")
+    private Duration decayInterval = Duration.ofSeconds(60);
+
+    @Value("${skiers.hot-keys.persist-interval:60s}")
+    private Duration persistInterval = Duration.ofSeconds(60);
+
+    private FrequencyTracker tracker;
+    // Pinned values by key; a pinned key without a value yet loads on its next read
+    private final Map<HotKey, Object> values = new ConcurrentHashMap<>();
+    private volatile Set<HotKey> pinnedKeys = Set.of();
+    // Bumped by invalidate for every key hashing to the stripe, under the key's lock in values
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private ScheduledExecutorService ticker;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void start() {
+        tracker = new FrequencyTracker(sketchWidth, top);
+        hits = meterRegistry.counter("skiers.hot-keys.cache", "result", "hit");
+        misses = meterRegistry.counter("skiers.hot-keys.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("skiers.hot-keys.pinned", List.of(), values);
+        if (!enabled) {
+            return;
+        }
+
+        ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "hot-keys");
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedule(this::refresh, refreshInterval);
+        schedule(tracker::decay, decayInterval);
+        schedule(this::persist, persistInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    // Counts the read and serves it from memory when the key is pinned, else runs load
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(HotKey key, Supplier<Optional<T>> load) {
+        if (!enabled) {
+            return load.get();
+        }
+        tracker.record(key);
+        Object value = values.get(key);
+        if (value != null) {
+            hits.increment();
+            return Optional.of((T) value);
+        }
+        misses.increment();
+        long generation = generations.get(stripe(key));
+        Optional<T> loaded = load.get();
+        if (loaded.isPresent() && pinnedKeys.contains(key)) {
+            pin(key, generation, loaded.get());
+        }
+        return loaded;
+    }
+
+    // Counts a read that is not cached, e.g. season verticals with a request body filter
+    public void record(HotKey key) {
+        if (enabled) {
+            tracker.record(key);
+        }
+    }
+
+    // Call after a write to the key; the next read or refresh loads it again
+    public void invalidate(HotKey key) {
+        values.compute(key, (k, value) -> {
+            generations.incrementAndGet(stripe(k));
+            return null;
+        });
+    }
+
+    public List<Map.Entry<HotKey, Long>> getTop(int limit) {
+        return tracker.top(limit);
+    }
+
+    public boolean isPinned(HotKey key) {
+        return values.containsKey(key);
+    }
+
+    // Seeds the sketch with the keys saved by the last run and loads the cacheable ones, so the
+    // hot keys are served from memory before traffic has picked them out again
+    public void prewarm() {
+        if (!enabled) {
+            return;
+        }
+        int loaded = 0;
+        for (Document saved : collection().find()) {
+            HotKey key;
+            try {
+                key = HotKey.parse(saved.getString("_id"));
+            } catch (RuntimeException e) {
+                continue;
+            }
+            Number count = saved.get("count", Number.class);
+            tracker.add(key, count != null ? count.longValue() : 1);
+            loaded++;
+        }
+        refresh();
+        log.info("Pre-warmed {} of {} saved hot keys", values.size(), loaded);
+    }
+
+    // Pins the hottest cacheable keys and reloads their values
+    void refresh() {
+        try {
+            Set<HotKey> hottest = new HashSet<>();
+            for (Map.Entry<HotKey, Long> entry : tracker.top(top)) {
+                if (entry.getKey().kind() != HotKey.Kind.SKIER && hottest.size() < pinned) {
+                    hottest.add(entry.getKey());
+                }
+            }
+            pinnedKeys = hottest;
+            values.keySet().retainAll(hottest);
+            for (HotKey key : hottest) {
+                long generation = generations.get(stripe(key));
+                pin(key, generation, load(key));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refreshing pinned hot keys failed", e);
+        }
+    }
+
+    void persist() {
+        try {
+            List<Map.Entry<HotKey, Long>> hottest = tracker.top(top);
+            if (hottest.isEmpty()) {
+                return;
+            }
+            List<WriteModel<Document>> writes = new ArrayList<>(hottest.size());
+            List<String> ids = new ArrayList<>(hottest.size());
+            for (Map.Entry<HotKey, Long> entry : hottest) {
+                String id = entry.getKey().toString();
+                ids.add(id);
+                writes.add(new ReplaceOneModel<>(Filters.eq("_id", id),
+                        new Document("_id", id).append("count", entry.getValue()), UPSERT));
+            }
+            MongoCollection<Document> collection = collection();
+            collection.bulkWrite(writes);
+            collection.deleteMany(Filters.nin("_id", ids));
+        } catch (RuntimeException e) {
+            log.warn("Saving hot keys failed", e);
+        }
+    }
+
+    // Keeps a value loaded since generation was read, or drops the key when value is null, unless a
+    // write invalidated the key in the meantime: the value may predate that write
+    private void pin(HotKey key, long generation, Object value) {
+        values.compute(key, (k, current) -> generations.get(stripe(k)) == generation ? value : current);
+    }
+
+    private static int stripe(HotKey key) {
+        return key.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    // Same queries and read routes as the endpoints; empty results are not pinned
+    private Object load(HotKey key) {
+        return switch (key.kind()) {
+            case RESORT -> readRouter.read("getSeasonsByResort",
+                    () -> resortCatalogRepository.findByResortID(key.resortID())).orElse(null);
+            case RESORT_DAY -> readRouter.read("getNumSkiers",
+                    () -> resortDayRepository.findByResortIDAndSeasonIdAndDayId(key.resortID(), key.seasonId(), key.dayId()))
+                    .orElse(null);
+            case SKIER_DAY -> readRouter.read("getTotalVertical",
+                    () -> skierDayRepository.findByResortIDAndSeasonIdAndDayIdAndSkierId(key.resortID(), key.seasonId(),
+                            key.dayId(), key.skierId())).orElse(null);
+            case SKIER -> null;
+        };
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+    private void schedule(Runnable task, Duration interval) {
+        ticker.scheduleWithFixedDelay(task, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
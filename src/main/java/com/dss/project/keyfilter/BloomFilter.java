@@ -0,0 +1,73 @@
+package com.dss.project.keyfilter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// A fixed-size Bloom filter sized for capacity keys at the given false-positive rate. Bits are set
+// with lock-free ORs, so adds and lookups run concurrently; a lookup racing an add of the same
+// key may miss it, which callers avoid by adding before the key is visible in the database.
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+    private final long capacity;
+    private final AtomicLong added = new AtomicLong();
+
+    BloomFilter(long capacity, double falsePositiveRate) {
+        // m = -n ln p / (ln 2)^2, k = m / n ln 2
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact(Math.max(1, (optimalBits + 63) >>> 6)));
+        this.numBits = (long) bits.length() << 6;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    static long bytesFor(long capacity, double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        return (optimalBits + 63) >>> 6 << 3;
+    }
+
+    void add(long hash) {
+        long h1 = hash;
+        long h2 = hash >>> 32 | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        added.incrementAndGet();
+    }
+
+    boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = hash >>> 32 | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits.get((int) (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isFull() {
+        return added.get() >= capacity;
+    }
+
+    long getCapacity() {
+        return capacity;
+    }
+
+    long getAdded() {
+        return added.get();
+    }
+
+    long getBytes() {
+        return (long) bits.length() << 3;
+    }
+}
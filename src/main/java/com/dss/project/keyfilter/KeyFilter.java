@@ -0,0 +1,281 @@
+package com.dss.project.keyfilter;
+
+import com.dss.project.model.ResortDay;
+import com.dss.project.model.SkierDay;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Membership filters over the (resortID, seasonId, dayId, skierId) keys of SkierDays and the
+// (resortID, seasonId, dayId) keys of ResortDays, so lookups of keys that do not exist can answer
+// 404 without a query. Built from a projected scan once the application is ready and rebuilt every
+// skiers.key-filter.rebuild-interval, which also picks up rows loaded by other processes such as
+// a bulk import; until the first build finishes every key is reported as possibly present.
+// Rows written by this process are added with addSkierDay/addResortDay before and after the write.
+// Archived seasons are no longer in SkierDays, so rebuilds leave them out.
+@Service
+public class KeyFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyFilter.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${skiers.key-filter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${skiers.key-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    // Per filter; the first stage is sized to the collection, later stages grow within this
+    @Value("${skiers.key-filter.max-memory:64MB}")
+    private DataSize maxMemory = DataSize.ofMegabytes(64);
+
+    @Value("${skiers.key-filter.rebuild-interval:10m}")
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    @Value("${skiers.key-filter.batch-size:10000}")
+    private int batchSize = 10000;
+
+    private final Keys skierDays = new Keys("skier-days");
+    private final Keys resortDays = new Keys("resort-days");
+    private ScheduledExecutorService rebuilder;
+
+    @PostConstruct
+    public void init() {
+        skierDays.register();
+        resortDays.register();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        rebuilder = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "key-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0, rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    // False only when the skier-day certainly does not exist
+    public boolean mightHaveSkierDay(int resortID, int seasonId, int dayId, int skierId) {
+        return skierDays.mightContain(hash(resortID, seasonId, dayId, skierId));
+    }
+
+    // False only when the resort-day certainly does not exist
+    public boolean mightHaveResortDay(int resortID, int seasonId, int dayId) {
+        return resortDays.mightContain(hash(resortID, seasonId, dayId, 0));
+    }
+
+    public void addSkierDay(int resortID, int seasonId, int dayId, int skierId) {
+        skierDays.add(hash(resortID, seasonId, dayId, skierId));
+    }
+
+    public void addResortDay(int resortID, int seasonId, int dayId) {
+        resortDays.add(hash(resortID, seasonId, dayId, 0));
+    }
+
+    // For bulk writes that cannot add each key around its write: every key counts as possibly
+    // present until resume() has rebuilt the filters
+    public void suspend() {
+        skierDays.suspend();
+        resortDays.suspend();
+    }
+
+    public void resume() {
+        skierDays.resume();
+        resortDays.resume();
+        if (rebuilder != null) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    void rebuild() {
+        try {
+            long startNanos = System.nanoTime();
+            build(skierDays, mongoTemplate.getCollectionName(SkierDay.class), true);
+            build(resortDays, mongoTemplate.getCollectionName(ResortDay.class), false);
+            log.info("Key filters built in {} ms: {} skier-days in {} KB, {} resort-days in {} KB",
+                    (System.nanoTime() - startNanos) / 1_000_000, skierDays.keys(), skierDays.bytes() / 1024,
+                    resortDays.keys(), resortDays.bytes() / 1024);
+        } catch (RuntimeException e) {
+            // The filters in use stay as they are until the next rebuild
+            log.warn("Building the key filters failed", e);
+        }
+    }
+
+    private void build(Keys keys, String collectionName, boolean withSkier) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+        long expected = collection.estimatedDocumentCount();
+        // Headroom for rows added before the next rebuild, within half the budget so it can still grow
+        long capacity = Math.max(1024, expected + expected / 4);
+        while (capacity > 1024 && BloomFilter.bytesFor(capacity, falsePositiveRate) > maxMemory.toBytes() / 2) {
+            capacity /= 2;
+        }
+        ScalableBloomFilter filter = new ScalableBloomFilter(capacity, falsePositiveRate, maxMemory.toBytes());
+        if (!keys.startBuild(filter)) {
+            return;
+        }
+
+        String[] fields = withSkier
+                ? new String[]{"resortID", "seasonId", "dayId", "skierId"}
+                : new String[]{"resortID", "seasonId", "dayId"};
+        try (MongoCursor<Document> cursor = collection.find()
+                .projection(Projections.fields(Projections.include(fields), Projections.excludeId()))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document key = cursor.next();
+                Integer resortID = key.getInteger("resortID");
+                Integer seasonId = key.getInteger("seasonId");
+                Integer dayId = key.getInteger("dayId");
+                Integer skierId = withSkier ? key.getInteger("skierId") : Integer.valueOf(0);
+                if (resortID != null && seasonId != null && dayId != null && skierId != null) {
+                    filter.add(hash(resortID, seasonId, dayId, skierId));
+                }
+            }
+        } catch (RuntimeException e) {
+            keys.abandonBuild(filter);
+            throw e;
+        }
+        keys.finishBuild(filter);
+        if (filter.isOverBudget()) {
+            log.warn("The {} key filter is over skiers.key-filter.max-memory, its false-positive rate is above {}",
+                    keys.name, falsePositiveRate);
+        }
+    }
+
+    static long hash(int resortID, int seasonId, int dayId, int skierId) {
+        long h = mix(((long) resortID << 32) ^ (seasonId & 0xFFFFFFFFL));
+        return mix(h ^ ((long) dayId << 32 | skierId & 0xFFFFFFFFL));
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ h >>> 33;
+    }
+
+    // The filter in use and the one being built, swapped under the lock so no add is lost
+    private final class Keys {
+
+        private final String name;
+        private volatile ScalableBloomFilter current;
+        private ScalableBloomFilter building;
+        private boolean suspended;
+        private Counter absent;
+        private Counter maybe;
+
+        private Keys(String name) {
+            this.name = name;
+        }
+
+        void register() {
+            absent = Counter.builder("skiers.key-filter.lookups")
+                    .description("Lookups answered without a query")
+                    .tags("filter", name, "result", "absent")
+                    .register(meterRegistry);
+            maybe = Counter.builder("skiers.key-filter.lookups")
+                    .tags("filter", name, "result", "maybe")
+                    .register(meterRegistry);
+            Gauge.builder("skiers.key-filter.bytes", this, Keys::bytes).tags("filter", name).register(meterRegistry);
+        }
+
+        boolean mightContain(long hash) {
+            ScalableBloomFilter filter = current;
+            if (filter == null || filter.mightContain(hash)) {
+                if (filter != null) {
+                    maybe.increment();
+                }
+                return true;
+            }
+            absent.increment();
+            return false;
+        }
+
+        synchronized void add(long hash) {
+            if (current != null) {
+                current.add(hash);
+            }
+            if (building != null) {
+                building.add(hash);
+            }
+        }
+
+        synchronized boolean startBuild(ScalableBloomFilter filter) {
+            if (suspended) {
+                return false;
+            }
+            building = filter;
+            return true;
+        }
+
+        synchronized void finishBuild(ScalableBloomFilter filter) {
+            if (building == filter) {
+                current = filter;
+                building = null;
+            }
+        }
+
+        synchronized void abandonBuild(ScalableBloomFilter filter) {
+            if (building == filter) {
+                building = null;
+            }
+        }
+
+        synchronized void suspend() {
+            suspended = true;
+            current = null;
+            building = null;
+        }
+
+        synchronized void resume() {
+            suspended = false;
+        }
+
+        long keys() {
+            ScalableBloomFilter filter = current;
+            return filter != null ? filter.getKeys() : 0;
+        }
+
+        long bytes() {
+            ScalableBloomFilter filter = current;
+            return filter != null ? filter.getBytes() : 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.dss.project.keyfilter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// A Bloom filter that grows with its keys: when the newest stage holds its capacity a stage twice
+// as large is added, each with half the false-positive rate of the one before, so the combined
+// rate stays under 2 * falsePositiveRate however many stages there are. Once another stage would
+// take the total past maxBytes the newest stage keeps taking keys and its rate rises instead.
+final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final double falsePositiveRate;
+    private final long maxBytes;
+    private final List<BloomFilter> stages = new CopyOnWriteArrayList<>();
+    private volatile boolean capped;
+
+    ScalableBloomFilter(long initialCapacity, double falsePositiveRate, long maxBytes) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBytes = maxBytes;
+        stages.add(new BloomFilter(Math.max(1, initialCapacity), falsePositiveRate));
+    }
+
+    void add(long hash) {
+        BloomFilter newest = stages.get(stages.size() - 1);
+        if (newest.isFull() && !capped) {
+            newest = grow(newest);
+        }
+        newest.add(hash);
+    }
+
+    boolean mightContain(long hash) {
+        for (BloomFilter stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getStages() {
+        return stages.size();
+    }
+
+    long getBytes() {
+        long bytes = 0;
+        for (BloomFilter stage : stages) {
+            bytes += stage.getBytes();
+        }
+        return bytes;
+    }
+
+    long getKeys() {
+        long keys = 0;
+        for (BloomFilter stage : stages) {
+            keys += stage.getAdded();
+        }
+        return keys;
+    }
+
+    // True once the memory budget stopped growth and the newest stage is past its capacity
+    boolean isOverBudget() {
+        BloomFilter newest = stages.get(stages.size() - 1);
+        return capped && newest.getAdded() > newest.getCapacity();
+    }
+
+    private synchronized BloomFilter grow(BloomFilter full) {
+        BloomFilter newest = stages.get(stages.size() - 1);
+        if (newest != full) {
+            return newest;
+        }
+        long capacity = full.getCapacity() * GROWTH;
+        double rate = falsePositiveRate * Math.pow(TIGHTENING, stages.size());
+        if (getBytes() + BloomFilter.bytesFor(capacity, rate) > maxBytes) {
+            capped = true;
+            return full;
+        }
+        BloomFilter next = new BloomFilter(capacity, rate);
+        stages.add(next);
+        return next;
+    }
+}
@@ -0,0 +1,205 @@
+package com.dss.project.migration;
+
+import com.dss.project.keyfilter.KeyFilter;
+import com.dss.project.model.Resort;
+import com.dss.project.model.ResortDay;
+import com.dss.project.model.SkierDay;
+import com.dss.project.model.Skiers;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// One-shot copy of the legacy ResortsList rows into Resorts, ResortDays and SkierDays.
+// Runs in the background once the context is up, after IndexSetup, and keeps the readiness probe
+// down (WarmupHealthIndicator) until both are done, so no traffic is sent while legacy rows are
+// still only in ResortsList. A failed run is retried every retry-delay. Every write is an upsert with $setOnInsert, so a document already written
+// through the API is never overwritten and a run interrupted half way can simply be repeated.
+// A marker document in Migrations stops it from running again; ResortsList is left in place.
+@Component
+public class ResortsListMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(ResortsListMigration.class);
+
+    static final String MARKER_COLLECTION = "Migrations";
+    static final String MARKER_ID = "resorts-list-split";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private KeyFilter keyFilter;
+
+    @Autowired
+    private IndexSetup indexSetup;
+
+    @Value("${skiers.migration.resorts-list.enabled:true}")
+    private boolean enabled;
+
+    @Value("${skiers.migration.resorts-list.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${skiers.migration.resorts-list.retry-delay:30s}")
+    private Duration retryDelay = Duration.ofSeconds(30);
+
+    private volatile boolean complete;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::run, "resorts-list-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // True once the indexes exist and the copy is done, or skipped because this process is not
+    // configured to run it
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                indexSetup.ensureIndexes();
+                if (enabled) {
+                    migrate();
+                }
+                complete = true;
+                return;
+            } catch (RuntimeException e) {
+                log.error("ResortsList migration failed, retrying in {}", retryDelay, e);
+                // Rebuilds the key filters from what was copied before the failure
+                keyFilter.resume();
+            }
+            try {
+                Thread.sleep(retryDelay.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    public void migrate() {
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(MARKER_ID)), MARKER_COLLECTION)) {
+            return;
+        }
+
+        long rows = 0;
+        if (mongoTemplate.collectionExists(Skiers.class)) {
+            log.info("Migrating ResortsList into Resorts, ResortDays and SkierDays");
+            // New skier-days and resort-days must not be reported missing while they are copied
+            keyFilter.suspend();
+
+            // The catalog is tiny, so names and seasons are collected per resort and written at the end
+            Map<Integer, String> names = new LinkedHashMap<>();
+            Map<Integer, Set<String>> seasons = new LinkedHashMap<>();
+            Batch resortDays = new Batch(ResortDay.class);
+            Batch skierDays = new Batch(SkierDay.class);
+
+            try (Stream<Skiers> legacy = mongoTemplate.stream(new Query(), Skiers.class)) {
+                for (Skiers row : (Iterable<Skiers>) legacy::iterator) {
+                    rows++;
+                    Integer resortID = row.getResortID();
+                    if (resortID == null) {
+                        continue;
+                    }
+                    if (row.getResortName() != null) {
+                        names.putIfAbsent(resortID, row.getResortName());
+                    }
+                    Set<String> resortSeasons = seasons.computeIfAbsent(resortID, id -> new LinkedHashSet<>());
+                    if (row.getSeasons() != null) {
+                        resortSeasons.addAll(row.getSeasons());
+                    }
+
+                    if (row.getSeasonId() == null || row.getDayId() == null) {
+                        continue;
+                    }
+                    if (row.getNumSkiers() != null) {
+                        resortDays.upsert(Query.query(day(row)), new Update().setOnInsert("numSkiers", row.getNumSkiers()));
+                    }
+                    if (row.getSkierId() != null) {
+                        Update update = new Update();
+                        setOnInsert(update, "liftId", row.getLiftId());
+                        setOnInsert(update, "time", row.getTime());
+                        setOnInsert(update, "totalVert", row.getTotalVert());
+                        skierDays.upsert(Query.query(day(row).and("skierId").is(row.getSkierId())), update);
+                    }
+                }
+            }
+            resortDays.flush();
+            skierDays.flush();
+            keyFilter.resume();
+
+            Batch resorts = new Batch(Resort.class);
+            for (Map.Entry<Integer, Set<String>> entry : seasons.entrySet()) {
+                Update update = new Update().addToSet("seasons").each(entry.getValue().toArray());
+                setOnInsert(update, "resortName", names.get(entry.getKey()));
+                resorts.upsert(Query.query(Criteria.where("resortID").is(entry.getKey())), update);
+            }
+            resorts.flush();
+        }
+
+        mongoTemplate.save(new Document("_id", MARKER_ID)
+                .append("completedAt", new Date())
+                .append("rows", rows), MARKER_COLLECTION);
+        log.info("ResortsList migration finished, {} rows copied", rows);
+    }
+
+    private static Criteria day(Skiers row) {
+        return Criteria.where("resortID").is(row.getResortID())
+                .and("seasonId").is(row.getSeasonId())
+                .and("dayId").is(row.getDayId());
+    }
+
+    private static void setOnInsert(Update update, String key, Object value) {
+        if (value != null) {
+            update.setOnInsert(key, value);
+        }
+    }
+
+    private final class Batch {
+
+        private final Class<?> entityClass;
+        private BulkOperations operations;
+        private int size;
+
+        Batch(Class<?> entityClass) {
+            this.entityClass = entityClass;
+        }
+
+        void upsert(Query query, Update update) {
+            if (operations == null) {
+                operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+            }
+            operations.upsert(query, update);
+            if (++size == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (size > 0) {
+                operations.execute();
+                operations = null;
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.dss.project.model;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+// Resort catalog: one small document per resort
+@Document(collection = "Resorts")
+public class Resort {
+
+    @Id
+    private ObjectId objectId;
+    @Field
+    @Indexed(unique = true)
+    private Integer resortID;
+    @Field
+    private String resortName;
+    @Field
+    private List<String> seasons;
+
+    public Resort() {
+    }
+
+    public Resort(ObjectId objectId, Integer resortID, String resortName, List<String> seasons) {
+        this.objectId = objectId;
+        this.resortID = resortID;
+        this.resortName = resortName;
+        this.seasons = seasons;
+    }
+
+    public ObjectId getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(ObjectId objectId) {
+        this.objectId = objectId;
+    }
+
+    public Integer getResortID() {
+        return resortID;
+    }
+
+    public void setResortID(Integer resortID) {
+        this.resortID = resortID;
+    }
+
+    public String getResortName() {
+        return resortName;
+    }
+
+    public void setResortName(String resortName) {
+        this.resortName = resortName;
+    }
+
+    public List<String> getSeasons() {
+        return seasons;
+    }
+
+    public void setSeasons(List<String> seasons) {
+        this.seasons = seasons;
+    }
+
+    @Override
+    public String toString() {
+        return "Resort{" +
+                "objectId=" + objectId +
+                ", resortID=" + resortID +
+                ", resortName='" + resortName + '\'' +
+                ", seasons=" + seasons +
+                '}';
+    }
+}
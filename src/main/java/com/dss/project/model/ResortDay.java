@@ -0,0 +1,86 @@
+package com.dss.project.model;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+// Per resort-day aggregates
+@Document(collection = "ResortDays")
+@CompoundIndex(name = "resort_season_day", def = "{'resortID': 1, 'seasonId': 1, 'dayId': 1}", unique = true)
+public class ResortDay {
+
+    @Id
+    private ObjectId objectId;
+    @Field
+    private Integer resortID;
+    @Field
+    private Integer seasonId;
+    @Field
+    private Integer dayId;
+    @Field
+    private Integer numSkiers;
+
+    public ResortDay() {
+    }
+
+    public ResortDay(ObjectId objectId, Integer resortID, Integer seasonId, Integer dayId, Integer numSkiers) {
+        this.objectId = objectId;
+        this.resortID = resortID;
+        this.seasonId = seasonId;
+        this.dayId = dayId;
+        this.numSkiers = numSkiers;
+    }
+
+    public ObjectId getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(ObjectId objectId) {
+        this.objectId = objectId;
+    }
+
+    public Integer getResortID() {
+        return resortID;
+    }
+
+    public void setResortID(Integer resortID) {
+        this.resortID = resortID;
+    }
+
+    public Integer getSeasonId() {
+        return seasonId;
+    }
+
+    public void setSeasonId(Integer seasonId) {
+        this.seasonId = seasonId;
+    }
+
+    public Integer getDayId() {
+        return dayId;
+    }
+
+    public void setDayId(Integer dayId) {
+        this.dayId = dayId;
+    }
+
+    public Integer getNumSkiers() {
+        return numSkiers;
+    }
+
+    public void setNumSkiers(Integer numSkiers) {
+        this.numSkiers = numSkiers;
+    }
+
+    @Override
+    public String toString() {
+        return "ResortDay{" +
+                "objectId=" + objectId +
+                ", resortID=" + resortID +
+                ", seasonId=" + seasonId +
+                ", dayId=" + dayId +
+                ", numSkiers=" + numSkiers +
+                '}';
+    }
+}
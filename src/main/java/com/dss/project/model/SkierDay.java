@@ -0,0 +1,127 @@
+package com.dss.project.model;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+// Slim per skier-day ride facts, no resort metadata
+@Document(collection = "SkierDays")
+@CompoundIndexes({
+        @CompoundIndex(name = "resort_season_day_skier", def = "{'resortID': 1, 'seasonId': 1, 'dayId': 1, 'skierId': 1}", unique = true),
+        @CompoundIndex(name = "skier_resort", def = "{'skierId': 1, 'resortID': 1}")
+})
+public class SkierDay {
+
+    @Id
+    private ObjectId objectId;
+    @Field
+    private Integer resortID;
+    @Field
+    private Integer seasonId;
+    @Field
+    private Integer dayId;
+    @Field
+    private Integer skierId;
+    @Field
+    private Integer liftId;
+    @Field
+    private Integer time;
+    @Field
+    private Integer totalVert;
+
+    public SkierDay() {
+    }
+
+    public SkierDay(ObjectId objectId, Integer resortID, Integer seasonId, Integer dayId, Integer skierId,
+                    Integer liftId, Integer time, Integer totalVert) {
+        this.objectId = objectId;
+        this.resortID = resortID;
+        this.seasonId = seasonId;
+        this.dayId = dayId;
+        this.skierId = skierId;
+        this.liftId = liftId;
+        this.time = time;
+        this.totalVert = totalVert;
+    }
+
+    public ObjectId getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(ObjectId objectId) {
+        this.objectId = objectId;
+    }
+
+    public Integer getResortID() {
+        return resortID;
+    }
+
+    public void setResortID(Integer resortID) {
+        this.resortID = resortID;
+    }
+
+    public Integer getSeasonId() {
+        return seasonId;
+    }
+
+    public void setSeasonId(Integer seasonId) {
+        this.seasonId = seasonId;
+    }
+
+    public Integer getDayId() {
+        return dayId;
+    }
+
+    public void setDayId(Integer dayId) {
+        this.dayId = dayId;
+    }
+
+    public Integer getSkierId() {
+        return skierId;
+    }
+
+    public void setSkierId(Integer skierId) {
+        this.skierId = skierId;
+    }
+
+    public Integer getLiftId() {
+        return liftId;
+    }
+
+    public void setLiftId(Integer liftId) {
+        this.liftId = liftId;
+    }
+
+    public Integer getTime() {
+        return time;
+    }
+
+    public void setTime(Integer time) {
+        this.time = time;
+    }
+
+    public Integer getTotalVert() {
+        return totalVert;
+    }
+
+    public void setTotalVert(Integer totalVert) {
+        this.totalVert = totalVert;
+    }
+
+    @Override
+    public String toString() {
+        return "SkierDay{" +
+                "objectId=" + objectId +
+                ", resortID=" + resortID +
+                ", seasonId=" + seasonId +
+                ", dayId=" + dayId +
+                ", skierId=" + skierId +
+                ", liftId=" + liftId +
+                ", time=" + time +
+                ", totalVert=" + totalVert +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package com.dss.project.model;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.List;
+
+// All lift rides of one skier on one resort-day; liftIds[i] and times[i] describe ride i
+@Document(collection = "SkierRideBuckets")
+@CompoundIndex(name = "skier_resort_season_day", def = "{'skierId': 1, 'resortID': 1, 'seasonId': 1, 'dayId': 1}", unique = true)
+public class SkierRideBucket {
+
+    @Id
+    private ObjectId objectId;
+    @Field
+    private Integer skierId;
+    @Field
+    private Integer resortID;
+    @Field
+    private Integer seasonId;
+    @Field
+    private Integer dayId;
+    @Field
+    private List<Integer> liftIds;
+    @Field
+    private List<Integer> times;
+    @Field
+    private Integer rideCount;
+    @Field
+    private Integer firstTime;
+    @Field
+    private Integer lastTime;
+
+    public SkierRideBucket() {
+    }
+
+    public ObjectId getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(ObjectId objectId) {
+        this.objectId = objectId;
+    }
+
+    public Integer getSkierId() {
+        return skierId;
+    }
+
+    public void setSkierId(Integer skierId) {
+        this.skierId = skierId;
+    }
+
+    public Integer getResortID() {
+        return resortID;
+    }
+
+    public void setResortID(Integer resortID) {
+        this.resortID = resortID;
+    }
+
+    public Integer getSeasonId() {
+        return seasonId;
+    }
+
+    public void setSeasonId(Integer seasonId) {
+        this.seasonId = seasonId;
+    }
+
+    public Integer getDayId() {
+        return dayId;
+    }
+
+    public void setDayId(Integer dayId) {
+        this.dayId = dayId;
+    }
+
+    public List<Integer> getLiftIds() {
+        return liftIds;
+    }
+
+    public void setLiftIds(List<Integer> liftIds) {
+        this.liftIds = liftIds;
+    }
+
+    public List<Integer> getTimes() {
+        return times;
+    }
+
+    public void setTimes(List<Integer> times) {
+        this.times = times;
+    }
+
+    public Integer getRideCount() {
+        return rideCount;
+    }
+
+    public void setRideCount(Integer rideCount) {
+        this.rideCount = rideCount;
+    }
+
+    public Integer getFirstTime() {
+        return firstTime;
+    }
+
+    public void setFirstTime(Integer firstTime) {
+        this.firstTime = firstTime;
+    }
+
+    public Integer getLastTime() {
+        return lastTime;
+    }
+
+    public void setLastTime(Integer lastTime) {
+        this.lastTime = lastTime;
+    }
+
+    @Override
+    public String toString() {
+        return "SkierRideBucket{" +
+                "objectId=" + objectId +
+                ", skierId=" + skierId +
+                ", resortID=" + resortID +
+                ", seasonId=" + seasonId +
+                ", dayId=" + dayId +
+                ", rideCount=" + rideCount +
+                ", firstTime=" + firstTime +
+                ", lastTime=" + lastTime +
+                '}';
+    }
+}
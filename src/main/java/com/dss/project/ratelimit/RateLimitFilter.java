@@ -0,0 +1,181 @@
+package com.dss.project.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+// Per-client rate limits for each route group, keyed by the skiers.rate-limit.client-header value
+// when it is one of skiers.rate-limit.api-keys, or else the source address, so clients cannot get
+// a fresh bucket by sending a new header value. Rate and burst are set per group with
+// skiers.rate-limit.<ingest|read|admin>.rate (requests per second) and .burst. Allowed responses
+// carry RateLimit-Limit/-Remaining/-Reset, refused ones get 429 with Retry-After.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS = "{\"message\":\"Too many requests, retry later\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    // Header values for small numbers, so allowed requests format nothing
+    private static final String[] NUMBERS = new String[1025];
+
+    static {
+        for (int i = 0; i < NUMBERS.length; i++) {
+            NUMBERS[i] = Integer.toString(i);
+        }
+    }
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${skiers.rate-limit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${skiers.rate-limit.client-header:X-API-Key}")
+    private String clientHeader = "X-API-Key";
+
+    @Value("${skiers.rate-limit.api-keys:}")
+    private Set<String> apiKeys = Set.of();
+
+    @Value("${skiers.rate-limit.table-size:65536}")
+    private int tableSize = 65536;
+
+    private Group ingest;
+    private Group read;
+    private Group admin;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        ingest = group("ingest", 2000, 4000);
+        read = group("read", 500, 1000);
+        admin = group("admin", 20, 40);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Group group = group(request.getMethod(), request.getServletPath());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String client = request.getHeader(clientHeader);
+        boolean known = client != null && !client.isEmpty() && apiKeys.contains(client);
+        long key = hash(group.seed, known ? client : request.getRemoteAddr());
+        long result = group.buckets.tryAcquire(key);
+
+        response.setHeader("RateLimit-Limit", group.limit);
+        response.setHeader("RateLimit-Policy", group.policy);
+        if (result >= 0) {
+            response.setHeader("RateLimit-Remaining", number(result));
+            response.setHeader("RateLimit-Reset", number(seconds((group.buckets.getBurst() - result) * group.buckets.getIntervalNanos())));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        group.rejected.increment();
+        String retryAfter = number(seconds(-result));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("RateLimit-Remaining", "0");
+        response.setHeader("RateLimit-Reset", retryAfter);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS);
+    }
+
+    // Paths are relative to the /v1 context path; actuator and API docs are not limited
+    private Group group(String method, String path) {
+        if (path.startsWith("/statistics")) {
+            return admin;
+        }
+        boolean skiers = path.startsWith("/skiers");
+        boolean resorts = path.startsWith("/resorts");
+        if ("POST".equals(method)) {
+            // The batch vertical lookup is a read that takes its skierIds as a body
+            if (path.equals("/skiers/vertical")) {
+                return read;
+            }
+            return skiers ? ingest : resorts ? admin : null;
+        }
+        return skiers || resorts ? read : null;
+    }
+
+    private Group group(String name, double defaultRate, int defaultBurst) {
+        String prefix = "skiers.rate-limit." + name + ".";
+        double rate = environment.getProperty(prefix + "rate", Double.class, defaultRate);
+        int burst = environment.getProperty(prefix + "burst", Integer.class, defaultBurst);
+        return new Group(name, new TokenBucketTable(tableSize, rate, burst), rate, meterRegistry);
+    }
+
+    // FNV-1a over the characters, seeded per group so one client gets a bucket in each group
+    private static long hash(long seed, String client) {
+        long hash = seed;
+        for (int i = 0; i < client.length(); i++) {
+            hash ^= client.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    private static String number(long value) {
+        return value < NUMBERS.length ? NUMBERS[(int) value] : Long.toString(value);
+    }
+
+    private static final class Group {
+
+        private final long seed;
+        private final TokenBucketTable buckets;
+        private final String limit;
+        private final String policy;
+        private final Counter rejected;
+
+        private Group(String name, TokenBucketTable buckets, double rate, MeterRegistry meterRegistry) {
+            this.seed = 0xcbf29ce484222325L ^ name.hashCode();
+            this.buckets = buckets;
+            this.limit = Integer.toString(buckets.getBurst());
+            // Burst requests per the window it takes to refill them
+            long window = Math.max(1, Math.round(buckets.getBurst() / rate));
+            this.policy = buckets.getBurst() + ";w=" + window;
+            this.rejected = meterRegistry.counter("skiers.ratelimit.rejected", "group", name);
+            FunctionCounter.builder("skiers.ratelimit.table.evictions", buckets, TokenBucketTable::getEvictions)
+                    .tag("group", name)
+                    .register(meterRegistry);
+        }
+    }
+}
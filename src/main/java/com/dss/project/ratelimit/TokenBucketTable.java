@@ -0,0 +1,130 @@
+package com.dss.project.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-size, lock-free table of token buckets keyed by a 64-bit client hash. Each bucket is a
+// single long: the time at which it will be full again (GCRA, the virtual-scheduling form of a
+// token bucket). Taking a token is one CAS that pushes that time forward by one token interval,
+// and is refused when it would land more than burst intervals in the future. A bucket whose full
+// time has passed holds nothing worth keeping, so its slot is free for any other client: entries
+// expire without a sweeper and nothing is allocated per call. When every slot a client may use is
+// busy it takes over the one that empties soonest, together with what is left of its backlog, so a
+// crowded table never hands out more than a burst.
+public final class TokenBucketTable {
+
+    // Linear probing distance, the slots a client may use
+    private static final int MAX_PROBES = 16;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray fullAt;
+    private final int mask;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final int burst;
+    private final long epoch = System.nanoTime();
+    private final LongAdder evictions = new LongAdder();
+
+    public TokenBucketTable(int size, double ratePerSecond, int burst) {
+        int capacity = Integer.highestOneBit(Math.max(size, MAX_PROBES) - 1) << 1;
+        this.keys = new AtomicLongArray(capacity);
+        this.fullAt = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burst = burst;
+        this.capacityNanos = intervalNanos * burst;
+    }
+
+    // Remaining tokens (>= 0) if a token was taken, otherwise -(nanoseconds until one is available)
+    public long tryAcquire(long key) {
+        return tryAcquire(key, System.nanoTime() - epoch);
+    }
+
+    long tryAcquire(long key, long now) {
+        if (key == 0) {
+            key = 1;
+        }
+        int start = mix(key) & mask;
+        // The client's bucket may sit past a free slot, so the whole window is searched before claiming
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (start + probe) & mask;
+            if (keys.get(slot) == key) {
+                return take(slot, now);
+            }
+        }
+        while (true) {
+            int soonest = -1;
+            long soonestFull = Long.MAX_VALUE;
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int slot = (start + probe) & mask;
+                long owner = keys.get(slot);
+                if (owner == key) {
+                    return take(slot, now);
+                }
+                long full = fullAt.get(slot);
+                if (owner == 0 || full <= now) {
+                    // Empty or expired: claim it. A request of the previous owner racing this claim may
+                    // be charged to the new one, which costs that client at most one token.
+                    if (keys.compareAndSet(slot, owner, key)) {
+                        return take(slot, now);
+                    }
+                    if (keys.get(slot) == key) {
+                        return take(slot, now);
+                    }
+                } else if (full < soonestFull) {
+                    soonest = slot;
+                    soonestFull = full;
+                }
+            }
+            // Crowded: evict the bucket that empties soonest; its backlog stays with the slot. Lost
+            // races go round again.
+            if (soonest >= 0) {
+                long owner = keys.get(soonest);
+                if (owner == key) {
+                    return take(soonest, now);
+                }
+                if (keys.compareAndSet(soonest, owner, key)) {
+                    evictions.increment();
+                    return take(soonest, now);
+                }
+            }
+        }
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    private long take(int slot, long now) {
+        while (true) {
+            long current = fullAt.get(slot);
+            long next = Math.max(current, now) + intervalNanos;
+            long backlog = next - now;
+            if (backlog > capacityNanos) {
+                return -(backlog - capacityNanos);
+            }
+            if (fullAt.compareAndSet(slot, current, next)) {
+                return (capacityNanos - backlog) / intervalNanos;
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,47 @@
+package com.dss.project.repository;
+
+import com.mongodb.WriteConcern;
+
+import java.util.Locale;
+
+// How far a write must get before it is acknowledged, from cheapest to safest. DEFAULT keeps the
+// write concern of the connection string.
+public enum Durability {
+
+    DEFAULT(null),
+    // Fire-and-forget: no acknowledgement, errors are never reported
+    UNACKNOWLEDGED(WriteConcern.UNACKNOWLEDGED),
+    ACKNOWLEDGED(WriteConcern.W1),
+    // In the primary's journal
+    JOURNALED(WriteConcern.JOURNALED),
+    // On a majority of replica set members, in their journals
+    MAJORITY(WriteConcern.MAJORITY.withJournal(true));
+
+    private final WriteConcern writeConcern;
+
+    Durability(WriteConcern writeConcern) {
+        this.writeConcern = writeConcern;
+    }
+
+    public WriteConcern getWriteConcern() {
+        return writeConcern;
+    }
+
+    public String getTag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // Accepts the constant names in any case, "fire-and-forget" and "w1"-style short forms
+    public static Durability parse(String value) {
+        String name = value.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        return switch (name) {
+            case "default" -> DEFAULT;
+            case "fire-and-forget", "unacknowledged", "w0" -> UNACKNOWLEDGED;
+            case "acknowledged", "w1" -> ACKNOWLEDGED;
+            case "journaled", "journalled", "j" -> JOURNALED;
+            case "majority" -> MAJORITY;
+            default -> throw new IllegalArgumentException("Unknown durability " + value
+                    + ", expected fire-and-forget, acknowledged, journaled or majority");
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.dss.project.repository;
+
+import com.dss.project.model.Resort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface ResortCatalogRepository extends MongoRepository<Resort, String>, ResortCatalogRepositoryCustom {
+
+    Optional<Resort> findByResortID(Integer resortID);
+}
@@ -0,0 +1,9 @@
+package com.dss.project.repository;
+
+import com.mongodb.client.result.UpdateResult;
+
+public interface ResortCatalogRepositoryCustom {
+
+    // $addToSet on the resort's seasons; modified count is 0 when the season was already listed
+    UpdateResult addSeason(Integer resortID, String season);
+}
@@ -0,0 +1,21 @@
+package com.dss.project.repository;
+
+import com.dss.project.model.Resort;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class ResortCatalogRepositoryImpl implements ResortCatalogRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public UpdateResult addSeason(Integer resortID, String season) {
+        Query query = Query.query(Criteria.where("resortID").is(resortID));
+        return mongoTemplate.updateFirst(query, new Update().addToSet("seasons", season), Resort.class);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dss.project.repository;
+
+import com.dss.project.model.ResortDay;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface ResortDayRepository extends MongoRepository<ResortDay, String> {
+
+    Optional<ResortDay> findByResortIDAndSeasonIdAndDayId(Integer resortID, Integer seasonId, Integer dayId);
+}
@@ -0,0 +1,5 @@
+package com.dss.project.repository;
+
+// One row of SkierDayRepositoryCustom.sumVertical
+public record SeasonVertical(int skierId, int seasonId, int resortID, long totalVert) {
+}
@@ -0,0 +1,17 @@
+package com.dss.project.repository;
+
+import com.dss.project.model.SkierDay;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SkierDayRepository extends MongoRepository<SkierDay, String>, SkierDayRepositoryCustom {
+
+    Optional<SkierDay> findByResortIDAndSeasonIdAndDayIdAndSkierId(Integer resortID, Integer seasonId, Integer dayId, Integer skierId);
+
+    List<SkierDay> findBySkierIdAndResortIDIn(Integer skierId, Collection<Integer> resortIds);
+
+    List<SkierDay> findBySkierId(Integer skierId);
+}
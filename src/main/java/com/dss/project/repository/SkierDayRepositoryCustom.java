@@ -0,0 +1,24 @@
+package com.dss.project.repository;
+
+import com.dss.project.model.SkierDay;
+import com.mongodb.client.result.UpdateResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface SkierDayRepositoryCustom {
+
+    // $set liftId and time, and $inc totalVert by vertical when given, on the matching skier-day in one round trip
+    UpdateResult updateLiftRide(Integer resortID, Integer seasonId, Integer dayId, Integer skierId, Integer liftId, Integer time, Integer vertical);
+
+    // totalVert summed per skier, season and resort for all the skierIds in one $in aggregation;
+    // null or empty resortIds, seasonIds and dayIds do not narrow the match
+    List<SeasonVertical> sumVertical(Collection<Integer> skierIds, Collection<Integer> resortIds,
+                                     Collection<Integer> seasonIds, Collection<Integer> dayIds);
+
+    // The SkierDays rows of all the skierIds in the given seasons per resortID, in one query; null or
+    // empty dayIds do not narrow the match
+    List<SkierDay> findDays(Collection<Integer> skierIds, Map<Integer, ? extends Collection<Integer>> seasonsByResort,
+                            Collection<Integer> dayIds);
+}
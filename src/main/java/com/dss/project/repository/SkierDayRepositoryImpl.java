@@ -0,0 +1,78 @@
+package com.dss.project.repository;
+
+import com.dss.project.model.SkierDay;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class SkierDayRepositoryImpl implements SkierDayRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public UpdateResult updateLiftRide(Integer resortID, Integer seasonId, Integer dayId, Integer skierId, Integer liftId, Integer time, Integer vertical) {
+        Query query = Query.query(Criteria.where("resortID").is(resortID)
+                .and("seasonId").is(seasonId)
+                .and("dayId").is(dayId)
+                .and("skierId").is(skierId));
+        Update update = new Update().set("liftId", liftId).set("time", time);
+        if (vertical != null && vertical != 0) {
+            update.inc("totalVert", vertical);
+        }
+        return mongoTemplate.updateFirst(query, update, SkierDay.class);
+    }
+
+    @Override
+    public List<SeasonVertical> sumVertical(Collection<Integer> skierIds, Collection<Integer> resortIds,
+                                            Collection<Integer> seasonIds, Collection<Integer> dayIds) {
+        // skierId first so the skier_resort index serves the match
+        Criteria criteria = Criteria.where("skierId").in(skierIds);
+        if (resortIds != null && !resortIds.isEmpty()) {
+            criteria.and("resortID").in(resortIds);
+        }
+        if (seasonIds != null && !seasonIds.isEmpty()) {
+            criteria.and("seasonId").in(seasonIds);
+        }
+        if (dayIds != null && !dayIds.isEmpty()) {
+            criteria.and("dayId").in(dayIds);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("skierId", "seasonId", "resortID").sum("totalVert").as("totalVert"));
+
+        List<SeasonVertical> verticals = new ArrayList<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, SkierDay.class, Document.class)) {
+            Document id = group.get("_id", Document.class);
+            Number totalVert = group.get("totalVert", Number.class);
+            verticals.add(new SeasonVertical(id.getInteger("skierId"), id.getInteger("seasonId"),
+                    id.getInteger("resortID"), totalVert != null ? totalVert.longValue() : 0));
+        }
+        return verticals;
+    }
+
+    @Override
+    public List<SkierDay> findDays(Collection<Integer> skierIds, Map<Integer, ? extends Collection<Integer>> seasonsByResort,
+                                   Collection<Integer> dayIds) {
+        List<Criteria> resorts = new ArrayList<>(seasonsByResort.size());
+        for (Map.Entry<Integer, ? extends Collection<Integer>> resort : seasonsByResort.entrySet()) {
+            resorts.add(Criteria.where("resortID").is(resort.getKey()).and("seasonId").in(resort.getValue()));
+        }
+        // skierId first so the skier_resort index serves the match
+        Criteria criteria = Criteria.where("skierId").in(skierIds).orOperator(resorts);
+        if (dayIds != null && !dayIds.isEmpty()) {
+            criteria.and("dayId").in(dayIds);
+        }
+        return mongoTemplate.find(Query.query(criteria), SkierDay.class);
+    }
+}
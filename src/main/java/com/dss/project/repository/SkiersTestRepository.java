@@ -5,5 +5,5 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface SkiersTestRepository extends MongoRepository<SkiersTestData, String> {
+public interface SkiersTestRepository extends MongoRepository<SkiersTestData, String>, SkiersTestRepositoryCustom {
 }
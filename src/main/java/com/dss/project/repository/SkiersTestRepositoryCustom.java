@@ -0,0 +1,13 @@
+package com.dss.project.repository;
+
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+
+public interface SkiersTestRepositoryCustom {
+
+    // Inserts an already encoded SkiersTest document without going through entity mapping
+    void insertRaw(RawBsonDocument document, Durability durability);
+
+    // Upserts the SkierRideBuckets document matching filter with an already encoded update
+    void appendToBucket(BsonDocument filter, BsonDocument update, Durability durability);
+}
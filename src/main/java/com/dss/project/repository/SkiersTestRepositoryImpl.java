@@ -0,0 +1,56 @@
+package com.dss.project.repository;
+
+import com.dss.project.model.SkierRideBucket;
+import com.dss.project.model.SkiersTestData;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.UpdateOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SkiersTestRepositoryImpl implements SkiersTestRepositoryCustom {
+
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Durability, Timer> writeTimers = new ConcurrentHashMap<>();
+
+    @Override
+    public void insertRaw(RawBsonDocument document, Durability durability) {
+        // execute(..) keeps Spring's exception translation for driver errors
+        writeTimer(durability).record(() -> mongoTemplate.execute(SkiersTestData.class, collection -> {
+            withDurability(collection, durability).withDocumentClass(RawBsonDocument.class).insertOne(document);
+            return null;
+        }));
+    }
+
+    @Override
+    public void appendToBucket(BsonDocument filter, BsonDocument update, Durability durability) {
+        writeTimer(durability).record(() -> mongoTemplate.execute(SkierRideBucket.class, collection -> {
+            withDurability(collection, durability).updateOne(filter, update, UPSERT);
+            return null;
+        }));
+    }
+
+    private static <T> MongoCollection<T> withDurability(MongoCollection<T> collection, Durability durability) {
+        return durability.getWriteConcern() != null ? collection.withWriteConcern(durability.getWriteConcern()) : collection;
+    }
+
+    private Timer writeTimer(Durability durability) {
+        return writeTimers.computeIfAbsent(durability, mode -> Timer.builder("skiers.ingest.write")
+                .tag("durability", mode.getTag())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+}
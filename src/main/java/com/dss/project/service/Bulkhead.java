@@ -0,0 +1,140 @@
+package com.dss.project.service;
+
+import com.dss.project.deadline.Deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// A fixed-size pool with a bounded queue for one class of routes. A full queue rejects straight
+// away with BulkheadFullException, and a task that takes longer than the timeout (queue wait
+// included) completes with a TimeoutException. A deadline bound to the submitting thread (e.g. from
+// an X-Request-Timeout header) shortens that timeout and is bound to the worker while the task runs.
+// Tasks that time out while still queued are dropped.
+public class Bulkhead {
+
+    private final String name;
+    private final int threads;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    private final Counter timeouts;
+    private final Counter expired;
+
+    public Bulkhead(String name, int threads, int queueCapacity, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "bulkhead-" + name + "-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Tags tags = Tags.of("bulkhead", name);
+        new ExecutorServiceMetrics(executor, "bulkhead." + name, Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("skiers.bulkhead.rejected").tags(tags).register(meterRegistry);
+        this.timeouts = Counter.builder("skiers.bulkhead.timeouts").tags(tags).register(meterRegistry);
+        this.expired = Counter.builder("skiers.bulkhead.expired")
+                .description("Tasks dropped because they timed out before a thread picked them up")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("skiers.bulkhead.utilization", this, Bulkhead::getUtilization).tags(tags).register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Deadline deadline = Deadline.within(timeout);
+        try {
+            executor.execute(() -> {
+                if (result.isDone()) {
+                    expired.increment();
+                    return;
+                }
+                try {
+                    result.complete(Deadline.call(deadline, task));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BulkheadFullException(name);
+        }
+        result.orTimeout(Math.max(deadline.remainingNanos(), 0), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                timeouts.increment();
+            }
+        });
+        return result;
+    }
+
+    // Runs a task that itself returns a future, e.g. a write handed to LiftRideWriteCombiner
+    public <T> CompletableFuture<T> submitAsync(Supplier<CompletableFuture<T>> task) {
+        return submit(task).thenCompose(future -> future);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    public double getUtilization() {
+        return (double) executor.getActiveCount() / threads;
+    }
+
+    public long getRejected() {
+        return (long) rejected.count();
+    }
+
+    public long getTimeouts() {
+        return (long) timeouts.count();
+    }
+
+    public long getExpired() {
+        return (long) expired.count();
+    }
+}
@@ -0,0 +1,16 @@
+package com.dss.project.service;
+
+// Thrown when a bulkhead's threads are busy and its queue is full
+public class BulkheadFullException extends RuntimeException {
+
+    private final String bulkhead;
+
+    public BulkheadFullException(String bulkhead) {
+        super("Bulkhead " + bulkhead + " is full");
+        this.bulkhead = bulkhead;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+}
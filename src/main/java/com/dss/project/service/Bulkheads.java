@@ -0,0 +1,75 @@
+package com.dss.project.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+// One bulkhead per route class, so a slow analytical scan or a burst of admin calls can only
+// exhaust its own threads and never the ingest path. Sized with
+// skiers.bulkhead.<name>.threads / .queue-capacity / .timeout.
+@Component
+public class Bulkheads {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Bulkhead ingest;
+    private Bulkhead pointRead;
+    private Bulkhead analytical;
+    private Bulkhead admin;
+
+    @PostConstruct
+    public void init() {
+        ingest = create("ingest", 32, 2000, Duration.ofSeconds(2));
+        pointRead = create("point-read", 32, 500, Duration.ofSeconds(1));
+        analytical = create("analytical", 4, 50, Duration.ofSeconds(5));
+        admin = create("admin", 2, 20, Duration.ofSeconds(2));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        all().forEach(Bulkhead::shutdown);
+    }
+
+    // Lift ride writes
+    public Bulkhead ingest() {
+        return ingest;
+    }
+
+    // Single-key lookups
+    public Bulkhead pointRead() {
+        return pointRead;
+    }
+
+    // Scans and aggregations over many documents
+    public Bulkhead analytical() {
+        return analytical;
+    }
+
+    // Statistics and resort maintenance
+    public Bulkhead admin() {
+        return admin;
+    }
+
+    public List<Bulkhead> all() {
+        return List.of(ingest, pointRead, analytical, admin);
+    }
+
+    private Bulkhead create(String name, int threads, int queueCapacity, Duration timeout) {
+        String prefix = "skiers.bulkhead." + name + ".";
+        return new Bulkhead(name,
+                environment.getProperty(prefix + "threads", Integer.class, threads),
+                environment.getProperty(prefix + "queue-capacity", Integer.class, queueCapacity),
+                environment.getProperty(prefix + "timeout", Duration.class, timeout),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,201 @@
+package com.dss.project.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+// Time-boxed JDK Flight Recorder recordings started over HTTP. Each profile adds its events to
+// the JDK's low-overhead "default" settings. One recording runs at a time; it stops by itself
+// after its duration and is written to skiers.profiling.dir, where the newest
+// skiers.profiling.keep files are kept.
+@Service
+public class FlightRecordings {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecordings.class);
+
+    // Shorter recordings hold too few samples to show anything
+    private static final Duration MIN_DURATION = Duration.ofSeconds(1);
+
+    public enum Profile {
+        // Java and native method samples every 10 ms
+        CPU,
+        // Sampled allocation sites, plus every TLAB refill and outside-TLAB allocation with stacks
+        ALLOCATION,
+        // Monitor enter/wait and thread parks longer than 1 ms, with stacks
+        LOCKS;
+
+        public static Profile parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown profile " + value + ", expected cpu, allocation or locks");
+            }
+        }
+    }
+
+    @Value("${skiers.profiling.dir:${java.io.tmpdir}/skiers-jfr}")
+    private String dir;
+
+    @Value("${skiers.profiling.max-duration:5m}")
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    @Value("${skiers.profiling.keep:5}")
+    private int keep = 5;
+
+    // Oldest first
+    private final Map<Long, Entry> recordings = new LinkedHashMap<>();
+
+    public synchronized Entry start(Profile profile, Duration duration) {
+        if (duration.compareTo(MIN_DURATION) < 0 || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be between " + MIN_DURATION.toSeconds() + "s and "
+                    + maxDuration.toSeconds() + "s");
+        }
+        for (Entry entry : recordings.values()) {
+            if (entry.isRunning()) {
+                throw new IllegalStateException("Recording " + entry.getId() + " is still running");
+            }
+        }
+
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR default settings are not available", e);
+        }
+        switch (profile) {
+            case CPU -> {
+                recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10));
+                recording.enable("jdk.NativeMethodSample").withPeriod(Duration.ofMillis(10));
+            }
+            case ALLOCATION -> {
+                recording.enable("jdk.ObjectAllocationSample").with("throttle", "1000/s").withStackTrace();
+                recording.enable("jdk.ObjectAllocationInNewTLAB").withStackTrace();
+                recording.enable("jdk.ObjectAllocationOutsideTLAB").withStackTrace();
+            }
+            case LOCKS -> {
+                recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(1)).withStackTrace();
+                recording.enable("jdk.JavaMonitorWait").withThreshold(Duration.ofMillis(1)).withStackTrace();
+                recording.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            }
+        }
+
+        String name = "skiers-" + profile.name().toLowerCase(Locale.ROOT) + "-" + recording.getId();
+        Path file = Paths.get(dir).resolve(name + ".jfr");
+        try {
+            Files.createDirectories(file.getParent());
+            recording.setName(name);
+            recording.setToDisk(true);
+            recording.setDuration(duration);
+            recording.setDestination(file);
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException(e);
+        }
+        recording.start();
+
+        Entry entry = new Entry(recording, profile, file);
+        recordings.put(entry.getId(), entry);
+        log.info("Started JFR recording {} for {}s into {}", name, duration.toSeconds(), file);
+        prune();
+        return entry;
+    }
+
+    public synchronized Collection<Entry> list() {
+        return new ArrayList<>(recordings.values());
+    }
+
+    public synchronized Optional<Entry> get(long id) {
+        return Optional.ofNullable(recordings.get(id));
+    }
+
+    // Ends a recording before its duration is up; the file is written as usual
+    public synchronized Optional<Entry> stop(long id) {
+        Entry entry = recordings.get(id);
+        if (entry != null && entry.isRunning()) {
+            entry.recording.stop();
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    private void prune() {
+        int finished = 0;
+        for (Entry entry : recordings.values()) {
+            if (!entry.isRunning()) {
+                finished++;
+            }
+        }
+        Iterator<Entry> oldest = recordings.values().iterator();
+        while (finished > keep && oldest.hasNext()) {
+            Entry entry = oldest.next();
+            if (entry.isRunning()) {
+                continue;
+            }
+            oldest.remove();
+            finished--;
+            entry.recording.close();
+            try {
+                Files.deleteIfExists(entry.file);
+            } catch (IOException e) {
+                log.warn("Could not delete {}", entry.file, e);
+            }
+        }
+    }
+
+    public static final class Entry {
+
+        private final Recording recording;
+        private final Profile profile;
+        private final Path file;
+
+        private Entry(Recording recording, Profile profile, Path file) {
+            this.recording = recording;
+            this.profile = profile;
+            this.file = file;
+        }
+
+        public long getId() {
+            return recording.getId();
+        }
+
+        public String getName() {
+            return recording.getName();
+        }
+
+        public Profile getProfile() {
+            return profile;
+        }
+
+        public RecordingState getState() {
+            return recording.getState();
+        }
+
+        public boolean isRunning() {
+            RecordingState state = recording.getState();
+            return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+        }
+
+        // Written once the recording has stopped
+        public Path getFile() {
+            return file;
+        }
+    }
+}
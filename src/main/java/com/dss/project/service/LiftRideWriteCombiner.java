@@ -0,0 +1,185 @@
+package com.dss.project.service;
+
+import com.dss.project.repository.SkierDayRepository;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Combines addLiftRide updates to the same skier-day that arrive within one window into a single
+// write: liftId and time from the last update win, verticals are summed. Every caller in the window
+// gets the result of that combined write. With skiers.write-combining.enabled=false, or once the
+// combiner is stopping, each update is written straight away on the caller's thread. Writes of one
+// skier-day always go to the same flush thread, so a window never overtakes the one before it.
+@Service
+public class LiftRideWriteCombiner {
+
+    @Autowired
+    private SkierDayRepository skierDayRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${skiers.write-combining.enabled:false}")
+    private boolean enabled;
+
+    @Value("${skiers.write-combining.window:20ms}")
+    private Duration window;
+
+    @Value("${skiers.write-combining.flush-threads:4}")
+    private int flushThreads;
+
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+    // Held shared while an update joins a window, exclusively to stop taking updates
+    private final ReadWriteLock stopping = new ReentrantReadWriteLock();
+    private boolean stopped;
+    private ScheduledExecutorService ticker;
+    // One single-thread executor per stripe of keys
+    private ExecutorService[] flushExecutors;
+    private Counter updates;
+    private Counter writes;
+
+    @PostConstruct
+    public void start() {
+        updates = meterRegistry.counter("skiers.write.combining.updates");
+        writes = meterRegistry.counter("skiers.write.combining.writes");
+        if (!enabled) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(task -> new Thread(task, "lift-ride-combiner"));
+        flushExecutors = new ExecutorService[flushThreads];
+        for (int i = 0; i < flushThreads; i++) {
+            String name = "lift-ride-flush-" + (i + 1);
+            flushExecutors[i] = Executors.newSingleThreadExecutor(task -> new Thread(task, name));
+        }
+        long windowMicros = window.toNanos() / 1000;
+        ticker.scheduleAtFixedRate(this::flush, windowMicros, windowMicros, TimeUnit.MICROSECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (ticker == null) {
+            return;
+        }
+        // No update joins a window after this, so the flush below leaves nothing behind
+        stopping.writeLock().lock();
+        try {
+            stopped = true;
+        } finally {
+            stopping.writeLock().unlock();
+        }
+        ticker.shutdown();
+        ticker.awaitTermination(10, TimeUnit.SECONDS);
+        // Whatever arrived after the last tick still gets written
+        flush();
+        for (ExecutorService flushExecutor : flushExecutors) {
+            flushExecutor.shutdown();
+        }
+        for (ExecutorService flushExecutor : flushExecutors) {
+            flushExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    public CompletableFuture<UpdateResult> update(Integer resortID, Integer seasonId, Integer dayId, Integer skierId,
+                                                  Integer liftId, Integer time, Integer vertical) {
+        updates.increment();
+        if (!enabled) {
+            return writeNow(resortID, seasonId, dayId, skierId, liftId, time, vertical);
+        }
+
+        Key key = new Key(resortID, seasonId, dayId, skierId);
+        Pending joined;
+        stopping.readLock().lock();
+        try {
+            if (stopped) {
+                joined = null;
+            } else {
+                joined = pending.compute(key, (k, entry) -> {
+                    if (entry != null) {
+                        synchronized (entry) {
+                            if (!entry.closed) {
+                                entry.add(liftId, time, vertical);
+                                return entry;
+                            }
+                        }
+                    }
+                    // None yet, or the closed one is already on its way to the database: start the next
+                    // window's entry. It is only published when compute returns, so no lock is needed.
+                    Pending next = new Pending();
+                    next.add(liftId, time, vertical);
+                    return next;
+                });
+            }
+        } finally {
+            stopping.readLock().unlock();
+        }
+        if (joined == null) {
+            return writeNow(resortID, seasonId, dayId, skierId, liftId, time, vertical);
+        }
+        return joined.result;
+    }
+
+    private CompletableFuture<UpdateResult> writeNow(Integer resortID, Integer seasonId, Integer dayId, Integer skierId,
+                                                     Integer liftId, Integer time, Integer vertical) {
+        writes.increment();
+        return CompletableFuture.completedFuture(
+                skierDayRepository.updateLiftRide(resortID, seasonId, dayId, skierId, liftId, time, vertical));
+    }
+
+    private void flush() {
+        for (Map.Entry<Key, Pending> mapEntry : pending.entrySet()) {
+            Key key = mapEntry.getKey();
+            Pending entry = mapEntry.getValue();
+            synchronized (entry) {
+                entry.closed = true;
+            }
+            pending.remove(key, entry);
+            flushExecutors[Math.floorMod(key.hashCode(), flushExecutors.length)].execute(() -> write(key, entry));
+        }
+    }
+
+    private void write(Key key, Pending entry) {
+        writes.increment();
+        try {
+            entry.result.complete(skierDayRepository.updateLiftRide(key.resortID(), key.seasonId(), key.dayId(),
+                    key.skierId(), entry.liftId, entry.time, entry.vertical));
+        } catch (RuntimeException e) {
+            entry.result.completeExceptionally(e);
+        }
+    }
+
+    private record Key(Integer resortID, Integer seasonId, Integer dayId, Integer skierId) {
+    }
+
+    // Fields are written under the entry's lock and read by the flush thread after it is closed
+    private static final class Pending {
+        private final CompletableFuture<UpdateResult> result = new CompletableFuture<>();
+        private boolean closed;
+        private Integer liftId;
+        private Integer time;
+        private int vertical;
+
+        private void add(Integer liftId, Integer time, Integer vertical) {
+            this.liftId = liftId;
+            this.time = time;
+            if (vertical != null) {
+                this.vertical += vertical;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.dss.project.service;
+
+public enum ReadRoute {
+
+    // Writes and read-your-write paths
+    PRIMARY,
+    // Dashboard lookups that tolerate a little staleness
+    DASHBOARD,
+    // Scans and aggregations that should stay off the primary
+    ANALYTICAL
+}
@@ -0,0 +1,170 @@
+package com.dss.project.service;
+
+import com.dss.project.config.RoutingMongoTemplate;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Sends each endpoint's reads to the replica set member class its route allows. Routes are
+// configured with skiers.read-routing.<dashboard|analytical>.read-preference / .max-staleness, and
+// endpoints can be moved between routes with skiers.read-routing.endpoints.<endpoint>=<route>.
+// With skiers.read-routing.enabled=false every read stays on the primary.
+@Component
+public class ReadRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadRouter.class);
+
+    private static final Map<String, ReadRoute> DEFAULT_ROUTES = Map.of(
+            "getAllResorts", ReadRoute.DASHBOARD,
+            "getNumSkiers", ReadRoute.DASHBOARD,
+            "getSeasonsByResort", ReadRoute.DASHBOARD,
+            "getApiStatistics", ReadRoute.DASHBOARD,
+            "getSkierVertical", ReadRoute.ANALYTICAL,
+            "getBatchVertical", ReadRoute.ANALYTICAL,
+            // Clients read their own addLiftRide updates back through this one
+            "getTotalVertical", ReadRoute.PRIMARY);
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<MongoClient> mongoClient;
+
+    @Value("${skiers.read-routing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${skiers.read-routing.lag-poll-interval:10s}")
+    private Duration lagPollInterval;
+
+    private final Map<ReadRoute, ReadPreference> readPreferences = new EnumMap<>(ReadRoute.class);
+    private final Map<String, ReadRoute> endpointRoutes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> routedReads = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> replicationLagMillis = new ConcurrentHashMap<>();
+    private ScheduledExecutorService lagPoller;
+
+    @PostConstruct
+    public void init() {
+        for (ReadRoute route : ReadRoute.values()) {
+            readPreferences.put(route, enabled ? readPreference(route) : ReadPreference.primary());
+        }
+        if (enabled) {
+            log.info("Read routing: {}", readPreferences);
+            lagPoller = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "replication-lag");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagPoller.scheduleWithFixedDelay(this::pollReplicationLag, 0, lagPollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (lagPoller != null) {
+            lagPoller.shutdownNow();
+        }
+    }
+
+    public <T> T read(String endpoint, Supplier<T> query) {
+        ReadRoute route = route(endpoint);
+        ReadPreference readPreference = readPreferences.get(route);
+        routedReads.computeIfAbsent(endpoint, name -> Counter.builder("skiers.read.routing")
+                .tag("endpoint", name)
+                .tag("route", route.name().toLowerCase(Locale.ROOT))
+                .tag("readPreference", readPreference.getName())
+                .register(meterRegistry)).increment();
+
+        if (readPreference.equals(ReadPreference.primary())) {
+            return query.get();
+        }
+        return RoutingMongoTemplate.withReadPreference(readPreference, query);
+    }
+
+    public ReadRoute route(String endpoint) {
+        return endpointRoutes.computeIfAbsent(endpoint, name -> {
+            String configured = environment.getProperty("skiers.read-routing.endpoints." + name);
+            if (configured != null) {
+                return ReadRoute.valueOf(configured.trim().toUpperCase(Locale.ROOT));
+            }
+            return DEFAULT_ROUTES.getOrDefault(name, ReadRoute.PRIMARY);
+        });
+    }
+
+    private ReadPreference readPreference(ReadRoute route) {
+        if (route == ReadRoute.PRIMARY) {
+            return ReadPreference.primary();
+        }
+        String prefix = "skiers.read-routing." + route.name().toLowerCase(Locale.ROOT) + ".";
+        String mode = environment.getProperty(prefix + "read-preference", "secondaryPreferred");
+        Duration maxStaleness = environment.getProperty(prefix + "max-staleness", Duration.class);
+        if (maxStaleness == null || "primary".equals(mode)) {
+            return ReadPreference.valueOf(mode);
+        }
+        // The driver skips secondaries estimated to be further behind; the server minimum is 90s
+        return ReadPreference.valueOf(mode, List.of(), maxStaleness.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Lag of every member behind the primary, from replSetGetStatus (needs clusterMonitor)
+    private void pollReplicationLag() {
+        try {
+            Document status = mongoClient.getObject().getDatabase("admin").runCommand(new Document("replSetGetStatus", 1));
+            List<Document> members = status.getList("members", Document.class);
+            Date primaryOptime = null;
+            for (Document member : members) {
+                if ("PRIMARY".equals(member.getString("stateStr"))) {
+                    primaryOptime = member.getDate("optimeDate");
+                }
+            }
+            if (primaryOptime == null) {
+                return;
+            }
+            for (Document member : members) {
+                Date optime = member.getDate("optimeDate");
+                if (optime != null) {
+                    lag(member.getString("name")).set(Math.max(0, primaryOptime.getTime() - optime.getTime()));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not read replica set status", e);
+        }
+    }
+
+    private AtomicLong lag(String member) {
+        return replicationLagMillis.computeIfAbsent(member, name -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("skiers.replication.lag", value, AtomicLong::get)
+                    .baseUnit("milliseconds")
+                    .tag("member", name)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+}
@@ -0,0 +1,337 @@
+package com.dss.project.service;
+
+import com.dss.project.dto.LiveActivityDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live lift activity per resort, counted in memory from createLiftRideEvent and pushed to
+// /resorts/{resortID}/live subscribers once per skiers.live.interval. Nothing here reads MongoDB.
+// Each subscriber holds at most one unsent frame: a frame that arrives while the previous one is
+// still being written is merged into the waiting one, so a slow client receives fewer, larger
+// deltas instead of a growing backlog. Only resorts 1 to MAX_RESORT_ID exist, as for lift ride
+// events, and a resort's counters are dropped once it has had no rides and no subscribers for
+// skiers.live.idle-timeout.
+@Service
+public class ResortActivityFeed {
+
+    public static final int MAX_RESORT_ID = 10;
+    private static final int MAX_LIFT_ID = 40;
+
+    // Stands in for a heartbeat in a subscriber's slot
+    private static final LiveActivityDTO HEARTBEAT = new LiveActivityDTO();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${skiers.live.interval:1s}")
+    private Duration interval = Duration.ofSeconds(1);
+
+    @Value("${skiers.live.heartbeat:15s}")
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    @Value("${skiers.live.send-threads:4}")
+    private int sendThreads = 4;
+
+    @Value("${skiers.live.max-subscribers:10000}")
+    private int maxSubscribers = 10000;
+
+    @Value("${skiers.live.idle-timeout:30m}")
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    private final Map<Integer, ResortActivity> resorts = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ScheduledExecutorService ticker;
+    private ExecutorService sender;
+    private Counter framesSent;
+    private Counter framesMerged;
+    private long lastHeartbeat;
+
+    @PostConstruct
+    public void start() {
+        framesSent = meterRegistry.counter("skiers.live.frames.sent");
+        framesMerged = meterRegistry.counter("skiers.live.frames.merged");
+        meterRegistry.gauge("skiers.live.subscribers", subscriberCount);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "live-activity");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threads = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(sendThreads, task -> {
+            Thread thread = new Thread(task, "live-send-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastHeartbeat = System.currentTimeMillis();
+        ticker.scheduleAtFixedRate(this::tick, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        sender.shutdownNow();
+        for (ResortActivity resort : resorts.values()) {
+            for (Subscriber subscriber : resort.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    // Called once per stored lift ride event; lock-free apart from the first ride of a skier-day
+    public void record(int resortID, int seasonId, int dayId, int liftId, int skierId) {
+        ResortActivity resort = resorts.computeIfAbsent(resortID, ResortActivity::new);
+        resort.rides.incrementAndGet(liftId);
+        resort.rides.incrementAndGet(0);
+        Set<Integer> skiers = resort.skiersOn(seasonId, dayId);
+        if (skiers != null && skiers.add(skierId)) {
+            resort.newSkiers.increment();
+        }
+    }
+
+    public static boolean isResort(int resortID) {
+        return resortID >= 1 && resortID <= MAX_RESORT_ID;
+    }
+
+    public SseEmitter subscribe(int resortID) {
+        // No timeout: the subscription ends when the client goes away or the app stops
+        return subscribe(resortID, new SseEmitter(0L));
+    }
+
+    SseEmitter subscribe(int resortID, SseEmitter emitter) {
+        if (!isResort(resortID)) {
+            throw new IllegalArgumentException("Unknown resort " + resortID);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new BulkheadFullException("live");
+        }
+        // Added under the map's lock, so an idle resort cannot be dropped between lookup and add
+        Subscriber[] added = new Subscriber[1];
+        resorts.compute(resortID, (id, resort) -> {
+            ResortActivity activity = resort != null ? resort : new ResortActivity(id);
+            added[0] = new Subscriber(activity, emitter);
+            activity.subscribers.add(added[0]);
+            return activity;
+        });
+        Subscriber subscriber = added[0];
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(error -> subscriber.remove());
+        return emitter;
+    }
+
+    // Only called from the ticker thread, or directly by tests
+    void tick() {
+        long now = System.currentTimeMillis();
+        boolean heartbeatDue = now - lastHeartbeat >= heartbeat.toMillis();
+        if (heartbeatDue) {
+            lastHeartbeat = now;
+        }
+        for (ResortActivity resort : resorts.values()) {
+            LiveActivityDTO frame = resort.drain(now);
+            if (resort.subscribers.isEmpty()) {
+                if (now - resort.lastActive >= idleTimeout.toMillis()) {
+                    // A ride recorded into the dropped entry meanwhile is lost, with no one to see it
+                    resorts.computeIfPresent(resort.resortID,
+                            (id, current) -> current == resort && current.subscribers.isEmpty() ? null : current);
+                }
+                continue;
+            }
+            if (frame != null) {
+                for (Subscriber subscriber : resort.subscribers) {
+                    subscriber.offer(frame);
+                }
+            } else if (heartbeatDue) {
+                // Keeps proxies from closing quiet streams and finds clients that have gone away
+                for (Subscriber subscriber : resort.subscribers) {
+                    subscriber.offer(null);
+                }
+            }
+        }
+    }
+
+    private static LiveActivityDTO merge(LiveActivityDTO older, LiveActivityDTO newer) {
+        Map<Integer, Long> rides = new TreeMap<>(older.getRidesPerLift());
+        newer.getRidesPerLift().forEach((liftId, count) -> rides.merge(liftId, count, Long::sum));
+        return new LiveActivityDTO(newer.getResortID(), newer.getSequence(), older.getFromMillis(), newer.getToMillis(),
+                rides, older.getNewSkiers() + newer.getNewSkiers(), newer.getSkiersToday());
+    }
+
+    private static final class ResortActivity {
+
+        private final Integer resortID;
+        // Slot 0 counts all rides so an idle resort can be skipped with one read
+        private final AtomicLongArray rides = new AtomicLongArray(MAX_LIFT_ID + 1);
+        private final LongAdder newSkiers = new LongAdder();
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private volatile SkierDaySet skiers = new SkierDaySet(0, 0);
+        private long sequence;
+        private long lastDrain = System.currentTimeMillis();
+        // Last drain with rides or subscribers
+        private long lastActive = lastDrain;
+
+        private ResortActivity(Integer resortID) {
+            this.resortID = resortID;
+        }
+
+        // Unique skiers are counted for the latest season/day seen; events for an earlier day still
+        // count as rides but not as new skiers
+        private Set<Integer> skiersOn(int seasonId, int dayId) {
+            SkierDaySet current = skiers;
+            if (current.isAfter(seasonId, dayId)) {
+                return null;
+            }
+            if (current.isBefore(seasonId, dayId)) {
+                synchronized (this) {
+                    current = skiers;
+                    if (current.isBefore(seasonId, dayId)) {
+                        current = new SkierDaySet(seasonId, dayId);
+                        skiers = current;
+                    }
+                }
+            }
+            return current.skierIds;
+        }
+
+        // Only called from the ticker thread
+        private LiveActivityDTO drain(long now) {
+            long from = lastDrain;
+            lastDrain = now;
+            if (!subscribers.isEmpty()) {
+                lastActive = now;
+            }
+            if (rides.get(0) == 0) {
+                return null;
+            }
+            rides.getAndSet(0, 0);
+            lastActive = now;
+            Map<Integer, Long> ridesPerLift = new TreeMap<>();
+            for (int liftId = 1; liftId <= MAX_LIFT_ID; liftId++) {
+                long count = rides.getAndSet(liftId, 0);
+                if (count != 0) {
+                    ridesPerLift.put(liftId, count);
+                }
+            }
+            long newSkierCount = newSkiers.sumThenReset();
+            if (ridesPerLift.isEmpty() && newSkierCount == 0) {
+                return null;
+            }
+            return new LiveActivityDTO(resortID, ++sequence, from, now, ridesPerLift, newSkierCount,
+                    skiers.skierIds.size());
+        }
+    }
+
+    private static final class SkierDaySet {
+
+        private final int seasonId;
+        private final int dayId;
+        private final Set<Integer> skierIds = ConcurrentHashMap.newKeySet();
+
+        private SkierDaySet(int seasonId, int dayId) {
+            this.seasonId = seasonId;
+            this.dayId = dayId;
+        }
+
+        private boolean isBefore(int seasonId, int dayId) {
+            return this.seasonId < seasonId || (this.seasonId == seasonId && this.dayId < dayId);
+        }
+
+        private boolean isAfter(int seasonId, int dayId) {
+            return this.seasonId > seasonId || (this.seasonId == seasonId && this.dayId > dayId);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final ResortActivity resort;
+        private final SseEmitter emitter;
+        private final AtomicReference<LiveActivityDTO> waiting = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(ResortActivity resort, SseEmitter emitter) {
+            this.resort = resort;
+            this.emitter = emitter;
+        }
+
+        private void offer(LiveActivityDTO frame) {
+            if (frame == null) {
+                waiting.compareAndSet(null, HEARTBEAT);
+            } else {
+                LiveActivityDTO previous = waiting.getAndAccumulate(frame,
+                        (older, newer) -> older == null || older == HEARTBEAT ? newer : merge(older, newer));
+                if (previous != null && previous != HEARTBEAT) {
+                    framesMerged.increment();
+                }
+            }
+            if (sending.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        // One write in flight per subscriber; whatever arrives meanwhile waits in the slot
+        private void drain() {
+            try {
+                LiveActivityDTO frame;
+                while ((frame = waiting.getAndSet(null)) != null) {
+                    if (frame == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(frame.getSequence()))
+                                .name("activity")
+                                .data(objectMapper.writeValueAsString(frame), MediaType.APPLICATION_JSON));
+                        framesSent.increment();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                emitter.completeWithError(e);
+                remove();
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                remove();
+            } finally {
+                sending.set(false);
+            }
+            if (!removed.get() && waiting.get() != null && sending.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void remove() {
+            if (removed.compareAndSet(false, true)) {
+                resort.subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
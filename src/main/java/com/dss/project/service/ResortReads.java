@@ -0,0 +1,66 @@
+package com.dss.project.service;
+
+import com.dss.project.hotkeys.HotKey;
+import com.dss.project.hotkeys.HotKeyCache;
+import com.dss.project.model.Resort;
+import com.dss.project.model.ResortDay;
+import com.dss.project.repository.ResortCatalogRepository;
+import com.dss.project.repository.ResortDayRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+// Resort reads that dashboards fire many times at once for the same key, coalesced per query
+@Service
+public class ResortReads {
+
+    @Autowired
+    private ResortCatalogRepository resortCatalogRepository;
+
+    @Autowired
+    private ResortDayRepository resortDayRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReadRouter readRouter;
+
+    @Autowired
+    private HotKeyCache hotKeyCache;
+
+    private SingleFlight<Boolean, List<Resort>> allResorts;
+    private SingleFlight<Integer, Optional<Resort>> resorts;
+    private SingleFlight<ResortDayKey, Optional<ResortDay>> resortDays;
+
+    @PostConstruct
+    public void init() {
+        allResorts = new SingleFlight<>("resorts.all", meterRegistry);
+        resorts = new SingleFlight<>("resorts.byId", meterRegistry);
+        resortDays = new SingleFlight<>("resortDays.byDay", meterRegistry);
+    }
+
+    public List<Resort> findAllResorts() {
+        return allResorts.execute(Boolean.TRUE,
+                () -> readRouter.read("getAllResorts", resortCatalogRepository::findAll));
+    }
+
+    public Optional<Resort> findResort(Integer resortID) {
+        return hotKeyCache.get(HotKey.resort(resortID), () -> resorts.execute(resortID,
+                () -> readRouter.read("getSeasonsByResort", () -> resortCatalogRepository.findByResortID(resortID))));
+    }
+
+    public Optional<ResortDay> findResortDay(Integer resortID, Integer seasonId, Integer dayId) {
+        return hotKeyCache.get(HotKey.resortDay(resortID, seasonId, dayId),
+                () -> resortDays.execute(new ResortDayKey(resortID, seasonId, dayId),
+                        () -> readRouter.read("getNumSkiers",
+                                () -> resortDayRepository.findByResortIDAndSeasonIdAndDayId(resortID, seasonId, dayId))));
+    }
+
+    private record ResortDayKey(Integer resortID, Integer seasonId, Integer dayId) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.dss.project.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Continuous GC pause, safepoint and allocation figures from an in-process JFR event stream, using
+// only events cheap enough to leave on: one event per GC and per safepoint, and allocation samples
+// throttled to 100/s whose weights add up to an estimate of the bytes allocated.
+// Published as skiers.runtime.* meters and read by /statistics/runtime.
+@Service
+public class RuntimeMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(RuntimeMetrics.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${skiers.runtime-metrics.enabled:true}")
+    private boolean enabled = true;
+
+    private final Map<String, Timer> gcPauses = new ConcurrentHashMap<>();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final AtomicLong allocationRate = new AtomicLong();
+    private Timer safepoints;
+    private RecordingStream stream;
+    private long lastAllocated;
+    private long lastFlushNanos;
+
+    @PostConstruct
+    public void start() {
+        safepoints = Timer.builder("skiers.runtime.safepoint").register(meterRegistry);
+        meterRegistry.more().counter("skiers.runtime.allocated", List.of(), allocatedBytes, LongAdder::sum);
+        meterRegistry.gauge("skiers.runtime.allocation.rate", allocationRate);
+        if (!enabled) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable("jdk.GarbageCollection");
+            stream.enable("jdk.SafepointBegin");
+            stream.enable("jdk.ObjectAllocationSample").with("throttle", "100/s");
+            stream.onEvent("jdk.GarbageCollection", this::onGarbageCollection);
+            stream.onEvent("jdk.SafepointBegin", event -> safepoints.record(event.getDuration()));
+            stream.onEvent("jdk.ObjectAllocationSample", event -> allocatedBytes.add(event.getLong("weight")));
+            stream.onFlush(this::onFlush);
+            lastFlushNanos = System.nanoTime();
+            stream.startAsync();
+        } catch (RuntimeException e) {
+            // JFR can be missing or disabled in the JVM; the endpoint still reports MXBean figures
+            log.warn("JFR runtime metrics are not available", e);
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public Map<String, Timer> getGcPauses() {
+        return gcPauses;
+    }
+
+    public Timer getSafepoints() {
+        return safepoints;
+    }
+
+    // Bytes per second over the last stream flush, about once a second
+    public long getAllocationRate() {
+        return allocationRate.get();
+    }
+
+    public boolean isStreaming() {
+        return stream != null;
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        String collector = event.getString("name");
+        gcPauses.computeIfAbsent(collector, name -> Timer.builder("skiers.runtime.gc.pause")
+                        .tag("collector", name)
+                        .register(meterRegistry))
+                .record(event.getDuration("sumOfPauses"));
+    }
+
+    // Only called from the stream's thread
+    private void onFlush() {
+        long now = System.nanoTime();
+        long allocated = allocatedBytes.sum();
+        long elapsed = now - lastFlushNanos;
+        if (elapsed > 0) {
+            allocationRate.set((allocated - lastAllocated) * 1_000_000_000L / elapsed);
+        }
+        lastAllocated = allocated;
+        lastFlushNanos = now;
+    }
+}
@@ -0,0 +1,82 @@
+package com.dss.project.service;
+
+import com.dss.project.deadline.Deadline;
+import com.dss.project.deadline.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Coalesces identical concurrent loads: the first caller for a key runs the loader on its own
+// thread, callers arriving while it runs wait for and share that result (or exception) instead
+// of issuing their own query. Nothing is kept once the load finishes, so this is not a cache.
+// A caller waits no longer than its own Deadline. When the load fails because the first caller's
+// deadline passed, the others load again under theirs rather than sharing that failure.
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executions;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executions = Counter.builder("skiers.singleflight.executions")
+                .description("Loads that ran")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("skiers.singleflight.coalesced")
+                .description("Calls that shared a load already in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("skiers.singleflight.inflight", Tags.of("name", name), inFlight);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            Deadline deadline = Deadline.current();
+            try {
+                return deadline != null ? existing.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS) : existing.join();
+            } catch (TimeoutException e) {
+                throw new DeadlineExceededException("Deadline passed while waiting for a shared load");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DeadlineExceededException("Interrupted while waiting for a shared load");
+            } catch (ExecutionException | CompletionException e) {
+                if (Deadline.isExceeded(e.getCause())) {
+                    // The failed flight may not be removed yet
+                    inFlight.remove(key, existing);
+                    return execute(key, loader);
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new CompletionException(e.getCause());
+            }
+        }
+
+        executions.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.dss.project.startup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Logs when the first API request (probes and other actuator calls excluded) finishes, measured
+// from JVM start, which is the cold start a caller behind a scaling event actually sees.
+@Component
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!recorded.get() && !request.getServletPath().startsWith("/actuator") && recorded.compareAndSet(false, true)) {
+                log.info("First request {} {} finished {} ms after JVM start", request.getMethod(),
+                        request.getRequestURI(), ManagementFactory.getRuntimeMXBean().getUptime());
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.dss.project.startup;
+
+import com.dss.project.keyfilter.KeyFilter;
+import com.dss.project.model.Resort;
+import com.dss.project.model.ResortDay;
+import com.dss.project.model.SkierDay;
+import com.dss.project.repository.ResortCatalogRepository;
+import com.dss.project.repository.ResortDayRepository;
+import com.dss.project.repository.ResortRepository;
+import com.dss.project.repository.SkierDayRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Sample rows for an empty database
+@Component
+public class SampleDataSeeder {
+
+    @Autowired
+    private ResortRepository resortRepository;
+
+    @Autowired
+    private ResortCatalogRepository resortCatalogRepository;
+
+    @Autowired
+    private ResortDayRepository resortDayRepository;
+
+    @Autowired
+    private SkierDayRepository skierDayRepository;
+
+    @Autowired
+    private KeyFilter keyFilter;
+
+    @Value("${bulk.mode:}")
+    private String bulkMode;
+
+    @Value("${analytics.season:}")
+    private String analyticsSeason;
+
+    public void seed() {
+        // Bulk imports load real data and season reports read it, the sample rows would only get mixed in
+        if (!bulkMode.isEmpty() || !analyticsSeason.isEmpty()) {
+            return;
+        }
+
+        // Databases with legacy ResortsList data are filled by ResortsListMigration instead
+        if (resortCatalogRepository.count() == 0 && resortRepository.count() == 0) {
+            List<Resort> resorts = new ArrayList<>();
+            resorts.add(new Resort(new ObjectId(), 1, "Whistler Blackcomb", new ArrayList<>(Arrays.asList("2019", "2025"))));
+            resorts.add(new Resort(new ObjectId(), 2, "Banff Ski Resort", new ArrayList<>(Arrays.asList("2020"))));
+            resorts.add(new Resort(new ObjectId(), 3, "Mont Tremblant Ski Resort", new ArrayList<>(Arrays.asList("2021"))));
+            resorts.add(new Resort(new ObjectId(), 4, "Lake Louise Ski Resort", new ArrayList<>(Arrays.asList("2022"))));
+            resortCatalogRepository.saveAll(resorts);
+
+            List<ResortDay> resortDays = new ArrayList<>();
+            resortDays.add(new ResortDay(new ObjectId(), 1, 1, 1, 50));
+            resortDays.add(new ResortDay(new ObjectId(), 2, 1, 2, 100));
+            resortDays.add(new ResortDay(new ObjectId(), 3, 2, 3, 20));
+            resortDays.add(new ResortDay(new ObjectId(), 4, 2, 4, 50));
+            addKeys(resortDays, List.of());
+            resortDayRepository.saveAll(resortDays);
+
+            List<SkierDay> skierDays = new ArrayList<>();
+            skierDays.add(new SkierDay(new ObjectId(), 1, 1, 1, 1, 1, 60, 1000));
+            skierDays.add(new SkierDay(new ObjectId(), 2, 1, 2, 2, 2, 120, 2000));
+            skierDays.add(new SkierDay(new ObjectId(), 3, 2, 3, 3, 3, 30, 500));
+            skierDays.add(new SkierDay(new ObjectId(), 4, 2, 4, 4, 4, 60, 1000));
+            addKeys(List.of(), skierDays);
+            skierDayRepository.saveAll(skierDays);
+            // Again in case a key filter build started between the first add and the write
+            addKeys(resortDays, skierDays);
+        }
+    }
+
+    private void addKeys(List<ResortDay> resortDays, List<SkierDay> skierDays) {
+        for (ResortDay day : resortDays) {
+            keyFilter.addResortDay(day.getResortID(), day.getSeasonId(), day.getDayId());
+        }
+        for (SkierDay day : skierDays) {
+            keyFilter.addSkierDay(day.getResortID(), day.getSeasonId(), day.getDayId(), day.getSkierId());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.dss.project.startup;
+
+import com.dss.project.dto.*;
+import com.dss.project.hotkeys.HotKeyCache;
+import com.dss.project.repository.ResortCatalogRepository;
+import com.dss.project.repository.ResortDayRepository;
+import com.dss.project.repository.SkierDayRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Runs after the context is up: optional sample-data seeding, then the first touch of everything
+// the hot endpoints need (lazy controllers, pooled Mongo connections, derived queries, Jackson
+// serializers). WarmupHealthIndicator keeps the readiness probe down until this finishes.
+@Component
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private SampleDataSeeder sampleDataSeeder;
+
+    @Autowired
+    private ResortCatalogRepository resortCatalogRepository;
+
+    @Autowired
+    private ResortDayRepository resortDayRepository;
+
+    @Autowired
+    private SkierDayRepository skierDayRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HotKeyCache hotKeyCache;
+
+    @Value("${skiers.startup.async-seed:false}")
+    private boolean asyncSeed;
+
+    // Stops the JVM once warm, for AppCDS training runs (-XX:ArchiveClassesAtExit)
+    @Value("${skiers.startup.exit-after-ready:false}")
+    private boolean exitAfterReady;
+
+    @Value("${skiers.startup.report-steps:10}")
+    private int reportSteps;
+
+    private volatile boolean complete;
+    private volatile long warmupMillis = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        log.info("Context ready in {} ms, {} ms after JVM start", event.getTimeTaken().toMillis(),
+                ManagementFactory.getRuntimeMXBean().getUptime());
+        logSlowestSteps();
+
+        Thread thread = new Thread(this::warmUp, "startup-warmup");
+        thread.start();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public long getWarmupMillis() {
+        return warmupMillis;
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        try {
+            if (asyncSeed) {
+                sampleDataSeeder.seed();
+            }
+
+            // Creates the lazily initialized controllers and what they inject
+            applicationContext.getBeansWithAnnotation(RestController.class);
+
+            // The first queries open pooled connections and build the derived query methods
+            resortCatalogRepository.findAll();
+            resortCatalogRepository.findByResortID(0);
+            resortDayRepository.findByResortIDAndSeasonIdAndDayId(0, 0, 0);
+            skierDayRepository.findByResortIDAndSeasonIdAndDayIdAndSkierId(0, 0, 0, 0);
+            skierDayRepository.findBySkierId(0);
+
+            // Pins the keys that were hottest before the restart
+            hotKeyCache.prewarm();
+
+            // Builds and caches the serializers for the response types
+            objectMapper.writeValueAsBytes(List.of(new ResortsListDTO(1, "warmup")));
+            objectMapper.writeValueAsBytes(new SeasonsListDTO());
+            objectMapper.writeValueAsBytes(new ResortsSkiersDTO(1, "warmup"));
+            objectMapper.writeValueAsBytes(List.of(new SkierVerticalDTO("2022", 1)));
+            objectMapper.writeValueAsBytes(Map.of("endpointStats", List.of(new APIStatsDTO("/resorts", "GET", 0, 0))));
+        } catch (Exception e) {
+            // Warm-up only saves latency, holding readiness back forever would be worse
+            log.warn("Warm-up did not finish, reporting ready anyway", e);
+        }
+        warmupMillis = (System.nanoTime() - start) / 1_000_000;
+        complete = true;
+        log.info("Warm-up finished in {} ms, ready for traffic {} ms after JVM start", warmupMillis,
+                ManagementFactory.getRuntimeMXBean().getUptime());
+
+        if (exitAfterReady) {
+            log.info("Exiting after warm-up (skiers.startup.exit-after-ready)");
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    private void logSlowestSteps() {
+        if (reportSteps <= 0 || !(applicationContext.getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> events = new ArrayList<>(startup.getBufferedTimeline().getEvents());
+        events.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed());
+        log.info("Slowest startup steps (nested steps are included in their parents):");
+        for (StartupTimeline.TimelineEvent event : events.subList(0, Math.min(reportSteps, events.size()))) {
+            StringBuilder tags = new StringBuilder();
+            for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+                tags.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+            }
+            log.info("  {} ms {}{}", event.getDuration().toMillis(), event.getStartupStep().getName(), tags);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.dss.project.startup;
+
+import com.dss.project.migration.ResortsListMigration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Part of the readiness group (management.endpoint.health.group.readiness.include)
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private StartupWarmup startupWarmup;
+
+    @Autowired
+    private ResortsListMigration resortsListMigration;
+
+    @Override
+    public Health health() {
+        if (!startupWarmup.isComplete()) {
+            return Health.outOfService().build();
+        }
+        // Reads of legacy rows not copied yet would be answered with 404s
+        if (!resortsListMigration.isComplete()) {
+            return Health.outOfService().withDetail("waitingFor", "resorts-list-migration").build();
+        }
+        return Health.up().withDetail("warmupMillis", startupWarmup.getWarmupMillis()).build();
+    }
+}
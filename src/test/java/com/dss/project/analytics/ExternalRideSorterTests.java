@@ -0,0 +1,77 @@
+package com.dss.project.analytics;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalRideSorterTests {
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @TempDir
+    Path spillDir;
+
+    @AfterAll
+    public static void shutdown() {
+        pool.shutdown();
+    }
+
+    private long[] sortThrough(int rides, int chunkRides, int fanIn) throws IOException {
+        SplittableRandom random = new SplittableRandom(rides);
+        long[] expected = new long[rides];
+        long[] actual = new long[rides];
+        int read = 0;
+        try (ExternalRideSorter sorter = new ExternalRideSorter(spillDir, chunkRides, fanIn, pool)) {
+            for (int i = 0; i < rides; i++) {
+                expected[i] = PackedRide.pack(random.nextInt(100000) + 1, random.nextInt(1, 366), random.nextInt(1440),
+                        random.nextInt(1, 11), random.nextInt(1, 41));
+                sorter.add(expected[i]);
+            }
+            try (RideSource sorted = sorter.sorted()) {
+                while (sorted.advance()) {
+                    actual[read++] = sorted.current();
+                }
+            }
+        }
+        assertEquals(rides, read);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, actual);
+        return actual;
+    }
+
+    @Test
+    public void sortsInMemoryWhenOneChunkIsEnough() throws IOException {
+        sortThrough(1000, 4096, 4);
+    }
+
+    // 50000 rides in chunks of 97 give 516 runs, merged 3 at a time over several passes
+    @Test
+    public void spillsAndMergesOverSeveralPasses() throws IOException {
+        sortThrough(50000, 97, 3);
+        try (var left = Files.list(spillDir)) {
+            assertEquals(0, left.count());
+        }
+    }
+
+    @Test
+    public void packsInSkierDayTimeOrder() {
+        long ride = PackedRide.pack(12345, 200, 1439, 63, 40);
+        assertEquals(12345, PackedRide.skierId(ride));
+        assertEquals(200, PackedRide.dayId(ride));
+        assertEquals(1439, PackedRide.time(ride));
+        assertEquals(63, PackedRide.resortID(ride));
+        assertEquals(40, PackedRide.liftId(ride));
+        assertTrue(PackedRide.pack(1, 2, 0, 0, 0) < PackedRide.pack(1, 2, 1, 0, 0));
+        assertTrue(PackedRide.pack(1, 365, 1439, 63, 63) < PackedRide.pack(2, 0, 0, 0, 0));
+        assertFalse(PackedRide.fits(1, 1, 5000, 1, 1));
+    }
+}
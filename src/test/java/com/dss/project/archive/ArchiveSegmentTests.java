@@ -0,0 +1,105 @@
+package com.dss.project.archive;
+
+import com.dss.project.model.SkierDay;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveSegmentTests {
+
+    @TempDir
+    Path dir;
+
+    // Small blocks so skiers span block boundaries
+    private ArchiveSegment write(int rowsPerSkier, int skiers) throws IOException {
+        Path file = dir.resolve("season-2019-resort-3.seg");
+        try (SegmentWriter writer = new SegmentWriter(file, 3, 2019, 7)) {
+            for (int skier = 1; skier <= skiers; skier++) {
+                for (int day = 1; day <= rowsPerSkier; day++) {
+                    writer.append(skier * 10, day, day % 40 + 1, day * 3, skier == 2 ? -day : skier * 100 + day);
+                }
+            }
+        }
+        return ArchiveSegment.open(file);
+    }
+
+    @Test
+    public void readsBackEverySkierAcrossBlocks() throws IOException {
+        ArchiveSegment segment = write(5, 30);
+
+        assertEquals(150, segment.getRows());
+        assertEquals(3, segment.getResortID());
+        assertEquals(2019, segment.getSeasonId());
+        for (int skier = 1; skier <= 30; skier++) {
+            List<SkierDay> days = segment.findSkier(skier * 10);
+            assertEquals(5, days.size());
+            for (int day = 1; day <= 5; day++) {
+                SkierDay row = days.get(day - 1);
+                assertEquals(skier * 10, row.getSkierId());
+                assertEquals(day, row.getDayId());
+                assertEquals(day % 40 + 1, row.getLiftId());
+                assertEquals(day * 3, row.getTime());
+                assertEquals(skier == 2 ? -day : skier * 100 + day, row.getTotalVert());
+            }
+        }
+        assertTrue(segment.findSkier(15).isEmpty());
+        assertTrue(segment.findSkier(1000).isEmpty());
+    }
+
+    @Test
+    public void rejectsRowsOutOfOrder() throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(dir.resolve("bad.seg"), 1, 2019, 16)) {
+            writer.append(5, 2, 1, 1, 1);
+            assertThrows(IllegalArgumentException.class, () -> writer.append(5, 2, 1, 1, 1));
+            assertThrows(IllegalArgumentException.class, () -> writer.append(4, 3, 1, 1, 1));
+        }
+    }
+
+    @Test
+    public void iteratesEveryRowInOrder() throws IOException {
+        ArchiveSegment segment = write(4, 9);
+
+        Iterator<SkierDay> rows = segment.rows();
+        for (int skier = 1; skier <= 9; skier++) {
+            for (int day = 1; day <= 4; day++) {
+                assertTrue(rows.hasNext());
+                SkierDay row = rows.next();
+                assertEquals(3, row.getResortID());
+                assertEquals(2019, row.getSeasonId());
+                assertEquals(skier * 10, row.getSkierId());
+                assertEquals(day, row.getDayId());
+                assertEquals(skier == 2 ? -day : skier * 100 + day, row.getTotalVert());
+            }
+        }
+        assertFalse(rows.hasNext());
+        assertThrows(NoSuchElementException.class, rows::next);
+    }
+
+    @Test
+    public void liveRowsReplaceArchivedRowsOfTheSameDay() throws IOException {
+        SeasonArchive archive = new SeasonArchive();
+        ReflectionTestUtils.setField(archive, "dir", dir.toString());
+        archive.add(write(2, 3));
+
+        List<SkierDay> live = List.of(
+                new SkierDay(null, 3, 2019, 1, 20, 1, 1, 999),
+                new SkierDay(null, 3, 2022, 1, 20, 1, 1, 500),
+                new SkierDay(null, 4, 2019, 1, 20, 1, 1, 700));
+        List<SkierDay> merged = archive.merge(live, 20, null, List.of());
+
+        // Day 1 of resort 3 in 2019 comes from SkierDays, day 2 from the segment
+        assertEquals(4, merged.size());
+        assertEquals(999 + 500 + 700 - 2, merged.stream().mapToInt(SkierDay::getTotalVert).sum());
+        assertTrue(archive.merge(live.subList(2, 3), 20, List.of(4), List.of()).stream().noneMatch(day -> day.getResortID() == 3));
+        assertEquals(Optional.of(-2), archive.findSkierDay(3, 2019, 2, 20).map(SkierDay::getTotalVert));
+    }
+}
@@ -0,0 +1,42 @@
+package com.dss.project.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkCheckpointTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void resumeKeepsTheIdsOfEveryLine() throws Exception {
+        Path file = Files.writeString(dir.resolve("rides.csv"), "");
+        BulkCheckpoint first = new BulkCheckpoint(file, BulkCollection.SKIERS_TEST);
+        assertEquals(0, first.load());
+        first.save(2000);
+
+        BulkCheckpoint resumed = new BulkCheckpoint(file, BulkCollection.SKIERS_TEST);
+        assertEquals(2000, resumed.load());
+        assertEquals(first.id(1999), resumed.id(1999));
+        assertEquals(first.id(5_000_000_000L), resumed.id(5_000_000_000L));
+        assertNotEquals(resumed.id(1999), resumed.id(2000));
+    }
+
+    @Test
+    public void newImportOfTheSameFileGetsNewIds() throws Exception {
+        Path file = Files.writeString(dir.resolve("rides.csv"), "");
+        BulkCheckpoint first = new BulkCheckpoint(file, BulkCollection.SKIERS_TEST);
+        first.load();
+        first.save(10);
+        first.delete();
+
+        BulkCheckpoint next = new BulkCheckpoint(file, BulkCollection.SKIERS_TEST);
+        assertEquals(0, next.load());
+        assertNotEquals(first.id(1), next.id(1));
+    }
+}
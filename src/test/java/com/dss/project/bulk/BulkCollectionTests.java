@@ -0,0 +1,50 @@
+package com.dss.project.bulk;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkCollectionTests {
+
+    @Test
+    public void emptyCellsLeaveTheFieldOut() {
+        BulkCollection.Field[] columns = BulkCollection.SKIER_DAYS.columns(
+                CsvCodec.split("resortID, seasonId ,dayId,skierId,liftId,time,totalVert"));
+        Document document = BulkCollection.toDocument(columns, CsvCodec.split("1,2022, 3 ,42,,,"));
+
+        assertEquals(new Document("resortID", 1).append("seasonId", 2022).append("dayId", 3).append("skierId", 42),
+                document);
+        assertFalse(document.containsKey("totalVert"));
+    }
+
+    @Test
+    public void rejectsBadRows() {
+        BulkCollection.Field[] columns = BulkCollection.RESORT_DAYS.columns(CsvCodec.split("resortID,seasonId,dayId,numSkiers"));
+
+        IllegalArgumentException wrongCount = assertThrows(IllegalArgumentException.class,
+                () -> BulkCollection.toDocument(columns, CsvCodec.split("1,2022,3")));
+        assertEquals("expected 4 columns, got 3", wrongCount.getMessage());
+        IllegalArgumentException notANumber = assertThrows(IllegalArgumentException.class,
+                () -> BulkCollection.toDocument(columns, CsvCodec.split("1,2022,3,many")));
+        assertEquals("not an integer: many", notANumber.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> BulkCollection.RESORT_DAYS.columns(new String[]{"resortId"}));
+    }
+
+    @Test
+    public void stringListsRoundTripThroughOneCell() {
+        BulkCollection.Field[] columns = BulkCollection.RESORTS.columns(CsvCodec.split("resortID,resortName,seasons"));
+        Document document = BulkCollection.toDocument(columns, CsvCodec.split("5,\"Vail, CO\",2021;;2022"));
+
+        assertEquals(List.of("2021", "", "2022"), document.get("seasons"));
+        List<String> values = BulkCollection.RESORTS.toCsvValues(document);
+        assertEquals(List.of("5", "Vail, CO", "2021;;2022"), values);
+        assertEquals(document, BulkCollection.toDocument(columns, CsvCodec.split(CsvCodec.join(values))));
+
+        // One item is a one-element list; only an empty cell leaves the field out
+        assertEquals(List.of("2021"), BulkCollection.toDocument(columns, CsvCodec.split("5,Vail,2021")).get("seasons"));
+        assertFalse(BulkCollection.toDocument(columns, CsvCodec.split("5,Vail,")).containsKey("seasons"));
+    }
+}
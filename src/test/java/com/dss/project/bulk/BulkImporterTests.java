@@ -0,0 +1,84 @@
+package com.dss.project.bulk;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class BulkImporterTests {
+
+    private static final int BATCH = 10;
+
+    @TempDir
+    Path dir;
+
+    // 30 rows in three batches; skierId is the line number
+    private Path rides() throws Exception {
+        StringBuilder csv = new StringBuilder("resortID,seasonId,skierId,liftId,dayId,time\n");
+        for (int line = 1; line <= 3 * BATCH; line++) {
+            csv.append("1,2022,").append(line).append(",5,1,").append(line).append('\n');
+        }
+        return Files.writeString(dir.resolve("rides.csv"), csv);
+    }
+
+    private static BulkImporter importer(MongoCollection<Document> collection, Path file) {
+        return new BulkImporter(collection, BulkCollection.SKIERS_TEST, file, BulkFormat.CSV, BATCH, 3, 0,
+                Duration.ofMinutes(1), new BulkCheckpoint(file, BulkCollection.SKIERS_TEST));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkpointOnlyMovesPastContiguousBatches() throws Exception {
+        Path file = rides();
+        CountDownLatch thirdStored = new CountDownLatch(1);
+        MongoCollection<Document> failing = mock(MongoCollection.class);
+        when(failing.insertMany(anyList(), any(InsertManyOptions.class))).thenAnswer(call -> {
+            int first = ((List<Document>) call.getArgument(0)).get(0).getInteger("skierId");
+            if (first == 2 * BATCH + 1) {
+                thirdStored.countDown();
+            } else if (first == BATCH + 1) {
+                // The second batch fails after the third one is stored
+                assertTrue(thirdStored.await(5, TimeUnit.SECONDS));
+                throw new IllegalStateException("write failed");
+            }
+            return null;
+        });
+
+        assertThrows(IllegalStateException.class, () -> importer(failing, file).run());
+        BulkCheckpoint checkpoint = new BulkCheckpoint(file, BulkCollection.SKIERS_TEST);
+        assertEquals(BATCH, checkpoint.load());
+
+        // The resumed run writes the failed batch and the stored one after it again, under the same ids
+        List<Document> written = Collections.synchronizedList(new ArrayList<>());
+        MongoCollection<Document> working = mock(MongoCollection.class);
+        when(working.insertMany(anyList(), any(InsertManyOptions.class))).thenAnswer(call -> {
+            written.addAll(call.getArgument(0));
+            return null;
+        });
+        importer(working, file).run();
+
+        assertEquals(2 * BATCH, written.size());
+        written.sort((a, b) -> Integer.compare(a.getInteger("skierId"), b.getInteger("skierId")));
+        for (int i = 0; i < written.size(); i++) {
+            Document document = written.get(i);
+            assertEquals(BATCH + 1 + i, document.getInteger("skierId"));
+            assertEquals(checkpoint.id(BATCH + 1 + i), document.get("_id"));
+        }
+        assertFalse(Files.exists(checkpoint.getPath()));
+    }
+}
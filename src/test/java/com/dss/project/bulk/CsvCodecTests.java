@@ -0,0 +1,36 @@
+package com.dss.project.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvCodecTests {
+
+    @Test
+    public void splitsQuotedFieldsWithCommasAndQuotes() {
+        assertArrayEquals(new String[]{"1", "Big Sky, MT", "say \"hi\"", ""},
+                CsvCodec.split("1,\"Big Sky, MT\",\"say \"\"hi\"\"\","));
+        assertArrayEquals(new String[]{"", "", ""}, CsvCodec.split(",,"));
+        assertArrayEquals(new String[]{""}, CsvCodec.split(""));
+        // Quotes may open anywhere in a field and an empty quoted field is empty
+        assertArrayEquals(new String[]{"ab,c", ""}, CsvCodec.split("a\"b,c\",\"\""));
+    }
+
+    @Test
+    public void rejectsAnUnterminatedQuote() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> CsvCodec.split("1,\"open,2"));
+        assertEquals("unterminated quote", error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> CsvCodec.split("\"a\"\""));
+    }
+
+    @Test
+    public void joinQuotesOnlyWhatNeedsItAndSplitsBack() {
+        List<String> values = List.of("7", "Big Sky, MT", "say \"hi\"", "", "2021;2022");
+        String line = CsvCodec.join(values);
+
+        assertEquals("7,\"Big Sky, MT\",\"say \"\"hi\"\"\",,2021;2022", line);
+        assertEquals(values, List.of(CsvCodec.split(line)));
+    }
+}
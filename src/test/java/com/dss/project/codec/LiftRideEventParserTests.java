@@ -0,0 +1,100 @@
+package com.dss.project.codec;
+
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiftRideEventParserTests {
+
+    private final LiftRideEventParser parser = new LiftRideEventParser();
+
+    private LiftRideEvent parse(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return parser.parse(bytes, bytes.length, new LiftRideEvent());
+    }
+
+    @Test
+    public void parsesAllFields() {
+        LiftRideEvent event = parse("{\"skierId\":12345,\"resortId\":3,\"liftId\":17,\"seasonId\":2022,\"dayId\":1,\"time\":217}");
+
+        assertTrue(event.isValid());
+        assertEquals(12345, event.getSkierId());
+        assertEquals(3, event.getResortId());
+        assertEquals(17, event.getLiftId());
+        assertEquals(2022, event.getSeasonId());
+        assertEquals(1, event.getDayId());
+        assertEquals(217, event.getTime());
+    }
+
+    @Test
+    public void converterWritesWhatItReads() throws Exception {
+        LiftRideEventHttpMessageConverter converter = new LiftRideEventHttpMessageConverter();
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new LiftRideEvent(12345, 3, 17, 2022, 1, 217), MediaType.APPLICATION_JSON, output);
+
+        LiftRideEvent event = converter.read(LiftRideEvent.class, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        assertTrue(event.isValid());
+        assertEquals(12345, event.getSkierId());
+        assertEquals(217, event.getTime());
+    }
+
+    @Test
+    public void toleratesWhitespaceUnknownFieldsAndQuotedNumbers() {
+        LiftRideEvent event = parse(" { \"time\" : \"217\", \"extra\": {\"a\": [1, \"}\"]}, \"skierId\": 1," +
+                " \"resortId\": 10, \"liftId\": 40, \"seasonId\": 2022, \"dayId\": 1 }\n");
+
+        assertTrue(event.isValid());
+        assertEquals(217, event.getTime());
+        assertEquals(40, event.getLiftId());
+    }
+
+    @Test
+    public void marksMissingNullFractionalAndOutOfRangeFieldsInvalid() {
+        assertFalse(parse("{\"resortId\":3,\"liftId\":17,\"seasonId\":2022,\"dayId\":1,\"time\":217}").isValid());
+        assertFalse(parse("{\"skierId\":null,\"resortId\":3,\"liftId\":17,\"seasonId\":2022,\"dayId\":1,\"time\":217}").isValid());
+        assertFalse(parse("{\"skierId\":1.5,\"resortId\":3,\"liftId\":17,\"seasonId\":2022,\"dayId\":1,\"time\":217}").isValid());
+        assertFalse(parse("{\"skierId\":1,\"resortId\":3,\"liftId\":41,\"seasonId\":2022,\"dayId\":1,\"time\":217}").isValid());
+        assertFalse(parse("{\"skierId\":99999999999,\"resortId\":3,\"liftId\":1,\"seasonId\":2022,\"dayId\":1,\"time\":217}").isValid());
+    }
+
+    @Test
+    public void rejectsMalformedJson() {
+        assertThrows(IllegalArgumentException.class, () -> parse(""));
+        assertThrows(IllegalArgumentException.class, () -> parse("[1]"));
+        assertThrows(IllegalArgumentException.class, () -> parse("{\"skierId\":1"));
+        assertThrows(IllegalArgumentException.class, () -> parse("{\"skierId\":1}x"));
+        assertThrows(IllegalArgumentException.class, () -> parse("{\"a\":tru}"));
+    }
+
+    @Test
+    public void encodesSkiersTestDocument() {
+        RawBsonDocument document = LiftRideEventBson.toDocument(new LiftRideEvent(12345, 3, 17, 2022, 1, 217));
+
+        assertEquals(12345, document.getInt32("skierId").getValue());
+        assertEquals(3, document.getInt32("resortID").getValue());
+        assertEquals(17, document.getInt32("liftId").getValue());
+        assertEquals(2022, document.getInt32("seasonId").getValue());
+        assertEquals(1, document.getInt32("dayId").getValue());
+        assertEquals(217, document.getInt32("time").getValue());
+        assertEquals(6, document.size());
+    }
+
+    @Test
+    public void encodesBucketUpsert() {
+        LiftRideEvent event = new LiftRideEvent(12345, 3, 17, 2022, 1, 217);
+        BsonDocument filter = LiftRideBucketBson.toFilter(event);
+        BsonDocument update = LiftRideBucketBson.toUpdate(event);
+
+        assertEquals(BsonDocument.parse("{skierId: 12345, resortID: 3, seasonId: 2022, dayId: 1}"), filter);
+        assertEquals(BsonDocument.parse("{$push: {liftIds: 17, times: 217}, $inc: {rideCount: 1}," +
+                " $min: {firstTime: 217}, $max: {lastTime: 217}}"), update);
+    }
+}
@@ -0,0 +1,78 @@
+package com.dss.project.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.Document;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutingMongoTemplateTests {
+
+    private static final String REPLICA_SET_URI = "mongodb://localhost:27017,localhost:27018,localhost:27019/?replicaSet=rs0";
+
+    private static RoutingMongoTemplate template(MongoClient client) {
+        return new RoutingMongoTemplate(new SimpleMongoClientDatabaseFactory(client, "skirideapi"),
+                new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+    }
+
+    // No server needed: MongoClients connect lazily and getCollection does not touch the network
+    @Test
+    public void appliesThreadReadPreferenceOnlyInsideTheCall() {
+        try (MongoClient client = MongoClients.create("mongodb://localhost:1")) {
+            RoutingMongoTemplate template = template(client);
+            ReadPreference secondary = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+
+            ReadPreference routed = RoutingMongoTemplate.withReadPreference(secondary,
+                    () -> template.execute("Resorts", collection -> collection.getReadPreference()));
+            ReadPreference after = template.execute("Resorts", collection -> collection.getReadPreference());
+
+            assertEquals(secondary, routed);
+            assertEquals(ReadPreference.primary(), after);
+        }
+    }
+
+    // Needs docker/mongo-replica-set: mvn -B test -Preplica
+    @Tag("replica")
+    @Test
+    public void sendsRoutedFindsToASecondaryAndWritesToThePrimary() {
+        Map<String, ServerAddress> servedBy = new ConcurrentHashMap<>();
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                servedBy.put(event.getCommandName(), event.getConnectionDescription().getServerAddress());
+            }
+        };
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(REPLICA_SET_URI))
+                .addCommandListener(listener)
+                .build();
+
+        try (MongoClient client = MongoClients.create(settings)) {
+            RoutingMongoTemplate template = template(client);
+            template.insert(new Document("resortID", -1), "ReadRoutingCheck");
+            RoutingMongoTemplate.withReadPreference(ReadPreference.secondary(),
+                    () -> template.findAll(Document.class, "ReadRoutingCheck"));
+            template.dropCollection("ReadRoutingCheck");
+
+            String primary = client.getDatabase("admin").runCommand(new Document("hello", 1)).getString("primary");
+            assertEquals(primary, servedBy.get("insert").toString());
+            assertNotEquals(primary, servedBy.get("find").toString());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.dss.project.deadline;
+
+import com.dss.project.service.Bulkhead;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class QueryDeadlinesTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryDeadlines queryDeadlines = new QueryDeadlines();
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+
+    @SuppressWarnings("unchecked")
+    private final FindIterable<Document> find = mock(FindIterable.class);
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(queryDeadlines, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(queryDeadlines, "margin", Duration.ofMillis(50));
+        queryDeadlines.init();
+        when(collection.getNamespace()).thenReturn(new MongoNamespace("skirideapi", "SkierDays"));
+        when(collection.find()).thenReturn(find);
+        when(find.maxTime(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(find);
+    }
+
+    @Test
+    public void leavesCollectionsAloneWithoutADeadline() {
+        assertSame(collection, queryDeadlines.apply(collection));
+    }
+
+    @Test
+    public void setsMaxTimeToTheTimeLeftLessTheMargin() {
+        FindIterable<Document> result = Deadline.call(Deadline.after(Duration.ofSeconds(2)),
+                () -> queryDeadlines.apply(collection).find());
+
+        assertSame(find, result);
+        verify(find).maxTime(longThat(maxTime -> maxTime > 1000 && maxTime <= 1950), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void doesNotSendCallsOnceTheDeadlineHasPassed() {
+        assertThrows(DeadlineExceededException.class, () -> Deadline.call(Deadline.after(Duration.ofMillis(20)),
+                () -> queryDeadlines.apply(collection).find()));
+
+        verify(collection, never()).find();
+        assertEquals(1, queryDeadlines.getCancelled());
+    }
+
+    @Test
+    public void bulkheadRunsTasksUnderTheSubmittersDeadline() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 10, Duration.ofSeconds(10), meterRegistry);
+        try {
+            Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+            CompletableFuture<Deadline> seen = Deadline.call(deadline, () -> bulkhead.submit(Deadline::current));
+            assertSame(deadline, seen.get(5, TimeUnit.SECONDS));
+
+            // A tighter request deadline wins over the bulkhead timeout
+            CompletableFuture<Object> slow = Deadline.call(Deadline.after(Duration.ofMillis(100)), () -> bulkhead.submit(() -> {
+                sleep(1000);
+                return null;
+            }));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> slow.get(500, TimeUnit.MILLISECONDS));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+            assertNull(Deadline.current());
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
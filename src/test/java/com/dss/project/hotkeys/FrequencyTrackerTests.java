@@ -0,0 +1,58 @@
+package com.dss.project.hotkeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrequencyTrackerTests {
+
+    @Test
+    public void findsTheHeavyHittersAmongManyColdKeys() {
+        FrequencyTracker tracker = new FrequencyTracker(4096, 10);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200_000; i++) {
+            // Five hot skier-days take half the reads, 100k cold skiers the rest
+            if (random.nextBoolean()) {
+                tracker.record(HotKey.skierDay(1, 2022, 1, random.nextInt(5)));
+            } else {
+                tracker.record(HotKey.skier(random.nextInt(100_000)));
+            }
+        }
+
+        List<Map.Entry<HotKey, Long>> top = tracker.top(5);
+        assertEquals(5, top.size());
+        for (Map.Entry<HotKey, Long> entry : top) {
+            assertEquals(HotKey.Kind.SKIER_DAY, entry.getKey().kind());
+            // Each hot key has about 20000 reads; the sketch may only overcount
+            assertTrue(entry.getValue() >= 19_000 && entry.getValue() < 22_000, entry.toString());
+        }
+        assertTrue(top.get(0).getValue() >= top.get(4).getValue());
+    }
+
+    @Test
+    public void decayHalvesCountsSoNewTrafficTakesOver() {
+        FrequencyTracker tracker = new FrequencyTracker(1024, 1);
+        HotKey old = HotKey.resort(1);
+        HotKey recent = HotKey.resort(2);
+        tracker.add(old, 1000);
+        tracker.decay();
+        tracker.decay();
+
+        assertEquals(250, tracker.estimate(old));
+        tracker.add(recent, 300);
+        assertEquals(recent, tracker.top(1).get(0).getKey());
+    }
+
+    @Test
+    public void keysRoundTripThroughTheirText() {
+        for (HotKey key : List.of(HotKey.resort(3), HotKey.resortDay(3, 2022, 7), HotKey.skierDay(3, 2022, 7, 42),
+                HotKey.skier(42))) {
+            assertEquals(key, HotKey.parse(key.toString()));
+        }
+        assertEquals("skier-day:3/2022/7/42", HotKey.skierDay(3, 2022, 7, 42).toString());
+    }
+}
@@ -0,0 +1,76 @@
+package com.dss.project.hotkeys;
+
+import com.dss.project.model.ResortDay;
+import com.dss.project.repository.ResortDayRepository;
+import com.dss.project.service.ReadRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class HotKeyCacheTests {
+
+    private static final HotKey KEY = HotKey.resortDay(1, 2022, 3);
+
+    private final ResortDayRepository resortDayRepository = mock(ResortDayRepository.class);
+    private final ReadRouter readRouter = mock(ReadRouter.class);
+    private final HotKeyCache cache = new HotKeyCache();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(cache, "resortDayRepository", resortDayRepository);
+        ReflectionTestUtils.setField(cache, "readRouter", readRouter);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        when(readRouter.read(any(), any())).thenAnswer(call -> call.getArgument(1, Supplier.class).get());
+        cache.start();
+    }
+
+    @AfterEach
+    public void teardown() {
+        cache.stop();
+    }
+
+    @Test
+    public void readOverlappingAWriteIsNotPinned() {
+        ReflectionTestUtils.setField(cache, "pinnedKeys", Set.of(KEY));
+
+        // The write lands and invalidates while the read is loading the old value
+        Optional<String> stale = cache.get(KEY, () -> {
+            cache.invalidate(KEY);
+            return Optional.of("before");
+        });
+        assertEquals(Optional.of("before"), stale);
+        assertFalse(cache.isPinned(KEY));
+
+        assertEquals(Optional.of("after"), cache.get(KEY, () -> Optional.of("after")));
+        assertEquals(Optional.of("after"), cache.get(KEY, () -> Optional.of("unused")));
+    }
+
+    @Test
+    public void refreshOverlappingAWriteIsNotPinned() {
+        ResortDay before = new ResortDay(null, 1, 2022, 3, 10);
+        ResortDay after = new ResortDay(null, 1, 2022, 3, 11);
+        when(resortDayRepository.findByResortIDAndSeasonIdAndDayId(1, 2022, 3))
+                .thenAnswer(call -> {
+                    cache.invalidate(KEY);
+                    return Optional.of(before);
+                })
+                .thenReturn(Optional.of(after));
+        cache.record(KEY);
+
+        cache.refresh();
+        assertFalse(cache.isPinned(KEY));
+
+        cache.refresh();
+        assertEquals(Optional.of(after), cache.get(KEY, Optional::empty));
+    }
+}
@@ -0,0 +1,47 @@
+package com.dss.project.keyfilter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScalableBloomFilterTests {
+
+    @Test
+    public void growsPastItsInitialCapacityWithoutFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10_000, 0.01, 64 << 20);
+        for (int skierId = 0; skierId < 100_000; skierId++) {
+            filter.add(KeyFilter.hash(1, 2022, skierId % 360, skierId));
+        }
+
+        assertTrue(filter.getStages() > 1);
+        for (int skierId = 0; skierId < 100_000; skierId++) {
+            assertTrue(filter.mightContain(KeyFilter.hash(1, 2022, skierId % 360, skierId)));
+        }
+        // Stages halve their rate, so the combined rate stays under twice the configured one
+        assertTrue(falsePositiveRate(filter) < 0.02);
+    }
+
+    @Test
+    public void stopsGrowingAtTheMemoryBudget() {
+        long budget = BloomFilter.bytesFor(10_000, 0.01) * 2;
+        ScalableBloomFilter filter = new ScalableBloomFilter(10_000, 0.01, budget);
+        for (int skierId = 0; skierId < 100_000; skierId++) {
+            filter.add(KeyFilter.hash(2, 2022, 1, skierId));
+        }
+
+        assertTrue(filter.getBytes() <= budget);
+        assertTrue(filter.isOverBudget());
+        assertEquals(100_000, filter.getKeys());
+        assertTrue(filter.mightContain(KeyFilter.hash(2, 2022, 1, 99_999)));
+    }
+
+    private static double falsePositiveRate(ScalableBloomFilter filter) {
+        int falsePositives = 0;
+        for (int skierId = 0; skierId < 100_000; skierId++) {
+            if (filter.mightContain(KeyFilter.hash(9, 2019, 7, skierId))) {
+                falsePositives++;
+            }
+        }
+        return falsePositives / 100_000.0;
+    }
+}
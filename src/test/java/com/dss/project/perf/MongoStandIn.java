@@ -0,0 +1,36 @@
+package com.dss.project.perf;
+
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+// MongoDB for the performance suite. Uses -Dperf.mongodb.uri when given (e.g. a local mongod),
+// otherwise starts an embedded mongod once per JVM and stops it on exit.
+final class MongoStandIn {
+
+    private static String uri;
+    private static boolean embedded;
+
+    private MongoStandIn() {
+    }
+
+    static synchronized String uri() {
+        if (uri == null) {
+            String configured = System.getProperty("perf.mongodb.uri");
+            if (configured != null && !configured.isBlank()) {
+                uri = configured;
+            } else {
+                TransitionWalker.ReachedState<RunningMongodProcess> running = Mongod.instance().start(Version.Main.V6_0);
+                Runtime.getRuntime().addShutdownHook(new Thread(running::close));
+                uri = "mongodb://" + running.current().getServerAddress();
+                embedded = true;
+            }
+        }
+        return uri;
+    }
+
+    static synchronized boolean isEmbedded() {
+        return embedded;
+    }
+}
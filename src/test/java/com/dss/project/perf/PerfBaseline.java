@@ -0,0 +1,130 @@
+package com.dss.project.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+// Stored expectations for the performance suite (src/test/resources/perf/baseline.properties).
+// A scenario regresses when its throughput drops, or its p99 grows, by more than the tolerance.
+// Scenario numbers are only ever copied from a candidate written by a run on the reference setup,
+// whose measured.* entries record where and how they were produced; a scenario without numbers is
+// reported as unmeasured, never checked against a guess.
+final class PerfBaseline {
+
+    record Result(String scenario, long requests, double throughput, double p99Millis) {
+    }
+
+    private final Properties properties;
+    // The file's leading comment lines, carried over into candidates
+    private final List<String> header;
+
+    private PerfBaseline(Properties properties, List<String> header) {
+        this.properties = properties;
+        this.header = header;
+    }
+
+    static PerfBaseline load(String resource) throws IOException {
+        String text;
+        try (InputStream in = PerfBaseline.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing performance baseline " + resource);
+            }
+            text = new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+        }
+        Properties properties = new Properties();
+        properties.load(new StringReader(text));
+        List<String> header = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            if (!line.startsWith("#")) {
+                break;
+            }
+            header.add(line);
+        }
+        return new PerfBaseline(properties, header);
+    }
+
+    // Scenarios of this run that have no numbers in the baseline yet
+    List<String> unmeasured(Map<String, Result> results) {
+        List<String> unmeasured = new ArrayList<>();
+        for (Result result : results.values()) {
+            if (properties.getProperty("scenario." + result.scenario() + ".throughput") == null) {
+                unmeasured.add(result.scenario());
+            }
+        }
+        return unmeasured;
+    }
+
+    // Returns a description of every regression of a measured scenario, empty when all of them are
+    // within tolerance.
+    List<String> regressions(Map<String, Result> results) {
+        double throughputTolerance = number("tolerance.throughput");
+        double p99Tolerance = number("tolerance.p99");
+        List<String> regressions = new ArrayList<>();
+        for (Result result : results.values()) {
+            String key = "scenario." + result.scenario();
+            if (properties.getProperty(key + ".throughput") == null) {
+                continue;
+            }
+            double minThroughput = number(key + ".throughput") * (1 - throughputTolerance);
+            double maxP99 = number(key + ".p99") * (1 + p99Tolerance);
+            if (result.throughput() < minThroughput) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f req/s below %.1f req/s",
+                        result.scenario(), result.throughput(), minThroughput));
+            }
+            if (result.p99Millis() > maxP99) {
+                regressions.add(String.format(Locale.ROOT, "%s: p99 %.2f ms above %.2f ms",
+                        result.scenario(), result.p99Millis(), maxP99));
+            }
+        }
+        return regressions;
+    }
+
+    // Writes the measured numbers in baseline format, under the stored baseline's comments, to be
+    // copied over it as a whole after an intended performance change.
+    void writeCandidate(Path file, Map<String, String> setup, Map<String, Result> results) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            for (String line : header) {
+                out.write(line + "\n");
+            }
+            for (Map.Entry<String, String> entry : setup.entrySet()) {
+                out.write("measured." + entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+            out.write("tolerance.throughput=" + properties.getProperty("tolerance.throughput") + "\n");
+            out.write("tolerance.p99=" + properties.getProperty("tolerance.p99") + "\n");
+            for (Result result : results.values()) {
+                out.write(String.format(Locale.ROOT, "scenario.%s.throughput=%.1f%n", result.scenario(), result.throughput()));
+                out.write(String.format(Locale.ROOT, "scenario.%s.p99=%.2f%n", result.scenario(), result.p99Millis()));
+            }
+        }
+    }
+
+    // Where the stored numbers were measured, for the failure message
+    String setup() {
+        List<String> setup = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("measured.")) {
+                setup.add(key.substring("measured.".length()) + "=" + properties.getProperty(key));
+            }
+        }
+        setup.sort(null);
+        return setup.isEmpty() ? "nowhere" : String.join(", ", setup);
+    }
+
+    private double number(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("Missing " + key + " in performance baseline");
+        }
+        return Double.parseDouble(value.trim());
+    }
+}
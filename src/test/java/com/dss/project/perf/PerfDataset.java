@@ -0,0 +1,70 @@
+package com.dss.project.perf;
+
+import com.dss.project.model.APIStats;
+import com.dss.project.model.Resort;
+import com.dss.project.model.ResortDay;
+import com.dss.project.model.SkierDay;
+import com.dss.project.model.SkiersTestData;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic seed data for the performance suite: 10 resorts, a few days per season and a few
+// hundred skiers per resort-day, which is the shape the read endpoints are queried with.
+final class PerfDataset {
+
+    static final int RESORTS = 10;
+    static final int DAYS = 3;
+    static final int SKIERS_PER_DAY = 300;
+    static final int SEASON = 2022;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private PerfDataset() {
+    }
+
+    static void seed(MongoTemplate mongoTemplate) {
+        // Emptied rather than dropped so the indexes created at startup stay in place
+        mongoTemplate.remove(new Query(), Resort.class);
+        mongoTemplate.remove(new Query(), ResortDay.class);
+        mongoTemplate.remove(new Query(), SkierDay.class);
+        mongoTemplate.dropCollection(SkiersTestData.class);
+        mongoTemplate.dropCollection(APIStats.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Resort> resorts = new ArrayList<>(RESORTS);
+        List<ResortDay> resortDays = new ArrayList<>(RESORTS * DAYS);
+        List<SkierDay> batch = new ArrayList<>(BATCH_SIZE);
+        for (int resort = 1; resort <= RESORTS; resort++) {
+            resorts.add(new Resort(new ObjectId(), resort, "Perf Resort " + resort,
+                    new ArrayList<>(List.of("2021", Integer.toString(SEASON)))));
+            for (int day = 1; day <= DAYS; day++) {
+                resortDays.add(new ResortDay(new ObjectId(), resort, SEASON, day, SKIERS_PER_DAY));
+                for (int skier = 1; skier <= SKIERS_PER_DAY; skier++) {
+                    batch.add(new SkierDay(new ObjectId(), resort, SEASON, day, skierId(resort, skier),
+                            random.nextInt(40) + 1, random.nextInt(360) + 1, random.nextInt(20000) + 500));
+                    if (batch.size() == BATCH_SIZE) {
+                        mongoTemplate.insert(batch, SkierDay.class);
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, SkierDay.class);
+        }
+        mongoTemplate.insert(resorts, Resort.class);
+        mongoTemplate.insert(resortDays, ResortDay.class);
+
+        // getApiStatistics reads the stats row written by GET /resorts
+        mongoTemplate.insert(new APIStats("/resorts", "GET", 0, 0));
+    }
+
+    static int skierId(int resort, int skier) {
+        return (resort - 1) * SKIERS_PER_DAY + skier;
+    }
+}
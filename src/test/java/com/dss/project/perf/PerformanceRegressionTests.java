@@ -0,0 +1,227 @@
+package com.dss.project.perf;
+
+import com.dss.project.migration.IndexSetup;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.bson.Document;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs fixed read and write scenarios against the app backed by a MongoDB stand-in and compares
+// throughput and p99 with perf/baseline.properties. Excluded from the default build, run with:
+//
+//   mvn -B test -Pperf [-Dperf.mongodb.uri=mongodb://localhost:27017]
+@Tag("perf")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+        properties = "spring.data.mongodb.database=skirideapi_perf")
+@Import(PerformanceRegressionTests.StandInMongoConfiguration.class)
+public class PerformanceRegressionTests {
+
+    private static final int CONCURRENCY = 16;
+    private static final int REQUESTS = 5000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StandInMongoConfiguration {
+
+        // Replaces the auto-configured client so the suite never touches the configured cluster
+        @Bean
+        MongoClient mongoClient() {
+            return MongoClients.create(MongoStandIn.uri());
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IndexSetup indexSetup;
+
+    private HttpClient httpClient;
+
+    @BeforeAll
+    public void setup() {
+        PerfDataset.seed(mongoTemplate);
+        // Normally built in the background after startup; the scenarios must not run without them
+        indexSetup.ensureIndexes();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    @Test
+    public void scenariosStayWithinBaseline() throws Exception {
+        Map<String, PerfBaseline.Result> results = new LinkedHashMap<>();
+
+        record(results, run("liftRideEvent", REQUESTS, 201, random -> post("/skiers/liftRideEvent",
+                "{\"skierId\":" + (random.nextInt(100000) + 1) +
+                        ",\"resortId\":" + (random.nextInt(10) + 1) +
+                        ",\"liftId\":" + (random.nextInt(40) + 1) +
+                        ",\"seasonId\":2022,\"dayId\":1,\"time\":" + (random.nextInt(360) + 1) + "}")));
+
+        record(results, run("totalVertical", REQUESTS, 200, random -> {
+            int resort = random.nextInt(PerfDataset.RESORTS) + 1;
+            int skier = PerfDataset.skierId(resort, random.nextInt(PerfDataset.SKIERS_PER_DAY) + 1);
+            return get("/skiers/" + resort + "/seasons/" + PerfDataset.SEASON + "/days/" +
+                    (random.nextInt(PerfDataset.DAYS) + 1) + "/skiers/" + skier, null);
+        }));
+
+        record(results, run("numSkiers", REQUESTS, 200, random -> get("/resorts/" + (random.nextInt(PerfDataset.RESORTS) + 1) +
+                "/seasons/" + PerfDataset.SEASON + "/day/" + (random.nextInt(PerfDataset.DAYS) + 1) + "/skiers", null)));
+
+        record(results, run("seasons", REQUESTS, 200, random ->
+                get("/resorts/" + (random.nextInt(PerfDataset.RESORTS) + 1) + "/seasons", null)));
+
+        record(results, run("skierVertical", REQUESTS, 200, random -> {
+            int resort = random.nextInt(PerfDataset.RESORTS) + 1;
+            int skier = PerfDataset.skierId(resort, random.nextInt(PerfDataset.SKIERS_PER_DAY) + 1);
+            return get("/skiers/skiers/" + skier + "/vertical", "{\"seasons\":[\"" + PerfDataset.SEASON + "\"]}");
+        }));
+
+        // Returns every ResortsList row, so far fewer requests
+        record(results, run("resorts", 100, 200, random -> get("/resorts", null)));
+
+        PerfBaseline baseline = PerfBaseline.load("perf/baseline.properties");
+        Path candidate = Path.of("target", "perf", "baseline-candidate.properties");
+        baseline.writeCandidate(candidate, measuredSetup(), results);
+
+        List<String> regressions = baseline.regressions(results);
+        assertTrue(regressions.isEmpty(), "Performance regressions against the baseline measured with "
+                + baseline.setup() + ":\n  " + String.join("\n  ", regressions));
+        // Nothing to compare against is not a regression; the candidate holds the numbers to commit
+        List<String> unmeasured = baseline.unmeasured(results);
+        Assumptions.assumeTrue(unmeasured.isEmpty(), () -> "No measured baseline for " + unmeasured
+                + ", copy " + candidate + " from a run on the reference setup over perf/baseline.properties");
+    }
+
+    private Map<String, String> measuredSetup() {
+        Map<String, String> setup = new LinkedHashMap<>();
+        setup.put("date", LocalDate.now(ZoneOffset.UTC).toString());
+        setup.put("command", "mvn -B test -Pperf" + (MongoStandIn.isEmbedded() ? "" : " -Dperf.mongodb.uri=..."));
+        setup.put("mongodb", (MongoStandIn.isEmbedded() ? "embedded " : "external ")
+                + mongoTemplate.executeCommand(new Document("buildInfo", 1)).getString("version"));
+        setup.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        setup.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        setup.put("cpus", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        setup.put("max-heap-mb", String.valueOf(Runtime.getRuntime().maxMemory() >> 20));
+        return setup;
+    }
+
+    private static void record(Map<String, PerfBaseline.Result> results, PerfBaseline.Result result) {
+        System.out.printf("%-14s %7d requests %10.1f req/s  p99 %8.2f ms%n",
+                result.scenario(), result.requests(), result.throughput(), result.p99Millis());
+        results.put(result.scenario(), result);
+    }
+
+    private PerfBaseline.Result run(String scenario, int requests, int expectedStatus,
+                                    Function<ThreadLocalRandom, HttpRequest> requestFactory) throws InterruptedException {
+        // Warm-up pass, not measured
+        execute(Math.max(requests / 5, 1), expectedStatus, requestFactory, null);
+
+        Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        long start = System.nanoTime();
+        int unexpected = execute(requests, expectedStatus, requestFactory, latencyMicros);
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(0, unexpected, scenario + ": responses with a status other than " + expectedStatus);
+        return new PerfBaseline.Result(scenario, requests, requests / (elapsed / 1e9),
+                latencyMicros.getValueAtPercentile(99) / 1000.0);
+    }
+
+    // Closed loop with a fixed number of workers: not a capacity test, but stable enough to compare runs.
+    private int execute(int requests, int expectedStatus, Function<ThreadLocalRandom, HttpRequest> requestFactory,
+                        Histogram latencyMicros) throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        AtomicInteger unexpected = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (remaining.getAndDecrement() > 0) {
+                    HttpRequest request = requestFactory.apply(random);
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (latencyMicros != null) {
+                        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                                latencyMicros.getHighestTrackableValue()));
+                    }
+                    if (status != expectedStatus) {
+                        unexpected.incrementAndGet();
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+        }
+        return unexpected.get();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // getSkierVertical takes its filter as a GET body
+    private HttpRequest get(String path, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT);
+        if (json == null) {
+            return builder.GET().build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method("GET", HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/v1" + path);
+    }
+}
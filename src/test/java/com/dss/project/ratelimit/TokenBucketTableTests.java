@@ -0,0 +1,83 @@
+package com.dss.project.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTableTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void allowsBurstThenRefillsAtRate() {
+        TokenBucketTable table = new TokenBucketTable(64, 10, 5);
+        long now = 10 * SECOND;
+
+        for (int i = 4; i >= 0; i--) {
+            assertEquals(i, table.tryAcquire(42, now));
+        }
+        long refused = table.tryAcquire(42, now);
+        assertTrue(refused < 0);
+        assertEquals(SECOND / 10, -refused);
+
+        // One token back every 100ms
+        assertEquals(0, table.tryAcquire(42, now + SECOND / 10));
+        assertTrue(table.tryAcquire(42, now + SECOND / 10) < 0);
+        assertEquals(4, table.tryAcquire(42, now + 2 * SECOND));
+    }
+
+    @Test
+    public void keepsClientsApart() {
+        TokenBucketTable table = new TokenBucketTable(64, 1, 1);
+        long now = SECOND;
+
+        assertEquals(0, table.tryAcquire(1, now));
+        assertTrue(table.tryAcquire(1, now) < 0);
+        assertEquals(0, table.tryAcquire(2, now));
+    }
+
+    @Test
+    public void reusesExpiredSlotsAndEvictsWhenCrowded() {
+        TokenBucketTable table = new TokenBucketTable(16, 1, 1);
+        long now = SECOND;
+
+        for (long client = 1; client <= 16; client++) {
+            assertEquals(0, table.tryAcquire(client, now));
+        }
+        // Every bucket is empty; the evicting client takes over one with its backlog, not a fresh burst
+        assertEquals(-SECOND, table.tryAcquire(17, now));
+        assertEquals(1, table.getEvictions());
+        // A second later all buckets are full again, so their slots can be taken over
+        assertEquals(0, table.tryAcquire(18, now + 2 * SECOND));
+    }
+
+    @Test
+    public void evictsTheBucketThatEmptiesSoonest() {
+        TokenBucketTable table = new TokenBucketTable(16, 1, 4);
+        long now = SECOND;
+
+        for (long client = 1; client <= 16; client++) {
+            for (int i = 0; i < (client == 9 ? 1 : 3); i++) {
+                table.tryAcquire(client, now);
+            }
+        }
+        // Client 9 owes one token, everyone else three: only 9's slot leaves room for a request
+        assertEquals(2, table.tryAcquire(17, now));
+        assertEquals(1, table.getEvictions());
+        assertEquals(0, table.tryAcquire(1, now));
+    }
+
+    @Test
+    public void findsItsOwnBucketPastExpiredSlots() {
+        // Clients 1 and 17 hash to the same slot of a 16-slot table, so 17 takes the next one
+        TokenBucketTable table = new TokenBucketTable(16, 1, 2);
+        assertEquals(1, table.tryAcquire(1, SECOND));
+        assertEquals(1, table.tryAcquire(17, SECOND));
+        assertEquals(0, table.tryAcquire(17, SECOND));
+
+        // Client 1's slot has expired; 17's bucket is still half a token short, a fresh one would
+        // have a spare token
+        assertEquals(0, table.tryAcquire(17, 2 * SECOND + SECOND / 2));
+        assertTrue(table.tryAcquire(17, 2 * SECOND + SECOND / 2) < 0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.dss.project.service;
+
+import com.dss.project.repository.SkierDayRepository;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class LiftRideWriteCombinerTests {
+
+    private final SkierDayRepository skierDayRepository = mock(SkierDayRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LiftRideWriteCombiner combiner = new LiftRideWriteCombiner();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(combiner, "skierDayRepository", skierDayRepository);
+        ReflectionTestUtils.setField(combiner, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(combiner, "enabled", true);
+        // Long enough that the updates below always land in the same window
+        ReflectionTestUtils.setField(combiner, "window", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(combiner, "flushThreads", 4);
+        when(skierDayRepository.updateLiftRide(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        combiner.start();
+    }
+
+    @AfterEach
+    public void teardown() throws InterruptedException {
+        combiner.stop();
+    }
+
+    @Test
+    public void combinesUpdatesToOneKeyIntoOneWrite() throws Exception {
+        CompletableFuture<UpdateResult> first = combiner.update(1, 2022, 1, 7, 10, 100, 300);
+        CompletableFuture<UpdateResult> second = combiner.update(1, 2022, 1, 7, 11, 110, null);
+        CompletableFuture<UpdateResult> third = combiner.update(1, 2022, 1, 7, 12, 120, 200);
+        CompletableFuture<UpdateResult> otherSkier = combiner.update(1, 2022, 1, 8, 5, 50, 100);
+
+        assertEquals(1, third.get(5, TimeUnit.SECONDS).getMatchedCount());
+        otherSkier.get(5, TimeUnit.SECONDS);
+        assertSame(first, second);
+        assertSame(second, third);
+
+        // Last liftId and time win, verticals add up
+        verify(skierDayRepository).updateLiftRide(1, 2022, 1, 7, 12, 120, 500);
+        verify(skierDayRepository).updateLiftRide(1, 2022, 1, 8, 5, 50, 100);
+        verify(skierDayRepository, times(2)).updateLiftRide(any(), any(), any(), any(), any(), any(), any());
+        assertEquals(4, meterRegistry.counter("skiers.write.combining.updates").count());
+        assertEquals(2, meterRegistry.counter("skiers.write.combining.writes").count());
+    }
+
+    @Test
+    public void stopWritesPendingUpdatesAndLaterOnesDirectly() throws Exception {
+        CompletableFuture<UpdateResult> pendingUpdate = combiner.update(1, 2022, 1, 7, 10, 100, 300);
+        combiner.stop();
+
+        assertEquals(1, pendingUpdate.get(5, TimeUnit.SECONDS).getMatchedCount());
+        CompletableFuture<UpdateResult> late = combiner.update(1, 2022, 1, 7, 11, 110, 200);
+        assertTrue(late.isDone());
+        verify(skierDayRepository).updateLiftRide(1, 2022, 1, 7, 10, 100, 300);
+        verify(skierDayRepository).updateLiftRide(1, 2022, 1, 7, 11, 110, 200);
+    }
+
+    @Test
+    public void laterWindowWaitsForTheEarlierWriteOfTheSameKey() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(skierDayRepository.updateLiftRide(1, 2022, 1, 7, 10, 100, 300)).thenAnswer(call -> {
+            firstStarted.countDown();
+            releaseFirst.await(5, TimeUnit.SECONDS);
+            return UpdateResult.acknowledged(1, 1L, null);
+        });
+
+        CompletableFuture<UpdateResult> first = combiner.update(1, 2022, 1, 7, 10, 100, 300);
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<UpdateResult> second = combiner.update(1, 2022, 1, 7, 11, 110, 200);
+        // Its window closes while the first write is still blocked
+        Thread.sleep(500);
+        assertFalse(second.isDone());
+        verify(skierDayRepository, times(1)).updateLiftRide(any(), any(), any(), any(), any(), any(), any());
+
+        releaseFirst.countDown();
+        second.get(5, TimeUnit.SECONDS);
+        assertTrue(first.isDone());
+        InOrder order = inOrder(skierDayRepository);
+        order.verify(skierDayRepository).updateLiftRide(1, 2022, 1, 7, 10, 100, 300);
+        order.verify(skierDayRepository).updateLiftRide(1, 2022, 1, 7, 11, 110, 200);
+    }
+}
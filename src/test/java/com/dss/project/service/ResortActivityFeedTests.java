@@ -0,0 +1,114 @@
+package com.dss.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResortActivityFeedTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResortActivityFeed feed = new ResortActivityFeed();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(feed, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(feed, "meterRegistry", meterRegistry);
+        // Ticks are driven by the tests
+        ReflectionTestUtils.setField(feed, "interval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(feed, "heartbeat", Duration.ofHours(1));
+        ReflectionTestUtils.setField(feed, "sendThreads", 1);
+        feed.start();
+    }
+
+    @AfterEach
+    public void teardown() {
+        feed.stop();
+    }
+
+    @Test
+    public void framesForASlowSubscriberAreMergedIntoOne() throws Exception {
+        BlockingEmitter emitter = new BlockingEmitter();
+        feed.subscribe(1, emitter);
+
+        feed.record(1, 2022, 1, 5, 100);
+        feed.tick();
+        // The first frame is being written and holds the sender
+        assertTrue(emitter.entered.await(5, TimeUnit.SECONDS));
+
+        feed.record(1, 2022, 1, 5, 101);
+        feed.tick();
+        feed.record(1, 2022, 1, 6, 102);
+        feed.record(1, 2022, 1, 6, 100);
+        feed.tick();
+        assertEquals(1, meterRegistry.counter("skiers.live.frames.merged").count());
+
+        emitter.release.release(2);
+        emitter.awaitFrames(2);
+        Map<?, ?> merged = objectMapper.readValue(emitter.frames.get(1), Map.class);
+        assertEquals(Map.of("5", 1, "6", 2), merged.get("ridesPerLift"));
+        assertEquals(2, merged.get("newSkiers"));
+        assertEquals(3, merged.get("skiersToday"));
+    }
+
+    @Test
+    public void rejectsUnknownResorts() {
+        assertThrows(IllegalArgumentException.class, () -> feed.subscribe(0));
+        assertThrows(IllegalArgumentException.class, () -> feed.subscribe(ResortActivityFeed.MAX_RESORT_ID + 1));
+    }
+
+    @Test
+    public void dropsIdleResortsWithoutSubscribers() {
+        ReflectionTestUtils.setField(feed, "idleTimeout", Duration.ZERO);
+        feed.record(2, 2022, 1, 5, 100);
+        feed.tick();
+
+        Map<?, ?> resorts = (Map<?, ?>) ReflectionTestUtils.getField(feed, "resorts");
+        assertTrue(resorts.isEmpty());
+    }
+
+    // Blocks every send until released, recording the data of activity frames
+    private static final class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final Semaphore release = new Semaphore(0);
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+
+        private BlockingEmitter() {
+            super(0L);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            entered.countDown();
+            release.acquireUninterruptibly();
+            for (DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof String text && text.startsWith("{")) {
+                    frames.add(text);
+                }
+            }
+        }
+
+        private void awaitFrames(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (frames.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(count, frames.size());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.dss.project.service;
+
+import com.dss.project.deadline.Deadline;
+import com.dss.project.deadline.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<Integer, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    public void concurrentCallersShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> singleFlight.execute(1, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "resort-1";
+                })));
+            }
+            // Hold the load until everyone else has joined it
+            while (meterRegistry.counter("skiers.singleflight.coalesced", "name", "test").count() < callers - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("resort-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failuresReachEveryCallerAndAreNotKept() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(1, () -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals("ok", singleFlight.execute(1, () -> "ok"));
+        assertEquals(2, meterRegistry.counter("skiers.singleflight.executions", "name", "test").count());
+    }
+
+    @Test
+    public void followersWaitNoLongerThanTheirOwnDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = pool.submit(() -> singleFlight.execute(1, () -> {
+                await(release);
+                return "slow";
+            }));
+            while (meterRegistry.counter("skiers.singleflight.executions", "name", "test").count() < 1) {
+                Thread.sleep(1);
+            }
+
+            assertThrows(DeadlineExceededException.class, () -> Deadline.call(Deadline.after(Duration.ofMillis(50)),
+                    () -> singleFlight.execute(1, () -> "unused")));
+            release.countDown();
+            assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void followersLoadAgainWhenTheLeadersDeadlinePasses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> singleFlight.execute(1, () -> {
+                await(release);
+                throw new DeadlineExceededException("leader out of time");
+            }));
+            while (meterRegistry.counter("skiers.singleflight.executions", "name", "test").count() < 1) {
+                Thread.sleep(1);
+            }
+            Future<String> follower = pool.submit(() -> Deadline.call(Deadline.after(Duration.ofSeconds(5)),
+                    () -> singleFlight.execute(1, () -> "fresh")));
+            while (meterRegistry.counter("skiers.singleflight.coalesced", "name", "test").count() < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertEquals("fresh", follower.get(5, TimeUnit.SECONDS));
+            assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}